@@ -0,0 +1,118 @@
+package minidb.bench;
+
+import mdb.ParseException;
+import mdb.SqlLang;
+import minidb.je.Session;
+import minidb.je.StatementCache;
+import minidb.je.SystemHelpers;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.Random;
+
+/*
+    Scratch mdb database for the benchmarks. Statements go through the session's statement cache
+    and execute() exactly like Main runs them, but their output is thrown away.
+ */
+public class BenchDb {
+
+    private static final PrintStream nowhere = new PrintStream(new OutputStream() {
+        @Override
+        public void write(int b) {
+        }
+    });
+
+    private final File home;
+    //removed on close
+    private final boolean temporary;
+
+    private BenchDb(File home, boolean temporary) {
+        this.home = home;
+        this.temporary = temporary;
+    }
+
+    /*
+        Opens an empty database in a new temporary directory.
+     */
+    public static BenchDb create() throws IOException {
+        File home = File.createTempFile("mdb-bench", "");
+        home.delete();
+        return open(home, true);
+    }
+
+    /*
+        Opens the database in home, creating it if needed. It is kept on close.
+     */
+    public static BenchDb open(File home) {
+        return open(home, false);
+    }
+
+    private static BenchDb open(File home, boolean temporary) {
+        home.mkdirs();
+        BenchDb db = new BenchDb(home, temporary);
+        db.run("open \"" + home.getAbsolutePath() + "\";");
+        return db;
+    }
+
+    /*
+        A new AST for statement, never a cached one.
+     */
+    public static SqlLang parse(String statement) {
+        try {
+            return StatementCache.parseText(statement);
+        } catch (ParseException e) {
+            throw new IllegalArgumentException("Cannot parse " + statement, e);
+        }
+    }
+
+    public void run(String statement) {
+        PrintStream out = System.out;
+        System.setOut(nowhere);
+        try {
+            execute(statement);
+        } finally {
+            System.setOut(out);
+        }
+    }
+
+    /*
+        Runs the statement in the session of the calling thread, printing whatever it prints.
+        Meant for callers that silence System.out once, swapping it per statement is not thread safe.
+     */
+    public static void execute(String statement) {
+        try {
+            Session.current().getStatements().parse(statement).execute();
+        } catch (ParseException e) {
+            throw new IllegalArgumentException("Cannot parse " + statement, e);
+        }
+        Session.current().endStatement();
+    }
+
+    public static PrintStream nowhere() {
+        return nowhere;
+    }
+
+    /*
+        Creates relation (k int, v int, s str) with k = 0 .. rows - 1 and v drawn from
+        0 .. distinct - 1 with the given Zipf skew, s being the string form of v.
+        Rows are committed every thousand inserts.
+     */
+    public void load(String relation, int rows, int distinct, double skew, long seed) {
+        run("create table " + relation + " (k int, v int, s str);");
+        ZipfGenerator values = new ZipfGenerator(distinct, skew, new Random(seed));
+        for(int k = 0; k < rows; k++) {
+            int v = values.next();
+            run("insert into " + relation + " values (" + k + ", " + v + ", \"s" + v + "\");");
+            if(k % 1000 == 999) run("commit;");
+        }
+        run("commit;");
+    }
+
+    public void close() {
+        run("commit;");
+        run("close;");
+        if(temporary) SystemHelpers.removeDirectory(home);
+    }
+}
@@ -0,0 +1,47 @@
+package minidb.bench;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/*
+    InsertCmd throughput, one autocommitted insert per operation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class InsertBenchmark {
+
+    @Param({"no_sync", "sync"})
+    public String durability;
+
+    @Param({"false", "true"})
+    public boolean indexed;
+
+    private BenchDb db;
+    private int next = 0;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        db = BenchDb.create();
+        db.run("create table r (k int, v int, s str);");
+        if(indexed) db.run("index r.v;");
+        db.run("set autocommit on;");
+        db.run("set durability " + durability + ";");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        db.close();
+    }
+
+    @Benchmark
+    public void insert() {
+        int k = next++;
+        db.run("insert into r values (" + k + ", " + (k % 1000) + ", \"s" + (k % 1000) + "\");");
+    }
+}
@@ -0,0 +1,57 @@
+package minidb.bench;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/*
+    2 and 3 way equi-joins through SelectCmd, on relations sharing the k domain.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class JoinBenchmark {
+
+    @Param({"1000", "10000"})
+    public int rows;
+
+    @Param({"0", "0.99"})
+    public double skew;
+
+    private BenchDb db;
+    private Random random;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        db = BenchDb.create();
+        db.load("r1", rows, rows, skew, 1);
+        db.load("r2", rows, rows, skew, 2);
+        db.load("r3", rows, rows, skew, 3);
+        random = new Random(7);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        db.close();
+    }
+
+    @Benchmark
+    public void join2() {
+        db.run("select r1.k, r2.s from r1, r2 where r1.k = r2.v;");
+    }
+
+    @Benchmark
+    public void join3() {
+        db.run("select r1.k, r2.k, r3.s from r1, r2, r3 where r1.k = r2.v and r2.k = r3.v;");
+    }
+
+    @Benchmark
+    public void selectiveJoin2() {
+        db.run("select r1.k, r2.s from r1, r2 where r1.k = r2.v and r1.s = \"s" + random.nextInt(rows) + "\";");
+    }
+}
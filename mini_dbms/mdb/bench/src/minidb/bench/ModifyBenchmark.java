@@ -0,0 +1,63 @@
+package minidb.bench;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/*
+    UpdateCmd and DeleteCmd latency. With indexed, k is used to find the row and the index on v
+    has to be maintained by every change.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class ModifyBenchmark {
+
+    @Param({"10000"})
+    public int rows;
+
+    @Param({"false", "true"})
+    public boolean indexed;
+
+    private BenchDb db;
+    private Random random;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        db = BenchDb.create();
+        db.load("r", rows, Math.max(1, rows / 10), 0, 42);
+        if(indexed) {
+            db.run("index r.k;");
+            db.run("index r.v;");
+        }
+        db.run("set autocommit on;");
+        db.run("set durability no_sync;");
+        random = new Random(7);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        db.close();
+    }
+
+    @Benchmark
+    public void update() {
+        int v = random.nextInt(Math.max(1, rows / 10));
+        db.run("update r set v = " + v + ", s = \"s" + v + "\" where k = " + random.nextInt(rows) + ";");
+    }
+
+    /*
+        Deletes a row and inserts it back, so the relation keeps its size.
+     */
+    @Benchmark
+    public void deleteAndInsert() {
+        int k = random.nextInt(rows);
+        db.run("delete r where k = " + k + ";");
+        db.run("insert into r values (" + k + ", " + (k % 10) + ", \"s" + (k % 10) + "\");");
+    }
+}
@@ -0,0 +1,81 @@
+package minidb.bench;
+
+import mdb.AstNode;
+import mdb.SelectCmd;
+import minidb.je.PredicateHelpers;
+import minidb.je.RowFilter;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/*
+    Per row cost of the local predicates, no database involved: PredicateHelpers.applyLocalPredicate
+    one row at a time, and a RowFilter compiled once, row by row and over a batch.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class PredicateBenchmark {
+
+    private static final int ROWS = 1024;
+
+    @Param({"r.k > 100", "r.k > 100 and r.s = \"s7\"", "r.k >= 10 and r.k < 900 and r.v != 3"})
+    public String predicate;
+
+    private String[][] rows;
+    private String[] columnTypes = new String[] {"int", "int", "str"};
+    private Map<String, List<AstNode>> clauses;
+    private int[] indices;
+    private RowFilter filter;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        SelectCmd select = (SelectCmd) BenchDb.parse("select * from r where " + predicate + ";");
+        clauses = PredicateHelpers.generateClauses("r", select.getWherePred().arg[0]);
+        Map<String, String[]> metaColumnRelation = new HashMap<String, String[]>();
+        metaColumnRelation.put("r", new String[] {"r.k", "r.v", "r.s"});
+        indices = PredicateHelpers.setIndices(metaColumnRelation, clauses, "r");
+        filter = new RowFilter(columnTypes, clauses.get("r"), indices);
+
+        Random random = new Random(42);
+        rows = new String[ROWS][];
+        for(int i = 0; i < ROWS; i++) {
+            int v = random.nextInt(10);
+            rows[i] = new String[] {String.valueOf(random.nextInt(1000)), String.valueOf(v), "\"s" + v + "\""};
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public int applyLocalPredicate() {
+        int kept = 0;
+        for(String[] row: rows)
+            if(PredicateHelpers.applyLocalPredicate(columnTypes, clauses, "r", indices, row))
+                kept++;
+        return kept;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public int rowFilterMatches() {
+        int kept = 0;
+        for(String[] row: rows)
+            if(filter.matches(row))
+                kept++;
+        return kept;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public int rowFilterBatch() {
+        return filter.filter(Arrays.asList(rows)).size();
+    }
+}
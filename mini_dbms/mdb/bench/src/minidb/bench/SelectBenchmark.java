@@ -0,0 +1,68 @@
+package minidb.bench;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/*
+    SELECT latency on one relation, with and without indexes on k and v.
+    v follows a Zipf distribution over rows / 10 values and the looked up values are drawn with
+    the same skew, so a high skew keeps hitting the biggest groups.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class SelectBenchmark {
+
+    @Param({"10000", "100000"})
+    public int rows;
+
+    @Param({"0", "0.99"})
+    public double skew;
+
+    @Param({"false", "true"})
+    public boolean indexed;
+
+    private BenchDb db;
+    private Random random;
+    private ZipfGenerator values;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        db = BenchDb.create();
+        db.load("r", rows, Math.max(1, rows / 10), skew, 42);
+        if(indexed) {
+            db.run("index r.k;");
+            db.run("index r.v;");
+            db.run("commit;");
+        }
+        random = new Random(7);
+        values = new ZipfGenerator(Math.max(1, rows / 10), skew, random);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        db.close();
+    }
+
+    @Benchmark
+    public void pointSelect() {
+        db.run("select * from r where k = " + random.nextInt(rows) + ";");
+    }
+
+    @Benchmark
+    public void valueSelect() {
+        db.run("select k, s from r where v = " + values.next() + ";");
+    }
+
+    @Benchmark
+    public void rangeSelect() {
+        int low = random.nextInt(rows);
+        db.run("select * from r where k >= " + low + " and k < " + (low + 100) + ";");
+    }
+}
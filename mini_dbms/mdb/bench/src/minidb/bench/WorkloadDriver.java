@@ -0,0 +1,273 @@
+package minidb.bench;
+
+import com.sleepycat.je.EnvironmentStats;
+import com.sleepycat.je.StatsConfig;
+import minidb.je.ExecuteHelpers;
+import minidb.je.LatencyHistogram;
+import minidb.je.Session;
+
+import java.io.File;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+    Macro benchmark on the products / buyer / products_sale schema of tests/test4.
+    Scale factor 1 is 100,000 buyers, 100,000 products and 1,000,000 sales; sales pick their
+    product and buyer with a Zipf skew and so do the queries. After loading, N sessions run a
+    read / write mix for a while, each in its own thread and mdb session with autocommit on.
+    Every interval a line with throughput, latency percentiles and JE cache and cleaner stats
+    is printed, and a summary per operation at the end.
+
+    usage: WorkloadDriver [-sf 0.1] [-sessions 8] [-profile read|mixed|write] [-skew 0.99]
+                          [-seconds 60] [-interval 5] [-durability sync|write_no_sync|no_sync]
+                          [-dir workload-db] [-reuse]
+ */
+public class WorkloadDriver {
+
+    private static final String[] OPERATIONS = {"buyerLookup", "buyerSales", "saleReport", "newSale", "renameProduct"};
+
+    //weights of OPERATIONS in each profile
+    private static final int[] READ = {60, 30, 2, 5, 3};
+    private static final int[] MIXED = {35, 20, 1, 30, 14};
+    private static final int[] WRITE = {10, 5, 0, 60, 25};
+
+    private double scale = 0.1;
+    private int sessions = 8;
+    private int[] profile = MIXED;
+    private double skew = 0.99;
+    private int seconds = 60;
+    private int interval = 5;
+    private String durability = Session.SYNC;
+    private File dir = new File("workload-db");
+    private boolean reuse = false;
+
+    private int buyers;
+    private int products;
+    private int sales;
+    private ZipfGenerator buyerKeys;
+    private ZipfGenerator productKeys;
+    private AtomicLong nextSaleId;
+
+    private LatencyHistogram[] latencies = new LatencyHistogram[OPERATIONS.length];
+    private AtomicLong[] errors = new AtomicLong[OPERATIONS.length];
+    private LatencyHistogram intervalLatency = new LatencyHistogram();
+    private volatile boolean running = true;
+
+    private PrintStream out = System.out;
+
+    public static void main(String[] args) throws Exception {
+        WorkloadDriver driver = new WorkloadDriver();
+        for(int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if(arg.equals("-sf")) driver.scale = Double.parseDouble(args[++i]);
+            else if(arg.equals("-sessions")) driver.sessions = Integer.parseInt(args[++i]);
+            else if(arg.equals("-skew")) driver.skew = Double.parseDouble(args[++i]);
+            else if(arg.equals("-seconds")) driver.seconds = Integer.parseInt(args[++i]);
+            else if(arg.equals("-interval")) driver.interval = Integer.parseInt(args[++i]);
+            else if(arg.equals("-durability")) driver.durability = args[++i];
+            else if(arg.equals("-dir")) driver.dir = new File(args[++i]);
+            else if(arg.equals("-reuse")) driver.reuse = true;
+            else if(arg.equals("-profile")) {
+                String profile = args[++i];
+                if(profile.equals("read")) driver.profile = READ;
+                else if(profile.equals("write")) driver.profile = WRITE;
+                else if(profile.equals("mixed")) driver.profile = MIXED;
+                else usage();
+            } else
+                usage();
+        }
+        driver.run();
+        System.exit(0);
+    }
+
+    private static void usage() {
+        System.err.println("usage: WorkloadDriver [-sf 0.1] [-sessions 8] [-profile read|mixed|write] [-skew 0.99]\n" +
+                "                      [-seconds 60] [-interval 5] [-durability sync|write_no_sync|no_sync]\n" +
+                "                      [-dir workload-db] [-reuse]");
+        System.exit(1);
+    }
+
+    private void run() throws InterruptedException {
+        buyers = Math.max(1, (int) (100000 * scale));
+        products = Math.max(1, (int) (100000 * scale));
+        sales = Math.max(1, (int) (1000000 * scale));
+        buyerKeys = new ZipfGenerator(buyers, skew);
+        productKeys = new ZipfGenerator(products, skew);
+        nextSaleId = new AtomicLong(sales);
+        for(int i = 0; i < OPERATIONS.length; i++) {
+            latencies[i] = new LatencyHistogram();
+            errors[i] = new AtomicLong();
+        }
+
+        //statements print their results, only the driver's report goes out
+        System.setOut(BenchDb.nowhere());
+        boolean loaded = reuse && dir.exists();
+        BenchDb db = BenchDb.open(dir);
+        if(loaded) {
+            out.println("reusing " + dir.getAbsolutePath());
+        } else {
+            long start = System.nanoTime();
+            load();
+            out.printf("loaded %d buyers, %d products, %d sales in %.1f s\n", buyers, products, sales,
+                    (System.nanoTime() - start) / 1e9);
+        }
+
+        List<Thread> threads = new ArrayList<Thread>();
+        for(int i = 0; i < sessions; i++) {
+            final long seed = i;
+            Thread thread = new Thread(new Runnable() {
+                public void run() {
+                    session(new Random(seed));
+                }
+            }, "session-" + i);
+            threads.add(thread);
+            thread.start();
+        }
+        report();
+        running = false;
+        for(Thread thread: threads)
+            thread.join();
+        summary();
+        db.close();
+    }
+
+    /*
+        Creates and fills the schema, every session thread inserting its share of each relation.
+     */
+    private void load() throws InterruptedException {
+        BenchDb.execute("create table buyer (buyer_id int, buyer_name str);");
+        BenchDb.execute("create table products (p_id int, p_name str);");
+        BenchDb.execute("create table products_sale (sale_id int, pid int, sold int, buyerid int);");
+        BenchDb.execute("commit;");
+
+        List<Thread> threads = new ArrayList<Thread>();
+        for(int i = 0; i < sessions; i++) {
+            final int session = i;
+            Thread thread = new Thread(new Runnable() {
+                public void run() {
+                    Random random = new Random(-session - 1);
+                    BenchDb.execute("set durability no_sync;");
+                    int inserted = 0;
+                    for(int id = session; id < buyers; id += sessions, inserted++) {
+                        BenchDb.execute("insert into buyer values (" + id + ", \"" + name(random) + "\");");
+                        if(inserted % 1000 == 999) BenchDb.execute("commit;");
+                    }
+                    for(int id = session; id < products; id += sessions, inserted++) {
+                        BenchDb.execute("insert into products values (" + id + ", \"" + name(random) + "\");");
+                        if(inserted % 1000 == 999) BenchDb.execute("commit;");
+                    }
+                    for(int id = session; id < sales; id += sessions, inserted++) {
+                        BenchDb.execute("insert into products_sale values (" + id + ", " + productKeys.next(random) + ", "
+                                + (1 + random.nextInt(10)) + ", " + buyerKeys.next(random) + ");");
+                        if(inserted % 1000 == 999) BenchDb.execute("commit;");
+                    }
+                    BenchDb.execute("commit;");
+                }
+            }, "load-" + i);
+            threads.add(thread);
+            thread.start();
+        }
+        for(Thread thread: threads)
+            thread.join();
+
+        BenchDb.execute("index buyer.buyer_id;");
+        BenchDb.execute("index products.p_id;");
+        BenchDb.execute("index products_sale.buyerid;");
+        BenchDb.execute("commit;");
+    }
+
+    private void session(Random random) {
+        BenchDb.execute("set autocommit on;");
+        BenchDb.execute("set durability " + durability + ";");
+        int totalWeight = 0;
+        for(int weight: profile) totalWeight += weight;
+        while(running) {
+            int pick = random.nextInt(totalWeight);
+            int op = 0;
+            while(pick >= profile[op]) pick -= profile[op++];
+            String statement = statement(op, random);
+            long start = System.nanoTime();
+            try {
+                BenchDb.execute(statement);
+            } catch (RuntimeException e) {
+                //lock conflicts and deadlocks end up here, the statement is lost
+                errors[op].incrementAndGet();
+                try {
+                    Session.current().abort();
+                } catch (RuntimeException ignored) {
+                }
+            }
+            long nanos = System.nanoTime() - start;
+            latencies[op].record(nanos);
+            intervalLatency.record(nanos);
+        }
+        Session.current().close();
+    }
+
+    private String statement(int op, Random random) {
+        switch (op) {
+            case 0:
+                return "select buyer_name from buyer where buyer_id=" + buyerKeys.next(random) + ";";
+            case 1:
+                return "select * from products_sale where buyerid=" + buyerKeys.next(random) + ";";
+            case 2:
+                return "select p_name,buyer_name,sold from products,buyer,products_sale " +
+                        "where p_id=pid and buyer_id=buyerid and buyerid=" + buyerKeys.next(random) + ";";
+            case 3:
+                return "insert into products_sale values (" + nextSaleId.getAndIncrement() + ", " + productKeys.next(random)
+                        + ", " + (1 + random.nextInt(10)) + ", " + buyerKeys.next(random) + ");";
+            default:
+                return "update products set p_name=\"" + name(random) + "\" where p_id=" + productKeys.next(random) + ";";
+        }
+    }
+
+    private static String name(Random random) {
+        char[] name = new char[5 + random.nextInt(20)];
+        for(int i = 0; i < name.length; i++)
+            name[i] = (char) ('a' + random.nextInt(26));
+        return new String(name);
+    }
+
+    private void report() throws InterruptedException {
+        StatsConfig config = new StatsConfig();
+        config.setFast(true);
+        EnvironmentStats previous = ExecuteHelpers.myDbEnv.getEnv().getStats(config);
+        long previousOps = 0;
+        out.printf("%6s %9s %9s %9s %9s %7s %11s %9s %8s %8s %8s\n", "time", "ops/s", "p50 us", "p99 us", "p999 us",
+                "errors", "cache miss", "cache MB", "cleaned", "backlog", "fsyncs");
+        for(int elapsed = interval; elapsed <= seconds; elapsed += interval) {
+            Thread.sleep(interval * 1000L);
+            long ops = 0, failed = 0;
+            for(int i = 0; i < OPERATIONS.length; i++) {
+                ops += latencies[i].getCount();
+                failed += errors[i].get();
+            }
+            EnvironmentStats stats = ExecuteHelpers.myDbEnv.getEnv().getStats(config);
+            out.printf("%6d %9d %9d %9d %9d %7d %11d %9d %8d %8d %8d\n", elapsed, (ops - previousOps) / interval,
+                    intervalLatency.getPercentile(50) / 1000, intervalLatency.getPercentile(99) / 1000,
+                    intervalLatency.getPercentile(99.9) / 1000, failed,
+                    stats.getNCacheMiss() - previous.getNCacheMiss(), stats.getCacheTotalBytes() >> 20,
+                    stats.getNCleanerRuns() - previous.getNCleanerRuns(), stats.getCleanerBacklog(),
+                    stats.getNLogFSyncs() - previous.getNLogFSyncs());
+            intervalLatency.reset();
+            previous = stats;
+            previousOps = ops;
+        }
+    }
+
+    private void summary() {
+        out.printf("\n%-14s %10s %7s %9s %9s %9s %9s\n", "operation", "count", "errors", "p50 us", "p99 us", "p999 us", "max us");
+        long ops = 0;
+        for(int i = 0; i < OPERATIONS.length; i++) {
+            LatencyHistogram histogram = latencies[i];
+            ops += histogram.getCount();
+            out.printf("%-14s %10d %7d %9d %9d %9d %9d\n", OPERATIONS[i], histogram.getCount(), errors[i].get(),
+                    histogram.getPercentile(50) / 1000, histogram.getPercentile(99) / 1000,
+                    histogram.getPercentile(99.9) / 1000, histogram.getMax() / 1000);
+        }
+        out.printf("\n%d sessions, %d ops/s overall\n", sessions, ops / Math.max(1, seconds));
+    }
+}
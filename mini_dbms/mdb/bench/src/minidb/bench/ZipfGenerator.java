@@ -0,0 +1,41 @@
+package minidb.bench;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/*
+    Draws 0 .. n - 1 with probability proportional to 1 / (i + 1)^skew.
+    skew 0 is uniform, around 1 a few values take most of the draws.
+    One generator can be shared by threads drawing with their own Random through next(Random).
+ */
+public class ZipfGenerator {
+
+    private final double[] cdf;
+    private final Random random;
+
+    public ZipfGenerator(int n, double skew) {
+        this(n, skew, null);
+    }
+
+    public ZipfGenerator(int n, double skew, Random random) {
+        this.random = random;
+        cdf = new double[n];
+        double sum = 0;
+        for(int i = 0; i < n; i++) {
+            sum += 1 / Math.pow(i + 1, skew);
+            cdf[i] = sum;
+        }
+        for(int i = 0; i < n; i++)
+            cdf[i] /= sum;
+    }
+
+    public int next() {
+        return next(random);
+    }
+
+    public int next(Random random) {
+        int i = Arrays.binarySearch(cdf, random.nextDouble());
+        //not found gives -(insertion point) - 1, the first bucket above the draw
+        return Math.min(i < 0 ? -i - 1 : i, cdf.length - 1);
+    }
+}
@@ -3,7 +3,9 @@
 
 package mdb;
 
+import minidb.je.Catalog;
 import minidb.je.ExecuteHelpers;
+import minidb.je.Session;
 
 public class AbortCmd extends Abort {
 
@@ -13,8 +15,9 @@ public class AbortCmd extends Abort {
     public void execute () {
         
         super.execute();
-        ExecuteHelpers.txn.abort();
-        ExecuteHelpers.txn = ExecuteHelpers.myDbEnv.getEnv().beginTransaction(null, null);
+        Session.current().abort();
+        //relations or indexes created in the aborted transaction are gone
+        ExecuteHelpers.catalog = Catalog.load();
 
     }
 
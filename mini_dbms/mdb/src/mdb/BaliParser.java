@@ -91,11 +91,15 @@ public class BaliParser implements BaliParserConstants {
     case CLOSE:
     case COMMIT:
     case DELETE:
+    case EXECUTE:
     case EXIT:
+    case EXPLAIN:
     case INSERT:
     case OPEN:
+    case PREPARE:
     case SCRIPT:
     case SELECT:
+    case SET:
     case UPDATE:
       dm0 = Dml_stmt();
      {if (true) return (SqlLang) dm0 ;}
@@ -197,29 +201,35 @@ public class BaliParser implements BaliParserConstants {
   static final public Ddl_stmt Ddl_stmt() throws ParseException {
     Decl_ind deSs0=null ;
     Decl_rel de0=null ;
+    Decl_view deSsSs0=null ;
     Show sh0=null ;
     Token to0=null ;
-    switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
-    case CREATE:
+    if (jj_2_2(2147483647)) {
       de0 = Decl_rel();
      {if (true) return (Ddl_stmt) de0 ;}
-      break;
-    case INDEX:
-      deSs0 = Decl_ind();
+    } else {
+      switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
+      case INDEX:
+        deSs0 = Decl_ind();
      {if (true) return (Ddl_stmt) deSs0 ;}
-      break;
-    case SHOW:
-      sh0 = Show();
+        break;
+      case CREATE:
+        deSsSs0 = Decl_view();
+     {if (true) return (Ddl_stmt) deSsSs0 ;}
+        break;
+      case SHOW:
+        sh0 = Show();
      {if (true) return (Ddl_stmt) sh0 ;}
-      break;
-    case SEMI:
-      to0 = jj_consume_token(SEMI);
+        break;
+      case SEMI:
+        to0 = jj_consume_token(SEMI);
      {if (true) return new EmptyStmt().setParms (t2at(to0)) ;}
-      break;
-    default:
-      jj_la1[3] = jj_gen;
-      jj_consume_token(-1);
-      throw new ParseException();
+        break;
+      default:
+        jj_la1[3] = jj_gen;
+        jj_consume_token(-1);
+        throw new ParseException();
+      }
     }
     throw new Error("Missing return statement in function");
   }
@@ -237,6 +247,7 @@ public class BaliParser implements BaliParserConstants {
   static final public Decl_rel Decl_rel() throws ParseException {
     Fld_decl_list fl0=null ;
     Rel_name re0=null ;
+    Storage st0=null ;
     Token to4=null, to3=null, to2=null, to1=null, to0=null ;
     to0 = jj_consume_token(CREATE);
     to1 = jj_consume_token(TABLE);
@@ -244,9 +255,46 @@ public class BaliParser implements BaliParserConstants {
     to2 = jj_consume_token(LP);
     fl0 = Fld_decl_list();
     to3 = jj_consume_token(RP);
+    switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
+    case STORAGE:
+      st0 = Storage();
+      break;
+    default:
+      jj_la1[4] = jj_gen;
+      ;
+    }
     to4 = jj_consume_token(SEMI);
      {if (true) return new RelDecl().setParms
-    (t2at(to0), t2at(to1), re0, t2at(to2), fl0, t2at(to3), t2at(to4)) ;}
+    (t2at(to0), t2at(to1), re0, t2at(to2), fl0, t2at(to3), opt(st0), t2at(to4)) ;}
+    throw new Error("Missing return statement in function");
+  }
+
+  static final public Decl_view Decl_view() throws ParseException {
+    Rel_list reSs0=null ;
+    Rel_name re0=null ;
+    Token to6=null, to5=null, to4=null, to3=null, to2=null, to1=null, to0=null ;
+    View_list vi0=null ;
+    WherePred wh0=null ;
+    to0 = jj_consume_token(CREATE);
+    to1 = jj_consume_token(MATERIALIZED);
+    to2 = jj_consume_token(VIEW);
+    re0 = Rel_name();
+    to3 = jj_consume_token(AS);
+    to4 = jj_consume_token(SELECT);
+    vi0 = View_list();
+    to5 = jj_consume_token(FROM);
+    reSs0 = Rel_list();
+    switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
+    case WHERE:
+      wh0 = WherePred();
+      break;
+    default:
+      jj_la1[5] = jj_gen;
+      ;
+    }
+    to6 = jj_consume_token(SEMI);
+     {if (true) return new ViewDecl().setParms
+    (t2at(to0), t2at(to1), t2at(to2), re0, t2at(to3), t2at(to4), vi0, t2at(to5), reSs0, opt(wh0), t2at(to6)) ;}
     throw new Error("Missing return statement in function");
   }
 
@@ -269,11 +317,15 @@ public class BaliParser implements BaliParserConstants {
     Close cl0=null ;
     Commit co0=null ;
     Delete de0=null ;
-    ExitMDB ex0=null ;
+    Execute ex0=null ;
+    ExitMDB exSs0=null ;
+    Explain exSsSs0=null ;
     Insert in0=null ;
     Open op0=null ;
+    Prepare pr0=null ;
     Script sc0=null ;
     Select se0=null ;
+    Set seSs0=null ;
     Update up0=null ;
     switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
     case ABORT:
@@ -292,10 +344,18 @@ public class BaliParser implements BaliParserConstants {
       de0 = Delete();
      {if (true) return (Dml_stmt) de0 ;}
       break;
-    case EXIT:
-      ex0 = ExitMDB();
+    case EXECUTE:
+      ex0 = Execute();
      {if (true) return (Dml_stmt) ex0 ;}
       break;
+    case EXIT:
+      exSs0 = ExitMDB();
+     {if (true) return (Dml_stmt) exSs0 ;}
+      break;
+    case EXPLAIN:
+      exSsSs0 = Explain();
+     {if (true) return (Dml_stmt) exSsSs0 ;}
+      break;
     case INSERT:
       in0 = Insert();
      {if (true) return (Dml_stmt) in0 ;}
@@ -304,6 +364,10 @@ public class BaliParser implements BaliParserConstants {
       op0 = Open();
      {if (true) return (Dml_stmt) op0 ;}
       break;
+    case PREPARE:
+      pr0 = Prepare();
+     {if (true) return (Dml_stmt) pr0 ;}
+      break;
     case SCRIPT:
       sc0 = Script();
      {if (true) return (Dml_stmt) sc0 ;}
@@ -312,18 +376,69 @@ public class BaliParser implements BaliParserConstants {
       se0 = Select();
      {if (true) return (Dml_stmt) se0 ;}
       break;
+    case SET:
+      seSs0 = Set();
+     {if (true) return (Dml_stmt) seSs0 ;}
+      break;
     case UPDATE:
       up0 = Update();
      {if (true) return (Dml_stmt) up0 ;}
       break;
     default:
-      jj_la1[4] = jj_gen;
+      jj_la1[6] = jj_gen;
+      jj_consume_token(-1);
+      throw new ParseException();
+    }
+    throw new Error("Missing return statement in function");
+  }
+
+  static final public Durability_level Durability_level() throws ParseException {
+    Token to0=null ;
+    switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
+    case SYNC:
+      to0 = jj_consume_token(SYNC);
+     {if (true) return new SyncLevel().setParms (t2at(to0)) ;}
+      break;
+    case WRITE_NO_SYNC:
+      to0 = jj_consume_token(WRITE_NO_SYNC);
+     {if (true) return new WriteNoSyncLevel().setParms (t2at(to0)) ;}
+      break;
+    case NO_SYNC:
+      to0 = jj_consume_token(NO_SYNC);
+     {if (true) return new NoSyncLevel().setParms (t2at(to0)) ;}
+      break;
+    default:
+      jj_la1[7] = jj_gen;
       jj_consume_token(-1);
       throw new ParseException();
     }
     throw new Error("Missing return statement in function");
   }
 
+  static final public Execute Execute() throws ParseException {
+    Literal_list li0=null ;
+    Statement_name st0=null ;
+    Token to3=null, to2=null, to1=null, to0=null ;
+    to0 = jj_consume_token(EXECUTE);
+    st0 = Statement_name();
+    to1 = jj_consume_token(LP);
+    switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
+    case PARAM:
+    case STRING_LITERAL:
+    case INTEGER_LITERAL:
+      li0 = Literal_list();
+      break;
+    default:
+      jj_la1[8] = jj_gen;
+      ;
+    }
+    to2 = jj_consume_token(RP);
+    to3 = jj_consume_token(SEMI);
+     {if (true) return new ExecuteCmd().setParms
+    (t2at(to0), st0, t2at(to1), opt(li0), t2at(to2), t2at(to3)) ;}
+    throw new Error("Missing return statement in function");
+  }
+
   static final public ExitMDB ExitMDB() throws ParseException {
     Token to1=null, to0=null ;
     to0 = jj_consume_token(EXIT);
@@ -332,12 +447,45 @@ public class BaliParser implements BaliParserConstants {
     throw new Error("Missing return statement in function");
   }
 
+  static final public Explain Explain() throws ParseException {
+    Select se0=null ;
+    Token to1=null, to0=null ;
+    if (jj_2_3(2147483647)) {
+      to0 = jj_consume_token(EXPLAIN);
+      to1 = jj_consume_token(ANALYZE);
+      se0 = Select();
+     {if (true) return new ExplainAnalyze().setParms (t2at(to0), t2at(to1), se0) ;}
+    } else {
+      switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
+      case EXPLAIN:
+        to0 = jj_consume_token(EXPLAIN);
+        se0 = Select();
+     {if (true) return new ExplainPlan().setParms (t2at(to0), se0) ;}
+        break;
+      default:
+        jj_la1[9] = jj_gen;
+        jj_consume_token(-1);
+        throw new ParseException();
+      }
+    }
+    throw new Error("Missing return statement in function");
+  }
+
   static final public Field_decl Field_decl() throws ParseException {
     Field_name fi0=null ;
     Field_type fiSs0=null ;
+    Key_decl ke0=null ;
     fi0 = Field_name();
     fiSs0 = Field_type();
-     {if (true) return new FieldDecl().setParms (fi0, fiSs0) ;}
+    switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
+    case PRIMARY:
+      ke0 = Key_decl();
+      break;
+    default:
+      jj_la1[10] = jj_gen;
+      ;
+    }
+     {if (true) return new FieldDecl().setParms (fi0, fiSs0, opt(ke0)) ;}
     throw new Error("Missing return statement in function");
   }
 
@@ -351,7 +499,7 @@ public class BaliParser implements BaliParserConstants {
   static final public Field_spec Field_spec() throws ParseException {
     Field_name fi0=null ;
     Rel_dot_field re0=null ;
-    if (jj_2_2(2147483647)) {
+    if (jj_2_4(2147483647)) {
       re0 = Rel_dot_field();
      {if (true) return (Field_spec) re0 ;}
     } else {
@@ -361,7 +509,7 @@ public class BaliParser implements BaliParserConstants {
      {if (true) return (Field_spec) fi0 ;}
         break;
       default:
-        jj_la1[5] = jj_gen;
+        jj_la1[11] = jj_gen;
         jj_consume_token(-1);
         throw new ParseException();
       }
@@ -381,7 +529,7 @@ public class BaliParser implements BaliParserConstants {
      {if (true) return new StrField().setParms (t2at(to0)) ;}
       break;
     default:
-      jj_la1[6] = jj_gen;
+      jj_la1[12] = jj_gen;
       jj_consume_token(-1);
       throw new ParseException();
     }
@@ -401,7 +549,7 @@ public class BaliParser implements BaliParserConstants {
         ;
         break;
       default:
-        jj_la1[7] = jj_gen;
+        jj_la1[13] = jj_gen;
         break label_2;
       }
       to0 = jj_consume_token(COMMA);
@@ -429,6 +577,38 @@ public class BaliParser implements BaliParserConstants {
     throw new Error("Missing return statement in function");
   }
 
+  static final public Isolation Isolation() throws ParseException {
+    Token to2=null, to1=null, to0=null ;
+    if (jj_2_5(2147483647)) {
+      to0 = jj_consume_token(WITH);
+      to1 = jj_consume_token(READ);
+      to2 = jj_consume_token(COMMITTED);
+     {if (true) return new ReadCommitted().setParms (t2at(to0), t2at(to1), t2at(to2)) ;}
+    } else {
+      switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
+      case WITH:
+        to0 = jj_consume_token(WITH);
+        to1 = jj_consume_token(READ);
+        to2 = jj_consume_token(UNCOMMITTED);
+     {if (true) return new ReadUncommitted().setParms (t2at(to0), t2at(to1), t2at(to2)) ;}
+        break;
+      default:
+        jj_la1[14] = jj_gen;
+        jj_consume_token(-1);
+        throw new ParseException();
+      }
+    }
+    throw new Error("Missing return statement in function");
+  }
+
+  static final public Key_decl Key_decl() throws ParseException {
+    Token to1=null, to0=null ;
+    to0 = jj_consume_token(PRIMARY);
+    to1 = jj_consume_token(KEY);
+     {if (true) return new PrimaryKeyDecl().setParms (t2at(to0), t2at(to1)) ;}
+    throw new Error("Missing return statement in function");
+  }
+
   static final public Literal Literal() throws ParseException {
     Token to0=null ;
     switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
@@ -440,8 +620,12 @@ public class BaliParser implements BaliParserConstants {
       to0 = jj_consume_token(INTEGER_LITERAL);
      {if (true) return new IntLit().setParms (t2at(to0)) ;}
       break;
+    case PARAM:
+      to0 = jj_consume_token(PARAM);
+     {if (true) return new ParamLit().setParms (t2at(to0)) ;}
+      break;
     default:
-      jj_la1[8] = jj_gen;
+      jj_la1[15] = jj_gen;
       jj_consume_token(-1);
       throw new ParseException();
     }
@@ -461,7 +645,7 @@ public class BaliParser implements BaliParserConstants {
         ;
         break;
       default:
-        jj_la1[9] = jj_gen;
+        jj_la1[16] = jj_gen;
         break label_3;
       }
       to0 = jj_consume_token(COMMA);
@@ -496,7 +680,7 @@ public class BaliParser implements BaliParserConstants {
         ;
         break;
       default:
-        jj_la1[10] = jj_gen;
+        jj_la1[17] = jj_gen;
         break label_4;
       }
       to0 = jj_consume_token(AND);
@@ -529,7 +713,7 @@ public class BaliParser implements BaliParserConstants {
         ;
         break;
       default:
-        jj_la1[11] = jj_gen;
+        jj_la1[18] = jj_gen;
         break label_5;
       }
       to0 = jj_consume_token(AND);
@@ -540,6 +724,18 @@ public class BaliParser implements BaliParserConstants {
     throw new Error("Missing return statement in function");
   }
 
+  static final public Prepare Prepare() throws ParseException {
+    Dml_stmt dm0=null ;
+    Statement_name st0=null ;
+    Token to1=null, to0=null ;
+    to0 = jj_consume_token(PREPARE);
+    st0 = Statement_name();
+    to1 = jj_consume_token(AS);
+    dm0 = Dml_stmt();
+     {if (true) return new PrepareCmd().setParms (t2at(to0), st0, t2at(to1), dm0) ;}
+    throw new Error("Missing return statement in function");
+  }
+
   static final public Proj_list Proj_list() throws ParseException {
     Spec_list sp0=null ;
     Token to0=null ;
@@ -553,7 +749,7 @@ public class BaliParser implements BaliParserConstants {
      {if (true) return new All().setParms (t2at(to0)) ;}
       break;
     default:
-      jj_la1[12] = jj_gen;
+      jj_la1[19] = jj_gen;
       jj_consume_token(-1);
       throw new ParseException();
     }
@@ -589,7 +785,7 @@ public class BaliParser implements BaliParserConstants {
      {if (true) return new Neq().setParms (t2at(to0), t2at(to1)) ;}
       break;
     default:
-      jj_la1[13] = jj_gen;
+      jj_la1[20] = jj_gen;
       jj_consume_token(-1);
       throw new ParseException();
     }
@@ -620,7 +816,7 @@ public class BaliParser implements BaliParserConstants {
         ;
         break;
       default:
-        jj_la1[14] = jj_gen;
+        jj_la1[21] = jj_gen;
         break label_6;
       }
       to0 = jj_consume_token(COMMA);
@@ -648,6 +844,7 @@ public class BaliParser implements BaliParserConstants {
   }
 
   static final public Select Select() throws ParseException {
+    Isolation is0=null ;
     Proj_list pr0=null ;
     Rel_list re0=null ;
     Token to2=null, to1=null, to0=null ;
@@ -661,22 +858,93 @@ public class BaliParser implements BaliParserConstants {
       wh0 = WherePred();
       break;
     default:
-      jj_la1[15] = jj_gen;
+      jj_la1[22] = jj_gen;
+      ;
+    }
+    switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
+    case WITH:
+      is0 = Isolation();
+      break;
+    default:
+      jj_la1[23] = jj_gen;
       ;
     }
     to2 = jj_consume_token(SEMI);
      {if (true) return new SelectCmd().setParms
-    (t2at(to0), pr0, t2at(to1), re0, opt(wh0), t2at(to2)) ;}
+    (t2at(to0), pr0, t2at(to1), re0, opt(wh0), opt(is0), t2at(to2)) ;}
+    throw new Error("Missing return statement in function");
+  }
+
+  static final public Set Set() throws ParseException {
+    Durability_level du0=null ;
+    Switch_value sw0=null ;
+    Token to3=null, to2=null, to1=null, to0=null ;
+    if (jj_2_6(2147483647)) {
+      to0 = jj_consume_token(SET);
+      to1 = jj_consume_token(AUTOCOMMIT);
+      sw0 = Switch_value();
+      to2 = jj_consume_token(SEMI);
+     {if (true) return new SetAutocommit().setParms
+    (t2at(to0), t2at(to1), sw0, t2at(to2)) ;}
+    } else if (jj_2_7(2147483647)) {
+      to0 = jj_consume_token(SET);
+      to1 = jj_consume_token(CACHE);
+      sw0 = Switch_value();
+      to2 = jj_consume_token(SEMI);
+     {if (true) return new SetCache().setParms
+    (t2at(to0), t2at(to1), sw0, t2at(to2)) ;}
+    } else if (jj_2_8(2147483647)) {
+      to0 = jj_consume_token(SET);
+      to1 = jj_consume_token(COMPILE);
+      sw0 = Switch_value();
+      to2 = jj_consume_token(SEMI);
+     {if (true) return new SetCompile().setParms
+    (t2at(to0), t2at(to1), sw0, t2at(to2)) ;}
+    } else if (jj_2_9(2147483647)) {
+      to0 = jj_consume_token(SET);
+      to1 = jj_consume_token(CROSS_LIMIT);
+      to2 = jj_consume_token(INTEGER_LITERAL);
+      to3 = jj_consume_token(SEMI);
+     {if (true) return new SetCrossLimit().setParms
+    (t2at(to0), t2at(to1), t2at(to2), t2at(to3)) ;}
+    } else if (jj_2_10(2147483647)) {
+      to0 = jj_consume_token(SET);
+      to1 = jj_consume_token(DURABILITY);
+      du0 = Durability_level();
+      to2 = jj_consume_token(SEMI);
+     {if (true) return new SetDurability().setParms
+    (t2at(to0), t2at(to1), du0, t2at(to2)) ;}
+    } else {
+      switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
+      case SET:
+        to0 = jj_consume_token(SET);
+        to1 = jj_consume_token(READONLY);
+        sw0 = Switch_value();
+        to2 = jj_consume_token(SEMI);
+     {if (true) return new SetReadOnly().setParms
+    (t2at(to0), t2at(to1), sw0, t2at(to2)) ;}
+        break;
+      default:
+        jj_la1[24] = jj_gen;
+        jj_consume_token(-1);
+        throw new ParseException();
+      }
+    }
     throw new Error("Missing return statement in function");
   }
 
   static final public Show Show() throws ParseException {
     Rel_name re0=null ;
-    Token to1=null, to0=null ;
-    if (jj_2_3(2147483647)) {
+    Token to2=null, to1=null, to0=null ;
+    if (jj_2_11(2147483647)) {
       to0 = jj_consume_token(SHOW);
       to1 = jj_consume_token(SEMI);
      {if (true) return new ShowDb().setParms (t2at(to0), t2at(to1)) ;}
+    } else if (jj_2_12(2147483647)) {
+      to0 = jj_consume_token(SHOW);
+      to1 = jj_consume_token(STATS);
+      to2 = jj_consume_token(SEMI);
+     {if (true) return new ShowStats().setParms (t2at(to0), t2at(to1), t2at(to2)) ;}
     } else {
       switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
       case SHOW:
@@ -686,7 +954,7 @@ public class BaliParser implements BaliParserConstants {
      {if (true) return new ShowRel().setParms (t2at(to0), re0, t2at(to1)) ;}
         break;
       default:
-        jj_la1[16] = jj_gen;
+        jj_la1[25] = jj_gen;
         jj_consume_token(-1);
         throw new ParseException();
       }
@@ -707,7 +975,7 @@ public class BaliParser implements BaliParserConstants {
         ;
         break;
       default:
-        jj_la1[17] = jj_gen;
+        jj_la1[26] = jj_gen;
         break label_7;
       }
       to0 = jj_consume_token(COMMA);
@@ -718,6 +986,55 @@ public class BaliParser implements BaliParserConstants {
     throw new Error("Missing return statement in function");
   }
 
+  static final public Statement_name Statement_name() throws ParseException {
+    Token to0=null ;
+    to0 = jj_consume_token(IDENTIFIER);
+     {if (true) return new StatementName().setParms (t2at(to0)) ;}
+    throw new Error("Missing return statement in function");
+  }
+
+  static final public Storage Storage() throws ParseException {
+    Token to2=null, to1=null, to0=null ;
+    if (jj_2_13(2147483647)) {
+      to0 = jj_consume_token(STORAGE);
+      to1 = jj_consume_token(COLUMNAR);
+      to2 = jj_consume_token(DICTIONARY);
+     {if (true) return new DictionaryStorage().setParms (t2at(to0), t2at(to1), t2at(to2)) ;}
+    } else {
+      switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
+      case STORAGE:
+        to0 = jj_consume_token(STORAGE);
+        to1 = jj_consume_token(COLUMNAR);
+     {if (true) return new ColumnarStorage().setParms (t2at(to0), t2at(to1)) ;}
+        break;
+      default:
+        jj_la1[27] = jj_gen;
+        jj_consume_token(-1);
+        throw new ParseException();
+      }
+    }
+    throw new Error("Missing return statement in function");
+  }
+
+  static final public Switch_value Switch_value() throws ParseException {
+    Token to0=null ;
+    switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
+    case ON:
+      to0 = jj_consume_token(ON);
+     {if (true) return new SwitchOn().setParms (t2at(to0)) ;}
+      break;
+    case OFF:
+      to0 = jj_consume_token(OFF);
+     {if (true) return new SwitchOff().setParms (t2at(to0)) ;}
+      break;
+    default:
+      jj_la1[28] = jj_gen;
+      jj_consume_token(-1);
+      throw new ParseException();
+    }
+    throw new Error("Missing return statement in function");
+  }
+
   static final public Update Update() throws ParseException {
     Assign_list as0=null ;
     One_rel_pred on0=null ;
@@ -735,6 +1052,60 @@ public class BaliParser implements BaliParserConstants {
     throw new Error("Missing return statement in function");
   }
 
+  static final public View_item View_item() throws ParseException {
+    Field_spec fi0=null ;
+    Token to3=null, to2=null, to1=null, to0=null ;
+    switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
+    case SUM:
+      to0 = jj_consume_token(SUM);
+      to1 = jj_consume_token(LP);
+      fi0 = Field_spec();
+      to2 = jj_consume_token(RP);
+     {if (true) return new SumItem().setParms (t2at(to0), t2at(to1), fi0, t2at(to2)) ;}
+      break;
+    case COUNT:
+      to0 = jj_consume_token(COUNT);
+      to1 = jj_consume_token(LP);
+      to2 = jj_consume_token(ALL);
+      to3 = jj_consume_token(RP);
+     {if (true) return new CountItem().setParms (t2at(to0), t2at(to1), t2at(to2), t2at(to3)) ;}
+      break;
+    case IDENTIFIER:
+      fi0 = Field_spec();
+     {if (true) return new FieldItem().setParms (fi0) ;}
+      break;
+    default:
+      jj_la1[29] = jj_gen;
+      jj_consume_token(-1);
+      throw new ParseException();
+    }
+    throw new Error("Missing return statement in function");
+  }
+
+  static final public View_list View_list() throws ParseException {
+    View_list list = new View_list () ;
+    View_item vi0=null ;
+    Token to0=null ;
+    vi0 = View_item();
+     list.add (new View_listElem().setParms (vi0)) ;
+    label_8:
+    while (true) {
+      switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
+      case COMMA:
+        ;
+        break;
+      default:
+        jj_la1[30] = jj_gen;
+        break label_8;
+      }
+      to0 = jj_consume_token(COMMA);
+      vi0 = View_item();
+         list.add (new View_listElem().setParms (t2at(to0), vi0)) ;
+    }
+     {if (true) return list ;}
+    throw new Error("Missing return statement in function");
+  }
+
   static final public WherePred WherePred() throws ParseException {
     Pred pr0=null ;
     Token to0=null ;
@@ -765,26 +1136,132 @@ public class BaliParser implements BaliParserConstants {
     finally { jj_save(2, xla); }
   }
 
-  static final private boolean jj_3R_13() {
-    if (jj_scan_token(IDENTIFIER)) return true;
+  static final private boolean jj_2_4(int xla) {
+    jj_la = xla; jj_lastpos = jj_scanpos = token;
+    try { return !jj_3_4(); }
+    catch(LookaheadSuccess ls) { return true; }
+    finally { jj_save(3, xla); }
+  }
+
+  static final private boolean jj_2_5(int xla) {
+    jj_la = xla; jj_lastpos = jj_scanpos = token;
+    try { return !jj_3_5(); }
+    catch(LookaheadSuccess ls) { return true; }
+    finally { jj_save(4, xla); }
+  }
+
+  static final private boolean jj_2_6(int xla) {
+    jj_la = xla; jj_lastpos = jj_scanpos = token;
+    try { return !jj_3_6(); }
+    catch(LookaheadSuccess ls) { return true; }
+    finally { jj_save(5, xla); }
+  }
+
+  static final private boolean jj_2_7(int xla) {
+    jj_la = xla; jj_lastpos = jj_scanpos = token;
+    try { return !jj_3_7(); }
+    catch(LookaheadSuccess ls) { return true; }
+    finally { jj_save(6, xla); }
+  }
+
+  static final private boolean jj_2_8(int xla) {
+    jj_la = xla; jj_lastpos = jj_scanpos = token;
+    try { return !jj_3_8(); }
+    catch(LookaheadSuccess ls) { return true; }
+    finally { jj_save(7, xla); }
+  }
+
+  static final private boolean jj_2_9(int xla) {
+    jj_la = xla; jj_lastpos = jj_scanpos = token;
+    try { return !jj_3_9(); }
+    catch(LookaheadSuccess ls) { return true; }
+    finally { jj_save(8, xla); }
+  }
+
+  static final private boolean jj_2_10(int xla) {
+    jj_la = xla; jj_lastpos = jj_scanpos = token;
+    try { return !jj_3_10(); }
+    catch(LookaheadSuccess ls) { return true; }
+    finally { jj_save(9, xla); }
+  }
+
+  static final private boolean jj_2_11(int xla) {
+    jj_la = xla; jj_lastpos = jj_scanpos = token;
+    try { return !jj_3_11(); }
+    catch(LookaheadSuccess ls) { return true; }
+    finally { jj_save(10, xla); }
+  }
+
+  static final private boolean jj_2_12(int xla) {
+    jj_la = xla; jj_lastpos = jj_scanpos = token;
+    try { return !jj_3_12(); }
+    catch(LookaheadSuccess ls) { return true; }
+    finally { jj_save(11, xla); }
+  }
+
+  static final private boolean jj_2_13(int xla) {
+    jj_la = xla; jj_lastpos = jj_scanpos = token;
+    try { return !jj_3_13(); }
+    catch(LookaheadSuccess ls) { return true; }
+    finally { jj_save(12, xla); }
+  }
+
+  static final private boolean jj_3_3() {
+    if (jj_scan_token(EXPLAIN)) return true;
+    if (jj_scan_token(ANALYZE)) return true;
     return false;
   }
 
-  static final private boolean jj_3_1() {
-    if (jj_3R_8()) return true;
-    if (jj_scan_token(EQ)) return true;
-    if (jj_3R_8()) return true;
+  static final private boolean jj_3_10() {
+    if (jj_scan_token(SET)) return true;
+    if (jj_scan_token(DURABILITY)) return true;
     return false;
   }
 
-  static final private boolean jj_3_2() {
-    if (jj_3R_9()) return true;
+  static final private boolean jj_3_5() {
+    if (jj_scan_token(WITH)) return true;
+    if (jj_scan_token(READ)) return true;
+    if (jj_scan_token(COMMITTED)) return true;
+    return false;
+  }
+
+  static final private boolean jj_3_9() {
+    if (jj_scan_token(SET)) return true;
+    if (jj_scan_token(CROSS_LIMIT)) return true;
+    return false;
+  }
+
+  static final private boolean jj_3R_13() {
+    if (jj_3R_10()) return true;
     if (jj_scan_token(DOT)) return true;
+    if (jj_3R_14()) return true;
+    return false;
+  }
+
+  static final private boolean jj_3_4() {
+    if (jj_3R_10()) return true;
+    if (jj_scan_token(DOT)) return true;
+    return false;
+  }
+
+  static final private boolean jj_3_8() {
+    if (jj_scan_token(SET)) return true;
+    if (jj_scan_token(COMPILE)) return true;
+    return false;
+  }
+
+  static final private boolean jj_3R_12() {
+    if (jj_3R_14()) return true;
     return false;
   }
 
   static final private boolean jj_3R_9() {
-    if (jj_scan_token(IDENTIFIER)) return true;
+    Token xsp;
+    xsp = jj_scanpos;
+    if (jj_3R_11()) {
+    jj_scanpos = xsp;
+    if (jj_3R_12()) return true;
+    }
     return false;
   }
 
@@ -793,31 +1270,57 @@ public class BaliParser implements BaliParserConstants {
     return false;
   }
 
-  static final private boolean jj_3R_12() {
+  static final private boolean jj_3_12() {
+    if (jj_scan_token(SHOW)) return true;
+    if (jj_scan_token(STATS)) return true;
+    return false;
+  }
+
+  static final private boolean jj_3_1() {
+    if (jj_3R_9()) return true;
+    if (jj_scan_token(EQ)) return true;
     if (jj_3R_9()) return true;
-    if (jj_scan_token(DOT)) return true;
-    if (jj_3R_13()) return true;
     return false;
   }
 
-  static final private boolean jj_3_3() {
+  static final private boolean jj_3_7() {
+    if (jj_scan_token(SET)) return true;
+    if (jj_scan_token(CACHE)) return true;
+    return false;
+  }
+
+  static final private boolean jj_3_11() {
     if (jj_scan_token(SHOW)) return true;
     if (jj_scan_token(SEMI)) return true;
     return false;
   }
 
-  static final private boolean jj_3R_8() {
-    Token xsp;
-    xsp = jj_scanpos;
-    if (jj_3R_10()) {
-    jj_scanpos = xsp;
-    if (jj_3R_11()) return true;
-    }
+  static final private boolean jj_3R_14() {
+    if (jj_scan_token(IDENTIFIER)) return true;
     return false;
   }
 
   static final private boolean jj_3R_10() {
-    if (jj_3R_12()) return true;
+    if (jj_scan_token(IDENTIFIER)) return true;
+    return false;
+  }
+
+  static final private boolean jj_3_6() {
+    if (jj_scan_token(SET)) return true;
+    if (jj_scan_token(AUTOCOMMIT)) return true;
+    return false;
+  }
+
+  static final private boolean jj_3_13() {
+    if (jj_scan_token(STORAGE)) return true;
+    if (jj_scan_token(COLUMNAR)) return true;
+    if (jj_scan_token(DICTIONARY)) return true;
+    return false;
+  }
+
+  static final private boolean jj_3_2() {
+    if (jj_scan_token(CREATE)) return true;
+    if (jj_scan_token(TABLE)) return true;
     return false;
   }
 
@@ -831,20 +1334,25 @@ public class BaliParser implements BaliParserConstants {
   static public boolean lookingAhead = false;
   static private boolean jj_semLA;
   static private int jj_gen;
-  static final private int[] jj_la1 = new int[18];
+  static final private int[] jj_la1 = new int[31];
   static private int[] jj_la1_0;
   static private int[] jj_la1_1;
+  static private int[] jj_la1_2;
   static {
       jj_la1_0();
       jj_la1_1();
+      jj_la1_2();
    }
    private static void jj_la1_0() {
-      jj_la1_0 = new int[] {0x88e88000,0x100000,0x0,0x80400000,0x8a88000,0x0,0x0,0x100000,0x0,0x100000,0x20000,0x20000,0x10000,0x64040000,0x100000,0x0,0x0,0x100000,};
+      jj_la1_0 = new int[] {0x44808000,0x2000000,0x0,0x40000000,0x0,0x0,0x4808000,0x0,0x0,0x0,0x0,0x0,0x0,0x2000000,0x0,0x0,0x2000000,0x40000,0x40000,0x10000,0x200000,0x2000000,0x0,0x0,0x0,0x0,0x2000000,0x0,0x0,0x20000000,0x2000000,};
    }
    private static void jj_la1_1() {
-      jj_la1_1 = new int[] {0x12e81,0x0,0x200000,0x2800,0x10681,0x200000,0x4002,0x0,0x180000,0x0,0x0,0x0,0x200000,0x48,0x0,0x40000,0x2000,0x0,};
+      jj_la1_1 = new int[] {0xa0031c1,0x0,0x0,0x1000,0x0,0x0,0xa0021c1,0x400000,0x4000000,0x100,0x10000000,0x0,0x4000,0x0,0x0,0x4000000,0x0,0x0,0x0,0x0,0x120c20,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x1800000,0x0,0x0,};
    }
-  static final private JJCalls[] jj_2_rtns = new JJCalls[3];
+   private static void jj_la1_2() {
+      jj_la1_2 = new int[] {0x101f,0x0,0x100000,0x14,0x40,0x8000,0x100b,0x20200,0xc0000,0x0,0x0,0x100000,0x80,0x0,0x10000,0xc0000,0x0,0x0,0x0,0x100000,0x0,0x0,0x8000,0x10000,0x8,0x10,0x0,0x40,0x0,0x100100,0x0,};
+   }
+  static final private JJCalls[] jj_2_rtns = new JJCalls[13];
   static private boolean jj_rescan = false;
   static private int jj_gc = 0;
 
@@ -864,7 +1372,7 @@ public class BaliParser implements BaliParserConstants {
     token = new Token();
     jj_ntk = -1;
     jj_gen = 0;
-    for (int i = 0; i < 18; i++) jj_la1[i] = -1;
+    for (int i = 0; i < 31; i++) jj_la1[i] = -1;
     for (int i = 0; i < jj_2_rtns.length; i++) jj_2_rtns[i] = new JJCalls();
   }
 
@@ -877,7 +1385,7 @@ public class BaliParser implements BaliParserConstants {
     token = new Token();
     jj_ntk = -1;
     jj_gen = 0;
-    for (int i = 0; i < 18; i++) jj_la1[i] = -1;
+    for (int i = 0; i < 31; i++) jj_la1[i] = -1;
     for (int i = 0; i < jj_2_rtns.length; i++) jj_2_rtns[i] = new JJCalls();
   }
 
@@ -894,7 +1402,7 @@ public class BaliParser implements BaliParserConstants {
     token = new Token();
     jj_ntk = -1;
     jj_gen = 0;
-    for (int i = 0; i < 18; i++) jj_la1[i] = -1;
+    for (int i = 0; i < 31; i++) jj_la1[i] = -1;
     for (int i = 0; i < jj_2_rtns.length; i++) jj_2_rtns[i] = new JJCalls();
   }
 
@@ -904,7 +1412,7 @@ public class BaliParser implements BaliParserConstants {
     token = new Token();
     jj_ntk = -1;
     jj_gen = 0;
-    for (int i = 0; i < 18; i++) jj_la1[i] = -1;
+    for (int i = 0; i < 31; i++) jj_la1[i] = -1;
     for (int i = 0; i < jj_2_rtns.length; i++) jj_2_rtns[i] = new JJCalls();
   }
 
@@ -920,7 +1428,7 @@ public class BaliParser implements BaliParserConstants {
     token = new Token();
     jj_ntk = -1;
     jj_gen = 0;
-    for (int i = 0; i < 18; i++) jj_la1[i] = -1;
+    for (int i = 0; i < 31; i++) jj_la1[i] = -1;
     for (int i = 0; i < jj_2_rtns.length; i++) jj_2_rtns[i] = new JJCalls();
   }
 
@@ -929,7 +1437,7 @@ public class BaliParser implements BaliParserConstants {
     token = new Token();
     jj_ntk = -1;
     jj_gen = 0;
-    for (int i = 0; i < 18; i++) jj_la1[i] = -1;
+    for (int i = 0; i < 31; i++) jj_la1[i] = -1;
     for (int i = 0; i < jj_2_rtns.length; i++) jj_2_rtns[i] = new JJCalls();
   }
 
@@ -1040,15 +1548,15 @@ public class BaliParser implements BaliParserConstants {
 
   static public ParseException generateParseException() {
     jj_expentries.removeAllElements();
-    boolean[] la1tokens = new boolean[55];
-    for (int i = 0; i < 55; i++) {
+    boolean[] la1tokens = new boolean[86];
+    for (int i = 0; i < 86; i++) {
       la1tokens[i] = false;
     }
     if (jj_kind >= 0) {
       la1tokens[jj_kind] = true;
       jj_kind = -1;
     }
-    for (int i = 0; i < 18; i++) {
+    for (int i = 0; i < 31; i++) {
       if (jj_la1[i] == jj_gen) {
         for (int j = 0; j < 32; j++) {
           if ((jj_la1_0[i] & (1<<j)) != 0) {
@@ -1057,10 +1565,13 @@ public class BaliParser implements BaliParserConstants {
           if ((jj_la1_1[i] & (1<<j)) != 0) {
             la1tokens[32+j] = true;
           }
+          if ((jj_la1_2[i] & (1<<j)) != 0) {
+            la1tokens[64+j] = true;
+          }
         }
       }
     }
-    for (int i = 0; i < 55; i++) {
+    for (int i = 0; i < 86; i++) {
       if (la1tokens[i]) {
         jj_expentry = new int[1];
         jj_expentry[0] = i;
@@ -1085,7 +1596,7 @@ public class BaliParser implements BaliParserConstants {
 
   static final private void jj_rescan_token() {
     jj_rescan = true;
-    for (int i = 0; i < 3; i++) {
+    for (int i = 0; i < 13; i++) {
     try {
       JJCalls p = jj_2_rtns[i];
       do {
@@ -1095,6 +1606,16 @@ public class BaliParser implements BaliParserConstants {
             case 0: jj_3_1(); break;
             case 1: jj_3_2(); break;
             case 2: jj_3_3(); break;
+            case 3: jj_3_4(); break;
+            case 4: jj_3_5(); break;
+            case 5: jj_3_6(); break;
+            case 6: jj_3_7(); break;
+            case 7: jj_3_8(); break;
+            case 8: jj_3_9(); break;
+            case 9: jj_3_10(); break;
+            case 10: jj_3_11(); break;
+            case 11: jj_3_12(); break;
+            case 12: jj_3_13(); break;
           }
         }
         p = p.next;
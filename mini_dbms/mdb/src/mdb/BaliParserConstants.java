@@ -11,44 +11,75 @@ public interface BaliParserConstants {
   int DIGIT = 14;
   int ABORT = 15;
   int ALL = 16;
-  int AND = 17;
-  int BANG = 18;
-  int CLOSE = 19;
-  int COMMA = 20;
-  int COMMIT = 21;
-  int CREATE = 22;
-  int DELETE = 23;
-  int DIV = 24;
-  int DOT = 25;
-  int EQ = 26;
-  int EXIT = 27;
-  int FROM = 28;
-  int GE = 29;
-  int GT = 30;
-  int INDEX = 31;
-  int INSERT = 32;
-  int INTEGER = 33;
-  int INTO = 34;
-  int LE = 35;
-  int LOAD = 36;
-  int LP = 37;
-  int LT = 38;
-  int OPEN = 39;
-  int RP = 40;
-  int SCRIPT = 41;
-  int SELECT = 42;
-  int SEMI = 43;
-  int SET = 44;
-  int SHOW = 45;
-  int STRING = 46;
-  int TABLE = 47;
-  int UPDATE = 48;
-  int VALUES = 49;
-  int WHERE = 50;
-  int STRING_LITERAL = 51;
-  int INTEGER_LITERAL = 52;
-  int IDENTIFIER = 53;
-  int OTHER = 54;
+  int ANALYZE = 17;
+  int AND = 18;
+  int AS = 19;
+  int AUTOCOMMIT = 20;
+  int BANG = 21;
+  int CACHE = 22;
+  int CLOSE = 23;
+  int COLUMNAR = 24;
+  int COMMA = 25;
+  int COMMIT = 26;
+  int COMMITTED = 27;
+  int COMPILE = 28;
+  int COUNT = 29;
+  int CREATE = 30;
+  int CROSS_LIMIT = 31;
+  int DELETE = 32;
+  int DICTIONARY = 33;
+  int DIV = 34;
+  int DOT = 35;
+  int DURABILITY = 36;
+  int EQ = 37;
+  int EXECUTE = 38;
+  int EXIT = 39;
+  int EXPLAIN = 40;
+  int FROM = 41;
+  int GE = 42;
+  int GT = 43;
+  int INDEX = 44;
+  int INSERT = 45;
+  int INTEGER = 46;
+  int INTO = 47;
+  int KEY = 48;
+  int LE = 49;
+  int LOAD = 50;
+  int LP = 51;
+  int LT = 52;
+  int MATERIALIZED = 53;
+  int NO_SYNC = 54;
+  int OFF = 55;
+  int ON = 56;
+  int OPEN = 57;
+  int PARAM = 58;
+  int PREPARE = 59;
+  int PRIMARY = 60;
+  int READ = 61;
+  int READONLY = 62;
+  int RP = 63;
+  int SCRIPT = 64;
+  int SELECT = 65;
+  int SEMI = 66;
+  int SET = 67;
+  int SHOW = 68;
+  int STATS = 69;
+  int STORAGE = 70;
+  int STRING = 71;
+  int SUM = 72;
+  int SYNC = 73;
+  int TABLE = 74;
+  int UNCOMMITTED = 75;
+  int UPDATE = 76;
+  int VALUES = 77;
+  int VIEW = 78;
+  int WHERE = 79;
+  int WITH = 80;
+  int WRITE_NO_SYNC = 81;
+  int STRING_LITERAL = 82;
+  int INTEGER_LITERAL = 83;
+  int IDENTIFIER = 84;
+  int OTHER = 85;
 
   int DEFAULT = 0;
   int IN_SINGLE_LINE_COMMENT = 1;
@@ -73,17 +104,30 @@ public interface BaliParserConstants {
     "<DIGIT>",
     "\"abort\"",
     "\"*\"",
+    "\"analyze\"",
     "\"and\"",
+    "\"as\"",
+    "\"autocommit\"",
     "\"!\"",
+    "\"cache\"",
     "\"close\"",
+    "\"columnar\"",
     "\",\"",
     "\"commit\"",
+    "\"committed\"",
+    "\"compile\"",
+    "\"count\"",
     "\"create\"",
+    "\"cross_limit\"",
     "\"delete\"",
+    "\"dictionary\"",
     "\"/\"",
     "\".\"",
+    "\"durability\"",
     "\"=\"",
+    "\"execute\"",
     "\"exit\"",
+    "\"explain\"",
     "\"from\"",
     "\">=\"",
     "\">\"",
@@ -91,22 +135,40 @@ public interface BaliParserConstants {
     "\"insert\"",
     "\"int\"",
     "\"into\"",
+    "\"key\"",
     "\"<=\"",
     "\"load\"",
     "\"(\"",
     "\"<\"",
+    "\"materialized\"",
+    "\"no_sync\"",
+    "\"off\"",
+    "\"on\"",
     "\"open\"",
+    "\"?\"",
+    "\"prepare\"",
+    "\"primary\"",
+    "\"read\"",
+    "\"readonly\"",
     "\")\"",
     "\"script\"",
     "\"select\"",
     "\";\"",
     "\"set\"",
     "\"show\"",
+    "\"stats\"",
+    "\"storage\"",
     "\"str\"",
+    "\"sum\"",
+    "\"sync\"",
     "\"table\"",
+    "\"uncommitted\"",
     "\"update\"",
     "\"values\"",
+    "\"view\"",
     "\"where\"",
+    "\"with\"",
+    "\"write_no_sync\"",
     "<STRING_LITERAL>",
     "<INTEGER_LITERAL>",
     "<IDENTIFIER>",
@@ -5,69 +5,147 @@ public class BaliParserTokenManager implements BaliParserConstants
 {
   public static  java.io.PrintStream debugStream = System.out;
   public static  void setDebugStream(java.io.PrintStream ds) { debugStream = ds; }
-private static final int jjStopStringLiteralDfa_0(int pos, long active0)
+private static final int jjStopStringLiteralDfa_0(int pos, long active0, long active1)
 {
-   switch (pos)
+   switch (pos)
    {
       case 0:
-         if ((active0 & 0x1000140L) != 0L)
+         if ((active0 & 0x400000140L) != 0L)
             return 2;
-         if ((active0 & 0x7f69798ea8000L) != 0L)
+         if ((active0 & 0x7be5f3d3fdde8000L) != 0L || (active1 & 0x3fffbL) != 0L)
          {
-            jjmatchedKind = 53;
+            jjmatchedKind = 84;
             return 15;
          }
          return -1;
       case 1:
          if ((active0 & 0x100L) != 0L)
             return 0;
-         if ((active0 & 0x7f69798ea8000L) != 0L)
+         if ((active0 & 0x7ae5f3d3fdd68000L) != 0L || (active1 & 0x3fffbL) != 0L)
          {
-            jjmatchedKind = 53;
+            jjmatchedKind = 84;
             jjmatchedPos = 1;
             return 15;
          }
+         if ((active0 & 0x100000000080000L) != 0L)
+            return 15;
          return -1;
       case 2:
-         if ((active0 & 0x7a69198e88000L) != 0L)
+         if ((active0 & 0x81c00000040000L) != 0L || (active1 & 0x188L) != 0L)
+            return 15;
+         if ((active0 & 0x7a6433d3fdd28000L) != 0L || (active1 & 0x3fe73L) != 0L)
          {
             if (jjmatchedPos != 2)
             {
-               jjmatchedKind = 53;
+               jjmatchedKind = 84;
                jjmatchedPos = 2;
             }
             return 15;
          }
-         if ((active0 & 0x500600020000L) != 0L)
-            return 15;
          return -1;
       case 3:
-         if ((active0 & 0x7860180e88000L) != 0L)
+         if ((active0 & 0x18603153fdd28000L) != 0L || (active1 & 0x2bc63L) != 0L)
          {
-            jjmatchedKind = 53;
-            jjmatchedPos = 3;
+            if (jjmatchedPos != 3)
+            {
+               jjmatchedKind = 84;
+               jjmatchedPos = 3;
+            }
             return 15;
          }
-         if ((active0 & 0x209418000000L) != 0L)
+         if ((active0 & 0x6204828000000000L) != 0L || (active1 & 0x14210L) != 0L)
             return 15;
          return -1;
       case 4:
-         if ((active0 & 0x3060100e00000L) != 0L)
+         if ((active0 & 0x58602153dd120000L) != 0L || (active1 & 0x23843L) != 0L)
          {
-            jjmatchedKind = 53;
+            jjmatchedKind = 84;
             jjmatchedPos = 4;
             return 15;
          }
-         if ((active0 & 0x4800080088000L) != 0L)
+         if ((active0 & 0x100020c08000L) != 0L || (active1 & 0x8420L) != 0L)
+            return 15;
+         return -1;
+      case 5:
+         if ((active0 & 0x20014c000000L) != 0L || (active1 & 0x3003L) != 0L)
+            return 15;
+         if ((active0 & 0x5860015291120000L) != 0L || (active1 & 0x20840L) != 0L)
+         {
+            if (jjmatchedPos != 5)
+            {
+               jjmatchedKind = 84;
+               jjmatchedPos = 5;
+            }
+            return 15;
+         }
+         return -1;
+      case 6:
+         if ((active0 & 0x4020001289100000L) != 0L || (active1 & 0x20800L) != 0L)
+         {
+            jjmatchedKind = 84;
+            jjmatchedPos = 6;
+            return 15;
+         }
+         if ((active0 & 0x1840014010020000L) != 0L || (active1 & 0x40L) != 0L)
+            return 15;
+         return -1;
+      case 7:
+         if ((active0 & 0x20001288100000L) != 0L || (active1 & 0x20800L) != 0L)
+         {
+            jjmatchedKind = 84;
+            jjmatchedPos = 7;
+            return 15;
+         }
+         if ((active0 & 0x4000000001000000L) != 0L)
+            return 15;
+         return -1;
+      case 8:
+         if ((active0 & 0x20001280100000L) != 0L || (active1 & 0x20800L) != 0L)
+         {
+            jjmatchedKind = 84;
+            jjmatchedPos = 8;
+            return 15;
+         }
+         if ((active0 & 0x8000000L) != 0L)
             return 15;
          return -1;
+      case 9:
+         if ((active0 & 0x20000080000000L) != 0L || (active1 & 0x20800L) != 0L)
+         {
+            jjmatchedKind = 84;
+            jjmatchedPos = 9;
+            return 15;
+         }
+         if ((active0 & 0x1200100000L) != 0L)
+            return 15;
+         return -1;
+      case 10:
+         if ((active0 & 0x20000000000000L) != 0L || (active1 & 0x20000L) != 0L)
+         {
+            jjmatchedKind = 84;
+            jjmatchedPos = 10;
+            return 15;
+         }
+         if ((active0 & 0x80000000L) != 0L || (active1 & 0x800L) != 0L)
+            return 15;
+         return -1;
+      case 11:
+         if ((active0 & 0x20000000000000L) != 0L)
+            return 15;
+         if ((active1 & 0x20000L) != 0L)
+         {
+            jjmatchedKind = 84;
+            jjmatchedPos = 11;
+            return 15;
+         }
+         return -1;
       default :
          return -1;
    }
 }
-private static final int jjStartNfa_0(int pos, long active0)
+private static final int jjStartNfa_0(int pos, long active0, long active1)
 {
-   return jjMoveNfa_0(jjStopStringLiteralDfa_0(pos, active0), pos + 1);
+   return jjMoveNfa_0(jjStopStringLiteralDfa_0(pos, active0, active1), pos + 1);
 }
 static private final int jjStopAtPos(int pos, int kind)
 {
@@ -98,65 +176,77 @@ static private final int jjMoveStringLiteralDfa0_0()
       case 32:
          return jjStopAtPos(0, 1);
       case 33:
-         return jjStopAtPos(0, 18);
+         return jjStopAtPos(0, 21);
       case 40:
-         return jjStopAtPos(0, 37);
+         return jjStopAtPos(0, 51);
       case 41:
-         return jjStopAtPos(0, 40);
+         return jjStopAtPos(0, 63);
       case 42:
          return jjStopAtPos(0, 16);
       case 44:
-         return jjStopAtPos(0, 20);
-      case 46:
          return jjStopAtPos(0, 25);
+      case 46:
+         return jjStopAtPos(0, 35);
       case 47:
-         jjmatchedKind = 24;
-         return jjMoveStringLiteralDfa1_0(0x140L);
+         jjmatchedKind = 34;
+         return jjMoveStringLiteralDfa1_0(0x140L, 0x0L);
       case 59:
-         return jjStopAtPos(0, 43);
+         return jjStopAtPos(0, 66);
       case 60:
-         jjmatchedKind = 38;
-         return jjMoveStringLiteralDfa1_0(0x800000000L);
+         jjmatchedKind = 52;
+         return jjMoveStringLiteralDfa1_0(0x2000000000000L, 0x0L);
       case 61:
-         return jjStopAtPos(0, 26);
+         return jjStopAtPos(0, 37);
       case 62:
-         jjmatchedKind = 30;
-         return jjMoveStringLiteralDfa1_0(0x20000000L);
+         jjmatchedKind = 43;
+         return jjMoveStringLiteralDfa1_0(0x40000000000L, 0x0L);
+      case 63:
+         return jjStopAtPos(0, 58);
       case 97:
-         return jjMoveStringLiteralDfa1_0(0x28000L);
+         return jjMoveStringLiteralDfa1_0(0x1e8000L, 0x0L);
       case 99:
-         return jjMoveStringLiteralDfa1_0(0x680000L);
+         return jjMoveStringLiteralDfa1_0(0xfdc00000L, 0x0L);
       case 100:
-         return jjMoveStringLiteralDfa1_0(0x800000L);
+         return jjMoveStringLiteralDfa1_0(0x1300000000L, 0x0L);
       case 101:
-         return jjMoveStringLiteralDfa1_0(0x8000000L);
+         return jjMoveStringLiteralDfa1_0(0x1c000000000L, 0x0L);
       case 102:
-         return jjMoveStringLiteralDfa1_0(0x10000000L);
+         return jjMoveStringLiteralDfa1_0(0x20000000000L, 0x0L);
       case 105:
-         return jjMoveStringLiteralDfa1_0(0x780000000L);
+         return jjMoveStringLiteralDfa1_0(0xf00000000000L, 0x0L);
+      case 107:
+         return jjMoveStringLiteralDfa1_0(0x1000000000000L, 0x0L);
       case 108:
-         return jjMoveStringLiteralDfa1_0(0x1000000000L);
+         return jjMoveStringLiteralDfa1_0(0x4000000000000L, 0x0L);
+      case 109:
+         return jjMoveStringLiteralDfa1_0(0x20000000000000L, 0x0L);
+      case 110:
+         return jjMoveStringLiteralDfa1_0(0x40000000000000L, 0x0L);
       case 111:
-         return jjMoveStringLiteralDfa1_0(0x8000000000L);
+         return jjMoveStringLiteralDfa1_0(0x380000000000000L, 0x0L);
+      case 112:
+         return jjMoveStringLiteralDfa1_0(0x1800000000000000L, 0x0L);
+      case 114:
+         return jjMoveStringLiteralDfa1_0(0x6000000000000000L, 0x0L);
       case 115:
-         return jjMoveStringLiteralDfa1_0(0x760000000000L);
+         return jjMoveStringLiteralDfa1_0(0x0L, 0x3fbL);
       case 116:
-         return jjMoveStringLiteralDfa1_0(0x800000000000L);
+         return jjMoveStringLiteralDfa1_0(0x0L, 0x400L);
       case 117:
-         return jjMoveStringLiteralDfa1_0(0x1000000000000L);
+         return jjMoveStringLiteralDfa1_0(0x0L, 0x1800L);
       case 118:
-         return jjMoveStringLiteralDfa1_0(0x2000000000000L);
+         return jjMoveStringLiteralDfa1_0(0x0L, 0x6000L);
       case 119:
-         return jjMoveStringLiteralDfa1_0(0x4000000000000L);
+         return jjMoveStringLiteralDfa1_0(0x0L, 0x38000L);
       default :
          return jjMoveNfa_0(3, 0);
    }
 }
-static private final int jjMoveStringLiteralDfa1_0(long active0)
+static private final int jjMoveStringLiteralDfa1_0(long active0, long active1)
 {
    try { curChar = input_stream.readChar(); }
    catch(java.io.IOException e) {
-      jjStopStringLiteralDfa_0(0, active0);
+      jjStopStringLiteralDfa_0(0, active0, active1);
       return 1;
    }
    switch(curChar)
@@ -170,220 +260,534 @@ static private final int jjMoveStringLiteralDfa1_0(long active0)
             return jjStopAtPos(1, 6);
          break;
       case 61:
-         if ((active0 & 0x20000000L) != 0L)
-            return jjStopAtPos(1, 29);
-         else if ((active0 & 0x800000000L) != 0L)
-            return jjStopAtPos(1, 35);
+         if ((active0 & 0x40000000000L) != 0L)
+            return jjStopAtPos(1, 42);
+         else if ((active0 & 0x2000000000000L) != 0L)
+            return jjStopAtPos(1, 49);
          break;
       case 97:
-         return jjMoveStringLiteralDfa2_0(active0, 0x2800000000000L);
+         return jjMoveStringLiteralDfa2_0(active0, 0x20000000400000L, active1, 0x2400L);
       case 98:
-         return jjMoveStringLiteralDfa2_0(active0, 0x8000L);
+         return jjMoveStringLiteralDfa2_0(active0, 0x8000L, active1, 0L);
       case 99:
-         return jjMoveStringLiteralDfa2_0(active0, 0x20000000000L);
+         return jjMoveStringLiteralDfa2_0(active0, 0L, active1, 0x1L);
       case 101:
-         return jjMoveStringLiteralDfa2_0(active0, 0x140000800000L);
+         return jjMoveStringLiteralDfa2_0(active0, 0x6001000100000000L, active1, 0xaL);
+      case 102:
+         return jjMoveStringLiteralDfa2_0(active0, 0x80000000000000L, active1, 0L);
       case 104:
-         return jjMoveStringLiteralDfa2_0(active0, 0x4200000000000L);
+         return jjMoveStringLiteralDfa2_0(active0, 0L, active1, 0x8010L);
+      case 105:
+         return jjMoveStringLiteralDfa2_0(active0, 0x200000000L, active1, 0x14000L);
       case 108:
-         return jjMoveStringLiteralDfa2_0(active0, 0x80000L);
+         return jjMoveStringLiteralDfa2_0(active0, 0x800000L, active1, 0L);
       case 110:
-         return jjMoveStringLiteralDfa2_0(active0, 0x780020000L);
+         if ((active0 & 0x100000000000000L) != 0L)
+            return jjStartNfaWithStates_0(1, 56, 15);
+         return jjMoveStringLiteralDfa2_0(active0, 0xf00000060000L, active1, 0x800L);
       case 111:
-         return jjMoveStringLiteralDfa2_0(active0, 0x1000200000L);
+         return jjMoveStringLiteralDfa2_0(active0, 0x4400003d000000L, active1, 0L);
       case 112:
-         return jjMoveStringLiteralDfa2_0(active0, 0x1008000000000L);
+         return jjMoveStringLiteralDfa2_0(active0, 0x200000000000000L, active1, 0x1000L);
       case 114:
-         return jjMoveStringLiteralDfa2_0(active0, 0x10400000L);
+         return jjMoveStringLiteralDfa2_0(active0, 0x18000200c0000000L, active1, 0x20000L);
+      case 115:
+         if ((active0 & 0x80000L) != 0L)
+            return jjStartNfaWithStates_0(1, 19, 15);
+         break;
       case 116:
-         return jjMoveStringLiteralDfa2_0(active0, 0x400000000000L);
+         return jjMoveStringLiteralDfa2_0(active0, 0L, active1, 0xe0L);
+      case 117:
+         return jjMoveStringLiteralDfa2_0(active0, 0x1000100000L, active1, 0x100L);
       case 120:
-         return jjMoveStringLiteralDfa2_0(active0, 0x8000000L);
+         return jjMoveStringLiteralDfa2_0(active0, 0x1c000000000L, active1, 0L);
+      case 121:
+         return jjMoveStringLiteralDfa2_0(active0, 0L, active1, 0x200L);
       default :
          break;
    }
-   return jjStartNfa_0(0, active0);
+   return jjStartNfa_0(0, active0, active1);
 }
-static private final int jjMoveStringLiteralDfa2_0(long old0, long active0)
+static private final int jjMoveStringLiteralDfa2_0(long old0, long active0, long old1, long active1)
 {
-   if (((active0 &= old0)) == 0L)
-      return jjStartNfa_0(0, old0); 
+   if (((active0 &= old0) | (active1 &= old1)) == 0L)
+      return jjStartNfa_0(0, old0, old1); 
    try { curChar = input_stream.readChar(); }
    catch(java.io.IOException e) {
-      jjStopStringLiteralDfa_0(1, active0);
+      jjStopStringLiteralDfa_0(1, active0, active1);
       return 2;
    }
    switch(curChar)
    {
+      case 95:
+         return jjMoveStringLiteralDfa3_0(active0, 0x40000000000000L, active1, 0L);
       case 97:
-         return jjMoveStringLiteralDfa3_0(active0, 0x1000000000L);
+         return jjMoveStringLiteralDfa3_0(active0, 0x6004000000020000L, active1, 0x20L);
       case 98:
-         return jjMoveStringLiteralDfa3_0(active0, 0x800000000000L);
+         return jjMoveStringLiteralDfa3_0(active0, 0L, active1, 0x400L);
+      case 99:
+         return jjMoveStringLiteralDfa3_0(active0, 0x200400000L, active1, 0x800L);
       case 100:
-         if ((active0 & 0x20000L) != 0L)
-            return jjStartNfaWithStates_0(2, 17, 15);
-         return jjMoveStringLiteralDfa3_0(active0, 0x1000080000000L);
+         if ((active0 & 0x40000L) != 0L)
+            return jjStartNfaWithStates_0(2, 18, 15);
+         return jjMoveStringLiteralDfa3_0(active0, 0x100000000000L, active1, 0x1000L);
       case 101:
-         return jjMoveStringLiteralDfa3_0(active0, 0x4008000400000L);
+         return jjMoveStringLiteralDfa3_0(active0, 0xa00004040000000L, active1, 0xc000L);
+      case 102:
+         if ((active0 & 0x80000000000000L) != 0L)
+            return jjStartNfaWithStates_0(2, 55, 15);
+         break;
       case 105:
-         return jjMoveStringLiteralDfa3_0(active0, 0x8000000L);
+         return jjMoveStringLiteralDfa3_0(active0, 0x1000008000000000L, active1, 0x20000L);
       case 108:
-         return jjMoveStringLiteralDfa3_0(active0, 0x2040000800000L);
+         return jjMoveStringLiteralDfa3_0(active0, 0x101000000L, active1, 0x2002L);
       case 109:
-         return jjMoveStringLiteralDfa3_0(active0, 0x200000L);
+         if ((active1 & 0x100L) != 0L)
+            return jjStartNfaWithStates_0(2, 72, 15);
+         return jjMoveStringLiteralDfa3_0(active0, 0x1c000000L, active1, 0L);
+      case 110:
+         return jjMoveStringLiteralDfa3_0(active0, 0L, active1, 0x200L);
       case 111:
-         return jjMoveStringLiteralDfa3_0(active0, 0x200010088000L);
+         return jjMoveStringLiteralDfa3_0(active0, 0x20080808000L, active1, 0x50L);
+      case 112:
+         return jjMoveStringLiteralDfa3_0(active0, 0x10000000000L, active1, 0L);
       case 114:
-         if ((active0 & 0x400000000000L) != 0L)
-            return jjStartNfaWithStates_0(2, 46, 15);
-         return jjMoveStringLiteralDfa3_0(active0, 0x20000000000L);
+         if ((active1 & 0x80L) != 0L)
+            return jjStartNfaWithStates_0(2, 71, 15);
+         return jjMoveStringLiteralDfa3_0(active0, 0x1000000000L, active1, 0x1L);
       case 115:
-         return jjMoveStringLiteralDfa3_0(active0, 0x100000000L);
+         return jjMoveStringLiteralDfa3_0(active0, 0x200000000000L, active1, 0L);
       case 116:
-         if ((active0 & 0x200000000L) != 0L)
+         if ((active0 & 0x400000000000L) != 0L)
          {
-            jjmatchedKind = 33;
+            jjmatchedKind = 46;
             jjmatchedPos = 2;
          }
-         else if ((active0 & 0x100000000000L) != 0L)
-            return jjStartNfaWithStates_0(2, 44, 15);
-         return jjMoveStringLiteralDfa3_0(active0, 0x400000000L);
+         else if ((active1 & 0x8L) != 0L)
+            return jjStartNfaWithStates_0(2, 67, 15);
+         return jjMoveStringLiteralDfa3_0(active0, 0x20800000100000L, active1, 0x10000L);
+      case 117:
+         return jjMoveStringLiteralDfa3_0(active0, 0x20000000L, active1, 0L);
+      case 121:
+         if ((active0 & 0x1000000000000L) != 0L)
+            return jjStartNfaWithStates_0(2, 48, 15);
+         break;
       default :
          break;
    }
-   return jjStartNfa_0(1, active0);
+   return jjStartNfa_0(1, active0, active1);
 }
-static private final int jjMoveStringLiteralDfa3_0(long old0, long active0)
+static private final int jjMoveStringLiteralDfa3_0(long old0, long active0, long old1, long active1)
 {
-   if (((active0 &= old0)) == 0L)
-      return jjStartNfa_0(1, old0); 
+   if (((active0 &= old0) | (active1 &= old1)) == 0L)
+      return jjStartNfa_0(1, old0, old1); 
    try { curChar = input_stream.readChar(); }
    catch(java.io.IOException e) {
-      jjStopStringLiteralDfa_0(2, active0);
+      jjStopStringLiteralDfa_0(2, active0, active1);
       return 3;
    }
    switch(curChar)
    {
       case 97:
-         return jjMoveStringLiteralDfa4_0(active0, 0x1000000400000L);
+         return jjMoveStringLiteralDfa4_0(active0, 0x1040000000L, active1, 0x1000L);
+      case 99:
+         if ((active1 & 0x200L) != 0L)
+            return jjStartNfaWithStates_0(3, 73, 15);
+         return jjMoveStringLiteralDfa4_0(active0, 0x4000000000L, active1, 0L);
       case 100:
-         if ((active0 & 0x1000000000L) != 0L)
-            return jjStartNfaWithStates_0(3, 36, 15);
-         break;
+         if ((active0 & 0x4000000000000L) != 0L)
+            return jjStartNfaWithStates_0(3, 50, 15);
+         else if ((active0 & 0x2000000000000000L) != 0L)
+         {
+            jjmatchedKind = 61;
+            jjmatchedPos = 3;
+         }
+         return jjMoveStringLiteralDfa4_0(active0, 0x4000000000000000L, active1, 0L);
       case 101:
-         return jjMoveStringLiteralDfa4_0(active0, 0x40180800000L);
+         return jjMoveStringLiteralDfa4_0(active0, 0x20300100000000L, active1, 0x2L);
+      case 104:
+         if ((active1 & 0x10000L) != 0L)
+            return jjStartNfaWithStates_0(3, 80, 15);
+         return jjMoveStringLiteralDfa4_0(active0, 0x400000L, active1, 0L);
       case 105:
-         return jjMoveStringLiteralDfa4_0(active0, 0x20000000000L);
+         return jjMoveStringLiteralDfa4_0(active0, 0L, active1, 0x1L);
       case 108:
-         return jjMoveStringLiteralDfa4_0(active0, 0x800000000000L);
+         return jjMoveStringLiteralDfa4_0(active0, 0x10000020000L, active1, 0x400L);
       case 109:
-         if ((active0 & 0x10000000L) != 0L)
-            return jjStartNfaWithStates_0(3, 28, 15);
-         return jjMoveStringLiteralDfa4_0(active0, 0x200000L);
+         if ((active0 & 0x20000000000L) != 0L)
+            return jjStartNfaWithStates_0(3, 41, 15);
+         return jjMoveStringLiteralDfa4_0(active0, 0x100000000c000000L, active1, 0L);
       case 110:
-         if ((active0 & 0x8000000000L) != 0L)
-            return jjStartNfaWithStates_0(3, 39, 15);
-         break;
+         if ((active0 & 0x200000000000000L) != 0L)
+            return jjStartNfaWithStates_0(3, 57, 15);
+         return jjMoveStringLiteralDfa4_0(active0, 0x20000000L, active1, 0L);
       case 111:
-         if ((active0 & 0x400000000L) != 0L)
-            return jjStartNfaWithStates_0(3, 34, 15);
-         break;
+         if ((active0 & 0x800000000000L) != 0L)
+            return jjStartNfaWithStates_0(3, 47, 15);
+         return jjMoveStringLiteralDfa4_0(active0, 0x100000L, active1, 0x800L);
+      case 112:
+         return jjMoveStringLiteralDfa4_0(active0, 0x800000010000000L, active1, 0L);
       case 114:
-         return jjMoveStringLiteralDfa4_0(active0, 0x4000000008000L);
+         return jjMoveStringLiteralDfa4_0(active0, 0x8000L, active1, 0x8040L);
       case 115:
-         return jjMoveStringLiteralDfa4_0(active0, 0x80000L);
+         return jjMoveStringLiteralDfa4_0(active0, 0x40000080800000L, active1, 0L);
       case 116:
-         if ((active0 & 0x8000000L) != 0L)
-            return jjStartNfaWithStates_0(3, 27, 15);
-         break;
+         if ((active0 & 0x8000000000L) != 0L)
+            return jjStartNfaWithStates_0(3, 39, 15);
+         return jjMoveStringLiteralDfa4_0(active0, 0x200000000L, active1, 0x20020L);
       case 117:
-         return jjMoveStringLiteralDfa4_0(active0, 0x2000000000000L);
+         return jjMoveStringLiteralDfa4_0(active0, 0x1000000L, active1, 0x2000L);
       case 119:
-         if ((active0 & 0x200000000000L) != 0L)
-            return jjStartNfaWithStates_0(3, 45, 15);
+         if ((active1 & 0x10L) != 0L)
+            return jjStartNfaWithStates_0(3, 68, 15);
+         else if ((active1 & 0x4000L) != 0L)
+            return jjStartNfaWithStates_0(3, 78, 15);
          break;
       default :
          break;
    }
-   return jjStartNfa_0(2, active0);
+   return jjStartNfa_0(2, active0, active1);
 }
-static private final int jjMoveStringLiteralDfa4_0(long old0, long active0)
+static private final int jjMoveStringLiteralDfa4_0(long old0, long active0, long old1, long active1)
 {
-   if (((active0 &= old0)) == 0L)
-      return jjStartNfa_0(2, old0); 
+   if (((active0 &= old0) | (active1 &= old1)) == 0L)
+      return jjStartNfa_0(2, old0, old1); 
    try { curChar = input_stream.readChar(); }
    catch(java.io.IOException e) {
-      jjStopStringLiteralDfa_0(3, active0);
+      jjStopStringLiteralDfa_0(3, active0, active1);
       return 4;
    }
    switch(curChar)
    {
+      case 97:
+         return jjMoveStringLiteralDfa5_0(active0, 0x1800010000000000L, active1, 0x40L);
+      case 98:
+         return jjMoveStringLiteralDfa5_0(active0, 0x1000000000L, active1, 0L);
       case 99:
-         return jjMoveStringLiteralDfa5_0(active0, 0x40000000000L);
+         return jjMoveStringLiteralDfa5_0(active0, 0x100000L, active1, 0x2L);
       case 101:
-         if ((active0 & 0x80000L) != 0L)
-            return jjStartNfaWithStates_0(4, 19, 15);
-         else if ((active0 & 0x800000000000L) != 0L)
-            return jjStartNfaWithStates_0(4, 47, 15);
-         else if ((active0 & 0x4000000000000L) != 0L)
-            return jjStartNfaWithStates_0(4, 50, 15);
-         return jjMoveStringLiteralDfa5_0(active0, 0x2000000000000L);
+         if ((active0 & 0x400000L) != 0L)
+            return jjStartNfaWithStates_0(4, 22, 15);
+         else if ((active0 & 0x800000L) != 0L)
+            return jjStartNfaWithStates_0(4, 23, 15);
+         else if ((active1 & 0x400L) != 0L)
+            return jjStartNfaWithStates_0(4, 74, 15);
+         else if ((active1 & 0x8000L) != 0L)
+            return jjStartNfaWithStates_0(4, 79, 15);
+         return jjMoveStringLiteralDfa5_0(active0, 0L, active1, 0x22000L);
       case 105:
-         return jjMoveStringLiteralDfa5_0(active0, 0x200000L);
+         return jjMoveStringLiteralDfa5_0(active0, 0x21c000000L, active1, 0L);
+      case 109:
+         return jjMoveStringLiteralDfa5_0(active0, 0x1000000L, active1, 0x800L);
+      case 111:
+         return jjMoveStringLiteralDfa5_0(active0, 0x4000000000000000L, active1, 0L);
       case 112:
-         return jjMoveStringLiteralDfa5_0(active0, 0x20000000000L);
+         return jjMoveStringLiteralDfa5_0(active0, 0L, active1, 0x1L);
       case 114:
-         return jjMoveStringLiteralDfa5_0(active0, 0x100000000L);
+         return jjMoveStringLiteralDfa5_0(active0, 0x20200000000000L, active1, 0L);
+      case 115:
+         if ((active1 & 0x20L) != 0L)
+            return jjStartNfaWithStates_0(4, 69, 15);
+         return jjMoveStringLiteralDfa5_0(active0, 0x80000000L, active1, 0L);
       case 116:
          if ((active0 & 0x8000L) != 0L)
             return jjStartNfaWithStates_0(4, 15, 15);
-         return jjMoveStringLiteralDfa5_0(active0, 0x1000000c00000L);
+         else if ((active0 & 0x20000000L) != 0L)
+            return jjStartNfaWithStates_0(4, 29, 15);
+         return jjMoveStringLiteralDfa5_0(active0, 0x140000000L, active1, 0x1000L);
+      case 117:
+         return jjMoveStringLiteralDfa5_0(active0, 0x4000000000L, active1, 0L);
       case 120:
-         if ((active0 & 0x80000000L) != 0L)
-            return jjStartNfaWithStates_0(4, 31, 15);
+         if ((active0 & 0x100000000000L) != 0L)
+            return jjStartNfaWithStates_0(4, 44, 15);
          break;
+      case 121:
+         return jjMoveStringLiteralDfa5_0(active0, 0x40000000020000L, active1, 0L);
       default :
          break;
    }
-   return jjStartNfa_0(3, active0);
+   return jjStartNfa_0(3, active0, active1);
 }
-static private final int jjMoveStringLiteralDfa5_0(long old0, long active0)
+static private final int jjMoveStringLiteralDfa5_0(long old0, long active0, long old1, long active1)
 {
-   if (((active0 &= old0)) == 0L)
-      return jjStartNfa_0(3, old0); 
+   if (((active0 &= old0) | (active1 &= old1)) == 0L)
+      return jjStartNfa_0(3, old0, old1); 
    try { curChar = input_stream.readChar(); }
    catch(java.io.IOException e) {
-      jjStopStringLiteralDfa_0(4, active0);
+      jjStopStringLiteralDfa_0(4, active0, active1);
       return 5;
    }
    switch(curChar)
    {
+      case 95:
+         return jjMoveStringLiteralDfa6_0(active0, 0x80000000L, active1, 0x20000L);
       case 101:
-         if ((active0 & 0x400000L) != 0L)
-            return jjStartNfaWithStates_0(5, 22, 15);
-         else if ((active0 & 0x800000L) != 0L)
-            return jjStartNfaWithStates_0(5, 23, 15);
-         else if ((active0 & 0x1000000000000L) != 0L)
-            return jjStartNfaWithStates_0(5, 48, 15);
+         if ((active0 & 0x40000000L) != 0L)
+            return jjStartNfaWithStates_0(5, 30, 15);
+         else if ((active0 & 0x100000000L) != 0L)
+            return jjStartNfaWithStates_0(5, 32, 15);
+         else if ((active1 & 0x1000L) != 0L)
+            return jjStartNfaWithStates_0(5, 76, 15);
          break;
+      case 103:
+         return jjMoveStringLiteralDfa6_0(active0, 0L, active1, 0x40L);
+      case 105:
+         return jjMoveStringLiteralDfa6_0(active0, 0x20011000000000L, active1, 0L);
+      case 108:
+         return jjMoveStringLiteralDfa6_0(active0, 0x10000000L, active1, 0L);
+      case 109:
+         return jjMoveStringLiteralDfa6_0(active0, 0L, active1, 0x800L);
+      case 110:
+         return jjMoveStringLiteralDfa6_0(active0, 0x4040000001000000L, active1, 0L);
+      case 111:
+         return jjMoveStringLiteralDfa6_0(active0, 0x200100000L, active1, 0L);
+      case 114:
+         return jjMoveStringLiteralDfa6_0(active0, 0x1800000000000000L, active1, 0L);
       case 115:
-         if ((active0 & 0x2000000000000L) != 0L)
-            return jjStartNfaWithStates_0(5, 49, 15);
+         if ((active1 & 0x2000L) != 0L)
+            return jjStartNfaWithStates_0(5, 77, 15);
          break;
       case 116:
-         if ((active0 & 0x200000L) != 0L)
-            return jjStartNfaWithStates_0(5, 21, 15);
-         else if ((active0 & 0x100000000L) != 0L)
-            return jjStartNfaWithStates_0(5, 32, 15);
-         else if ((active0 & 0x20000000000L) != 0L)
-            return jjStartNfaWithStates_0(5, 41, 15);
-         else if ((active0 & 0x40000000000L) != 0L)
-            return jjStartNfaWithStates_0(5, 42, 15);
+         if ((active0 & 0x4000000L) != 0L)
+         {
+            jjmatchedKind = 26;
+            jjmatchedPos = 5;
+         }
+         else if ((active0 & 0x200000000000L) != 0L)
+            return jjStartNfaWithStates_0(5, 45, 15);
+         else if ((active1 & 0x1L) != 0L)
+            return jjStartNfaWithStates_0(5, 64, 15);
+         else if ((active1 & 0x2L) != 0L)
+            return jjStartNfaWithStates_0(5, 65, 15);
+         return jjMoveStringLiteralDfa6_0(active0, 0x4008000000L, active1, 0L);
+      case 122:
+         return jjMoveStringLiteralDfa6_0(active0, 0x20000L, active1, 0L);
+      default :
+         break;
+   }
+   return jjStartNfa_0(4, active0, active1);
+}
+static private final int jjMoveStringLiteralDfa6_0(long old0, long active0, long old1, long active1)
+{
+   if (((active0 &= old0) | (active1 &= old1)) == 0L)
+      return jjStartNfa_0(4, old0, old1); 
+   try { curChar = input_stream.readChar(); }
+   catch(java.io.IOException e) {
+      jjStopStringLiteralDfa_0(5, active0, active1);
+      return 6;
+   }
+   switch(curChar)
+   {
+      case 97:
+         return jjMoveStringLiteralDfa7_0(active0, 0x20000001000000L, active1, 0L);
+      case 99:
+         if ((active0 & 0x40000000000000L) != 0L)
+            return jjStartNfaWithStates_0(6, 54, 15);
+         break;
+      case 101:
+         if ((active0 & 0x20000L) != 0L)
+            return jjStartNfaWithStates_0(6, 17, 15);
+         else if ((active0 & 0x10000000L) != 0L)
+            return jjStartNfaWithStates_0(6, 28, 15);
+         else if ((active0 & 0x4000000000L) != 0L)
+            return jjStartNfaWithStates_0(6, 38, 15);
+         else if ((active0 & 0x800000000000000L) != 0L)
+            return jjStartNfaWithStates_0(6, 59, 15);
+         else if ((active1 & 0x40L) != 0L)
+            return jjStartNfaWithStates_0(6, 70, 15);
+         break;
+      case 105:
+         return jjMoveStringLiteralDfa7_0(active0, 0L, active1, 0x800L);
+      case 108:
+         return jjMoveStringLiteralDfa7_0(active0, 0x4000001080000000L, active1, 0L);
+      case 109:
+         return jjMoveStringLiteralDfa7_0(active0, 0x100000L, active1, 0L);
+      case 110:
+         if ((active0 & 0x10000000000L) != 0L)
+            return jjStartNfaWithStates_0(6, 40, 15);
+         return jjMoveStringLiteralDfa7_0(active0, 0x200000000L, active1, 0x20000L);
+      case 116:
+         return jjMoveStringLiteralDfa7_0(active0, 0x8000000L, active1, 0L);
+      case 121:
+         if ((active0 & 0x1000000000000000L) != 0L)
+            return jjStartNfaWithStates_0(6, 60, 15);
+         break;
+      default :
+         break;
+   }
+   return jjStartNfa_0(5, active0, active1);
+}
+static private final int jjMoveStringLiteralDfa7_0(long old0, long active0, long old1, long active1)
+{
+   if (((active0 &= old0) | (active1 &= old1)) == 0L)
+      return jjStartNfa_0(5, old0, old1); 
+   try { curChar = input_stream.readChar(); }
+   catch(java.io.IOException e) {
+      jjStopStringLiteralDfa_0(6, active0, active1);
+      return 7;
+   }
+   switch(curChar)
+   {
+      case 97:
+         return jjMoveStringLiteralDfa8_0(active0, 0x200000000L, active1, 0L);
+      case 101:
+         return jjMoveStringLiteralDfa8_0(active0, 0x8000000L, active1, 0L);
+      case 105:
+         return jjMoveStringLiteralDfa8_0(active0, 0x1080000000L, active1, 0L);
+      case 108:
+         return jjMoveStringLiteralDfa8_0(active0, 0x20000000000000L, active1, 0L);
+      case 109:
+         return jjMoveStringLiteralDfa8_0(active0, 0x100000L, active1, 0L);
+      case 111:
+         return jjMoveStringLiteralDfa8_0(active0, 0L, active1, 0x20000L);
+      case 114:
+         if ((active0 & 0x1000000L) != 0L)
+            return jjStartNfaWithStates_0(7, 24, 15);
+         break;
+      case 116:
+         return jjMoveStringLiteralDfa8_0(active0, 0L, active1, 0x800L);
+      case 121:
+         if ((active0 & 0x4000000000000000L) != 0L)
+            return jjStartNfaWithStates_0(7, 62, 15);
+         break;
+      default :
+         break;
+   }
+   return jjStartNfa_0(6, active0, active1);
+}
+static private final int jjMoveStringLiteralDfa8_0(long old0, long active0, long old1, long active1)
+{
+   if (((active0 &= old0) | (active1 &= old1)) == 0L)
+      return jjStartNfa_0(6, old0, old1); 
+   try { curChar = input_stream.readChar(); }
+   catch(java.io.IOException e) {
+      jjStopStringLiteralDfa_0(7, active0, active1);
+      return 8;
+   }
+   switch(curChar)
+   {
+      case 95:
+         return jjMoveStringLiteralDfa9_0(active0, 0L, active1, 0x20000L);
+      case 100:
+         if ((active0 & 0x8000000L) != 0L)
+            return jjStartNfaWithStates_0(8, 27, 15);
+         break;
+      case 105:
+         return jjMoveStringLiteralDfa9_0(active0, 0x20000000100000L, active1, 0L);
+      case 109:
+         return jjMoveStringLiteralDfa9_0(active0, 0x80000000L, active1, 0L);
+      case 114:
+         return jjMoveStringLiteralDfa9_0(active0, 0x200000000L, active1, 0L);
+      case 116:
+         return jjMoveStringLiteralDfa9_0(active0, 0x1000000000L, active1, 0x800L);
+      default :
+         break;
+   }
+   return jjStartNfa_0(7, active0, active1);
+}
+static private final int jjMoveStringLiteralDfa9_0(long old0, long active0, long old1, long active1)
+{
+   if (((active0 &= old0) | (active1 &= old1)) == 0L)
+      return jjStartNfa_0(7, old0, old1); 
+   try { curChar = input_stream.readChar(); }
+   catch(java.io.IOException e) {
+      jjStopStringLiteralDfa_0(8, active0, active1);
+      return 9;
+   }
+   switch(curChar)
+   {
+      case 101:
+         return jjMoveStringLiteralDfa10_0(active0, 0L, active1, 0x800L);
+      case 105:
+         return jjMoveStringLiteralDfa10_0(active0, 0x80000000L, active1, 0L);
+      case 115:
+         return jjMoveStringLiteralDfa10_0(active0, 0L, active1, 0x20000L);
+      case 116:
+         if ((active0 & 0x100000L) != 0L)
+            return jjStartNfaWithStates_0(9, 20, 15);
+         break;
+      case 121:
+         if ((active0 & 0x200000000L) != 0L)
+            return jjStartNfaWithStates_0(9, 33, 15);
+         else if ((active0 & 0x1000000000L) != 0L)
+            return jjStartNfaWithStates_0(9, 36, 15);
+         break;
+      case 122:
+         return jjMoveStringLiteralDfa10_0(active0, 0x20000000000000L, active1, 0L);
+      default :
+         break;
+   }
+   return jjStartNfa_0(8, active0, active1);
+}
+static private final int jjMoveStringLiteralDfa10_0(long old0, long active0, long old1, long active1)
+{
+   if (((active0 &= old0) | (active1 &= old1)) == 0L)
+      return jjStartNfa_0(8, old0, old1); 
+   try { curChar = input_stream.readChar(); }
+   catch(java.io.IOException e) {
+      jjStopStringLiteralDfa_0(9, active0, active1);
+      return 10;
+   }
+   switch(curChar)
+   {
+      case 100:
+         if ((active1 & 0x800L) != 0L)
+            return jjStartNfaWithStates_0(10, 75, 15);
+         break;
+      case 101:
+         return jjMoveStringLiteralDfa11_0(active0, 0x20000000000000L, active1, 0L);
+      case 116:
+         if ((active0 & 0x80000000L) != 0L)
+            return jjStartNfaWithStates_0(10, 31, 15);
+         break;
+      case 121:
+         return jjMoveStringLiteralDfa11_0(active0, 0L, active1, 0x20000L);
+      default :
+         break;
+   }
+   return jjStartNfa_0(9, active0, active1);
+}
+static private final int jjMoveStringLiteralDfa11_0(long old0, long active0, long old1, long active1)
+{
+   if (((active0 &= old0) | (active1 &= old1)) == 0L)
+      return jjStartNfa_0(9, old0, old1); 
+   try { curChar = input_stream.readChar(); }
+   catch(java.io.IOException e) {
+      jjStopStringLiteralDfa_0(10, active0, active1);
+      return 11;
+   }
+   switch(curChar)
+   {
+      case 100:
+         if ((active0 & 0x20000000000000L) != 0L)
+            return jjStartNfaWithStates_0(11, 53, 15);
+         break;
+      case 110:
+         return jjMoveStringLiteralDfa12_0(active0, 0L, active1, 0x20000L);
+      default :
+         break;
+   }
+   return jjStartNfa_0(10, active0, active1);
+}
+static private final int jjMoveStringLiteralDfa12_0(long old0, long active0, long old1, long active1)
+{
+   if (((active0 &= old0) | (active1 &= old1)) == 0L)
+      return jjStartNfa_0(10, old0, old1); 
+   try { curChar = input_stream.readChar(); }
+   catch(java.io.IOException e) {
+      jjStopStringLiteralDfa_0(11, 0L, active1);
+      return 12;
+   }
+   switch(curChar)
+   {
+      case 99:
+         if ((active1 & 0x20000L) != 0L)
+            return jjStartNfaWithStates_0(12, 81, 15);
          break;
       default :
          break;
    }
-   return jjStartNfa_0(4, active0);
+   return jjStartNfa_0(11, 0L, active1);
 }
 static private final void jjCheckNAdd(int state)
 {
@@ -415,8 +819,8 @@ static private final void jjCheckNAddStates(int start)
    jjCheckNAdd(jjnextStates[start]);
    jjCheckNAdd(jjnextStates[start + 1]);
 }
-static final long[] jjbitVec0 = {
-   0x0L, 0x0L, 0xffffffffffffffffL, 0xffffffffffffffffL
+static final long[] jjbitVec0 = {
+   0x0L, 0x0L, 0xffffffffffffffffL, 0xffffffffffffffffL
 };
 static private final int jjMoveNfa_0(int startState, int curPos)
 {
@@ -440,14 +844,14 @@ static private final int jjMoveNfa_0(int startState, int curPos)
                case 3:
                   if ((0x3ff000000000000L & l) != 0L)
                   {
-                     if (kind > 52)
-                        kind = 52;
+                     if (kind > 83)
+                        kind = 83;
                      jjCheckNAdd(13);
                   }
                   else if (curChar == 36)
                   {
-                     if (kind > 53)
-                        kind = 53;
+                     if (kind > 84)
+                        kind = 84;
                      jjCheckNAdd(15);
                   }
                   else if (curChar == 34)
@@ -480,8 +884,8 @@ static private final int jjMoveNfa_0(int startState, int curPos)
                      jjCheckNAddStates(0, 2);
                   break;
                case 8:
-                  if (curChar == 34 && kind > 51)
-                     kind = 51;
+                  if (curChar == 34 && kind > 82)
+                     kind = 82;
                   break;
                case 9:
                   if ((0xff000000000000L & l) != 0L)
@@ -502,22 +906,22 @@ static private final int jjMoveNfa_0(int startState, int curPos)
                case 13:
                   if ((0x3ff000000000000L & l) == 0L)
                      break;
-                  if (kind > 52)
-                     kind = 52;
+                  if (kind > 83)
+                     kind = 83;
                   jjCheckNAdd(13);
                   break;
                case 14:
                   if (curChar != 36)
                      break;
-                  if (kind > 53)
-                     kind = 53;
+                  if (kind > 84)
+                     kind = 84;
                   jjCheckNAdd(15);
                   break;
                case 15:
                   if ((0x3ff001000000000L & l) == 0L)
                      break;
-                  if (kind > 53)
-                     kind = 53;
+                  if (kind > 84)
+                     kind = 84;
                   jjCheckNAdd(15);
                   break;
                default : break;
@@ -535,8 +939,8 @@ static private final int jjMoveNfa_0(int startState, int curPos)
                case 15:
                   if ((0x7fffffe87fffffeL & l) == 0L)
                      break;
-                  if (kind > 53)
-                     kind = 53;
+                  if (kind > 84)
+                     kind = 84;
                   jjCheckNAdd(15);
                   break;
                case 1:
@@ -736,41 +1140,52 @@ static private final int jjMoveStringLiteralDfa1_2(long active0)
    }
    return 2;
 }
-static final int[] jjnextStates = {
-   5, 6, 8, 5, 6, 10, 8, 7, 9, 11, 
+static final int[] jjnextStates = {
+   5, 6, 8, 5, 6, 10, 8, 7, 9, 11, 
 };
 public static final String[] jjstrLiteralImages = {
 "", null, null, null, null, null, null, null, null, null, null, null, null, 
-null, null, "\141\142\157\162\164", "\52", "\141\156\144", "\41", 
-"\143\154\157\163\145", "\54", "\143\157\155\155\151\164", "\143\162\145\141\164\145", 
-"\144\145\154\145\164\145", "\57", "\56", "\75", "\145\170\151\164", "\146\162\157\155", "\76\75", "\76", 
-"\151\156\144\145\170", "\151\156\163\145\162\164", "\151\156\164", "\151\156\164\157", "\74\75", 
-"\154\157\141\144", "\50", "\74", "\157\160\145\156", "\51", "\163\143\162\151\160\164", 
-"\163\145\154\145\143\164", "\73", "\163\145\164", "\163\150\157\167", "\163\164\162", 
-"\164\141\142\154\145", "\165\160\144\141\164\145", "\166\141\154\165\145\163", 
-"\167\150\145\162\145", null, null, null, null, };
+null, null, "\141\142\157\162\164", "\52", "\141\156\141\154\171\172\145", 
+"\141\156\144", "\141\163", "\141\165\164\157\143\157\155\155\151\164", "\41", 
+"\143\141\143\150\145", "\143\154\157\163\145", "\143\157\154\165\155\156\141\162", "\54", 
+"\143\157\155\155\151\164", "\143\157\155\155\151\164\164\145\144", "\143\157\155\160\151\154\145", 
+"\143\157\165\156\164", "\143\162\145\141\164\145", "\143\162\157\163\163\137\154\151\155\151\164", 
+"\144\145\154\145\164\145", "\144\151\143\164\151\157\156\141\162\171", "\57", "\56", 
+"\144\165\162\141\142\151\154\151\164\171", "\75", "\145\170\145\143\165\164\145", "\145\170\151\164", 
+"\145\170\160\154\141\151\156", "\146\162\157\155", "\76\75", "\76", "\151\156\144\145\170", 
+"\151\156\163\145\162\164", "\151\156\164", "\151\156\164\157", "\153\145\171", "\74\75", 
+"\154\157\141\144", "\50", "\74", "\155\141\164\145\162\151\141\154\151\172\145\144", 
+"\156\157\137\163\171\156\143", "\157\146\146", "\157\156", "\157\160\145\156", "\77", 
+"\160\162\145\160\141\162\145", "\160\162\151\155\141\162\171", "\162\145\141\144", 
+"\162\145\141\144\157\156\154\171", "\51", "\163\143\162\151\160\164", "\163\145\154\145\143\164", "\73", 
+"\163\145\164", "\163\150\157\167", "\163\164\141\164\163", "\163\164\157\162\141\147\145", 
+"\163\164\162", "\163\165\155", "\163\171\156\143", "\164\141\142\154\145", 
+"\165\156\143\157\155\155\151\164\164\145\144", "\165\160\144\141\164\145", "\166\141\154\165\145\163", "\166\151\145\167", 
+"\167\150\145\162\145", "\167\151\164\150", "\167\162\151\164\145\137\156\157\137\163\171\156\143", 
+null, null, null, null, };
 public static final String[] lexStateNames = {
    "DEFAULT", 
    "IN_SINGLE_LINE_COMMENT", 
    "IN_FORMAL_COMMENT", 
    "IN_MULTI_LINE_COMMENT", 
 };
-public static final int[] jjnewLexState = {
-   -1, -1, -1, -1, -1, -1, 1, 2, 3, 0, 0, 0, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 
-   -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 
-   -1, -1, -1, -1, -1, 
+public static final int[] jjnewLexState = {
+   -1, -1, -1, -1, -1, -1, 1, 2, 3, 0, 0, 0, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 
+   -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 
+   -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 
+   -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 
 };
-static final long[] jjtoToken = {
-   0x7fffffffff8001L, 
+static final long[] jjtoToken = {
+   0xffffffffffff8001L, 0x3fffffL, 
 };
-static final long[] jjtoSkip = {
-   0xe3eL, 
+static final long[] jjtoSkip = {
+   0xe3eL, 0x0L, 
 };
-static final long[] jjtoSpecial = {
-   0xe3eL, 
+static final long[] jjtoSpecial = {
+   0xe3eL, 0x0L, 
 };
-static final long[] jjtoMore = {
-   0x11c0L, 
+static final long[] jjtoMore = {
+   0x11c0L, 0x0L, 
 };
 static protected SimpleCharStream input_stream;
 static private final int[] jjrounds = new int[16];
@@ -842,7 +1257,7 @@ public static Token getNextToken()
   Token matchedToken;
   int curPos = 0;
 
-  EOFLoop :
+  EOFLoop :
   for (;;)
   {   
    try   
@@ -867,9 +1282,9 @@ public static Token getNextToken()
          jjmatchedKind = 0x7fffffff;
          jjmatchedPos = 0;
          curPos = jjMoveStringLiteralDfa0_0();
-         if (jjmatchedPos == 0 && jjmatchedKind > 54)
+         if (jjmatchedPos == 0 && jjmatchedKind > 85)
          {
-            jjmatchedKind = 54;
+            jjmatchedKind = 85;
          }
          break;
        case 1:
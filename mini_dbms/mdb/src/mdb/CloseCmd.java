@@ -5,8 +5,6 @@ package mdb;
 
 import minidb.je.ExecuteHelpers;
 
-import java.io.File;
-
 import static minidb.je.ExecuteHelpers.myDbEnvPath;
 
 public class CloseCmd extends Close {
@@ -17,7 +15,7 @@ public class CloseCmd extends Close {
     public void execute () {
         
         super.execute();
-        myDbEnvPath = new File("JEDB");
+        myDbEnvPath = ExecuteHelpers.defaultHome();
         ExecuteHelpers.prepareDB();
     }
 
@@ -0,0 +1,46 @@
+// Automatically generated code.  Edit at your own risk!
+// Generated by bali2jak v2002.09.03.
+
+package mdb;
+import Jakarta.util.*;
+import java.io.*;
+import java.util.*;
+
+public class ColumnarStorage extends Storage {
+
+    final public static int ARG_LENGTH = 1 /* Kludge! */ ;
+    final public static int TOK_LENGTH = 2 ;
+
+    public void execute () {
+        
+        super.execute();
+    }
+
+    public AstToken getCOLUMNAR () {
+        
+        return (AstToken) tok [1] ;
+    }
+
+    public AstToken getSTORAGE () {
+        
+        return (AstToken) tok [0] ;
+    }
+
+    public boolean[] printorder () {
+        
+        return new boolean[] {true, true} ;
+    }
+
+    public ColumnarStorage setParms (AstToken tok0, AstToken tok1) {
+        
+        arg = new AstNode [ARG_LENGTH] ;
+        tok = new AstTokenInterface [TOK_LENGTH] ;
+        
+        tok [0] = tok0 ;            /* STORAGE */
+        tok [1] = tok1 ;            /* COLUMNAR */
+        
+        InitChildren () ;
+        return (ColumnarStorage) this ;
+    }
+
+}
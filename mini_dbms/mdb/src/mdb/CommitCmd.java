@@ -3,7 +3,7 @@
 
 package mdb;
 
-import minidb.je.ExecuteHelpers;
+import minidb.je.Session;
 
 public class CommitCmd extends Commit {
 
@@ -13,8 +13,7 @@ public class CommitCmd extends Commit {
     public void execute () {
         
         super.execute();
-        ExecuteHelpers.txn.commit();
-        ExecuteHelpers.txn = ExecuteHelpers.myDbEnv.getEnv().beginTransaction(null, null);
+        Session.current().commit();
     }
 
     public AstToken getCOMMIT () {
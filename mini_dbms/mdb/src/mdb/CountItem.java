@@ -0,0 +1,60 @@
+// Automatically generated code.  Edit at your own risk!
+// Generated by bali2jak v2002.09.03.
+
+package mdb;
+import Jakarta.util.*;
+import java.io.*;
+import java.util.*;
+
+public class CountItem extends View_item {
+
+    final public static int ARG_LENGTH = 1 /* Kludge! */ ;
+    final public static int TOK_LENGTH = 4 ;
+
+    public void execute () {
+        
+        super.execute();
+    }
+
+    public AstToken getALL () {
+        
+        return (AstToken) tok [2] ;
+    }
+
+    public AstToken getCOUNT () {
+        
+        return (AstToken) tok [0] ;
+    }
+
+    public AstToken getLP () {
+        
+        return (AstToken) tok [1] ;
+    }
+
+    public AstToken getRP () {
+        
+        return (AstToken) tok [3] ;
+    }
+
+    public boolean[] printorder () {
+        
+        return new boolean[] {true, true, true, true} ;
+    }
+
+    public CountItem setParms
+    (AstToken tok0, AstToken tok1, AstToken tok2, AstToken tok3)
+    {
+        
+        arg = new AstNode [ARG_LENGTH] ;
+        tok = new AstTokenInterface [TOK_LENGTH] ;
+        
+        tok [0] = tok0 ;            /* COUNT */
+        tok [1] = tok1 ;            /* LP */
+        tok [2] = tok2 ;            /* ALL */
+        tok [3] = tok3 ;            /* RP */
+        
+        InitChildren () ;
+        return (CountItem) this ;
+    }
+
+}
@@ -0,0 +1,54 @@
+// Automatically generated code.  Edit at your own risk!
+// Generated by bali2jak v2002.09.03.
+
+package mdb;
+import Jakarta.util.*;
+import java.io.*;
+import java.util.*;
+
+public class DictionaryStorage extends Storage {
+
+    final public static int ARG_LENGTH = 1 /* Kludge! */ ;
+    final public static int TOK_LENGTH = 3 ;
+
+    public void execute () {
+        
+        super.execute();
+    }
+
+    public AstToken getCOLUMNAR () {
+        
+        return (AstToken) tok [1] ;
+    }
+
+    public AstToken getDICTIONARY () {
+        
+        return (AstToken) tok [2] ;
+    }
+
+    public AstToken getSTORAGE () {
+        
+        return (AstToken) tok [0] ;
+    }
+
+    public boolean[] printorder () {
+        
+        return new boolean[] {true, true, true} ;
+    }
+
+    public DictionaryStorage setParms
+    (AstToken tok0, AstToken tok1, AstToken tok2)
+    {
+        
+        arg = new AstNode [ARG_LENGTH] ;
+        tok = new AstTokenInterface [TOK_LENGTH] ;
+        
+        tok [0] = tok0 ;            /* STORAGE */
+        tok [1] = tok1 ;            /* COLUMNAR */
+        tok [2] = tok2 ;            /* DICTIONARY */
+        
+        InitChildren () ;
+        return (DictionaryStorage) this ;
+    }
+
+}
@@ -0,0 +1,85 @@
+// Automatically generated code.  Edit at your own risk!
+// Generated by bali2jak v2002.09.03.
+
+package mdb;
+
+import Jakarta.util.*;
+import java.io.*;
+import java.util.*;
+import minidb.je.Session;
+
+public class ExecuteCmd extends Execute {
+
+    final public static int ARG_LENGTH = 2 ;
+    final public static int TOK_LENGTH = 4 ;
+
+    public void execute () {
+        
+        super.execute();
+
+        String name = getStatement_name().toString().trim();
+        List<String> values = new ArrayList<String>();
+        if(getLiteral_list() != null) {
+            AstCursor c = new AstCursor();
+            for (c.FirstElement(getLiteral_list()); c.MoreElement(); c.NextElement())
+                values.add(c.node.toString().trim());
+        }
+        Dml_stmt statement = Session.current().getStatements().bind(name, values);
+        if(statement != null) statement.execute();
+    }
+
+    public AstToken getEXECUTE () {
+        
+        return (AstToken) tok [0] ;
+    }
+
+    public AstToken getLP () {
+        
+        return (AstToken) tok [1] ;
+    }
+
+    public Literal_list getLiteral_list () {
+        
+        AstNode node = arg[1].arg [0] ;
+        return (node != null) ? (Literal_list) node : null ;
+    }
+
+    public AstToken getRP () {
+        
+        return (AstToken) tok [2] ;
+    }
+
+    public AstToken getSEMI () {
+        
+        return (AstToken) tok [3] ;
+    }
+
+    public Statement_name getStatement_name () {
+        
+        return (Statement_name) arg [0] ;
+    }
+
+    public boolean[] printorder () {
+        
+        return new boolean[] {true, false, true, false, true, true} ;
+    }
+
+    public ExecuteCmd setParms
+    (AstToken tok0, Statement_name arg0, AstToken tok1, AstOptNode arg1, AstToken tok2, AstToken tok3)
+    {
+        
+        arg = new AstNode [ARG_LENGTH] ;
+        tok = new AstTokenInterface [TOK_LENGTH] ;
+        
+        tok [0] = tok0 ;            /* EXECUTE */
+        arg [0] = arg0 ;            /* Statement_name */
+        tok [1] = tok1 ;            /* LP */
+        arg [1] = arg1 ;            /* [Literal_list] */
+        tok [2] = tok2 ;            /* RP */
+        tok [3] = tok3 ;            /* SEMI */
+        
+        InitChildren () ;
+        return (ExecuteCmd) this ;
+    }
+
+}
@@ -0,0 +1,47 @@
+// Automatically generated code.  Edit at your own risk!
+// Generated by bali2jak v2002.09.03.
+
+package mdb;
+import Jakarta.util.*;
+import java.io.*;
+import java.util.*;
+
+public class ExplainPlan extends Explain {
+
+    final public static int ARG_LENGTH = 1 ;
+    final public static int TOK_LENGTH = 1 ;
+
+    public void execute () {
+        
+        //super.execute() would run the select, explain() decides that
+        System.out.print(((SelectCmd) getSelect()).explain(false));
+    }
+
+    public AstToken getEXPLAIN () {
+        
+        return (AstToken) tok [0] ;
+    }
+
+    public Select getSelect () {
+        
+        return (Select) arg [0] ;
+    }
+
+    public boolean[] printorder () {
+        
+        return new boolean[] {true, false} ;
+    }
+
+    public ExplainPlan setParms (AstToken tok0, Select arg0) {
+        
+        arg = new AstNode [ARG_LENGTH] ;
+        tok = new AstTokenInterface [TOK_LENGTH] ;
+        
+        tok [0] = tok0 ;            /* EXPLAIN */
+        arg [0] = arg0 ;            /* Select */
+        
+        InitChildren () ;
+        return (ExplainPlan) this ;
+    }
+
+}
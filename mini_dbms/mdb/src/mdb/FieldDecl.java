@@ -8,7 +8,7 @@ import java.util.*;
 
 public class FieldDecl extends Field_decl {
 
-    final public static int ARG_LENGTH = 2 ;
+    final public static int ARG_LENGTH = 3 ;
     final public static int TOK_LENGTH = 1 /* Kludge! */ ;
 
     public void execute () {
@@ -26,18 +26,27 @@ public class FieldDecl extends Field_decl {
         return (Field_type) arg [1] ;
     }
 
+    public Key_decl getKey_decl () {
+        
+        AstNode node = arg[2].arg [0] ;
+        return (node != null) ? (Key_decl) node : null ;
+    }
+
     public boolean[] printorder () {
         
-        return new boolean[] {false, false} ;
+        return new boolean[] {false, false, false} ;
     }
 
-    public FieldDecl setParms (Field_name arg0, Field_type arg1) {
+    public FieldDecl setParms
+    (Field_name arg0, Field_type arg1, AstOptNode arg2)
+    {
         
         arg = new AstNode [ARG_LENGTH] ;
         tok = new AstTokenInterface [TOK_LENGTH] ;
         
         arg [0] = arg0 ;            /* Field_name */
         arg [1] = arg1 ;            /* Field_type */
+        arg [2] = arg2 ;            /* [Key_decl] */
         
         InitChildren () ;
         return (FieldDecl) this ;
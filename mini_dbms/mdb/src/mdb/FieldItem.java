@@ -0,0 +1,40 @@
+// Automatically generated code.  Edit at your own risk!
+// Generated by bali2jak v2002.09.03.
+
+package mdb;
+import Jakarta.util.*;
+import java.io.*;
+import java.util.*;
+
+public class FieldItem extends View_item {
+
+    final public static int ARG_LENGTH = 1 ;
+    final public static int TOK_LENGTH = 1 /* Kludge! */ ;
+
+    public void execute () {
+        
+        super.execute();
+    }
+
+    public Field_spec getField_spec () {
+        
+        return (Field_spec) arg [0] ;
+    }
+
+    public boolean[] printorder () {
+        
+        return new boolean[] {false} ;
+    }
+
+    public FieldItem setParms (Field_spec arg0) {
+        
+        arg = new AstNode [ARG_LENGTH] ;
+        tok = new AstTokenInterface [TOK_LENGTH] ;
+        
+        arg [0] = arg0 ;            /* Field_spec */
+        
+        InitChildren () ;
+        return (FieldItem) this ;
+    }
+
+}
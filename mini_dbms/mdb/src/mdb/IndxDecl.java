@@ -17,6 +17,7 @@ public class IndxDecl extends Decl_ind {
     public void execute () {
         
         super.execute();
+        if(!ExecuteHelpers.isWritable()) return;
 
         String rel = getRel_dot_field().arg[0].toString().trim();
         String col = getRel_dot_field().arg[1].toString().trim();
@@ -43,12 +44,13 @@ public class IndxDecl extends Decl_ind {
             String indexMetaData = relationName+",pm_keys:str";
             DatabaseEntry theData = new DatabaseEntry(ExecuteHelpers.bytify(indexMetaData));
 
-            relationDB.put(ExecuteHelpers.txn, theKey, theData);
+            relationDB.put(ExecuteHelpers.txn(), theKey, theData);
+            ExecuteHelpers.catalog.addRelation(indexMetaData);
 
             //fill it up
             ExecuteHelpers.populateIndex(relationName, metaData);
 //            System.out.println("Successfully created index ... " + relationName);
-            ExecuteHelpers.allRelations = ExecuteHelpers.getAllRowsOfTable("relationDB");
+            ExecuteHelpers.catalog.addIndex(relationName);
         } catch (Exception e) {
             e.printStackTrace();
         }  finally {
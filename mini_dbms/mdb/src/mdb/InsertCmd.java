@@ -5,10 +5,15 @@ package mdb;
 
 import com.sleepycat.je.Database;
 import com.sleepycat.je.DatabaseEntry;
-import com.sleepycat.je.LockMode;
+import com.sleepycat.je.OperationStatus;
+import minidb.je.ColumnStore;
 import minidb.je.ExecuteHelpers;
+import minidb.je.PrimaryKey;
+import minidb.je.Session;
+import minidb.models.Column;
+import minidb.models.Relation;
 
-import java.io.*;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -22,24 +27,19 @@ public class InsertCmd extends Insert {
     public void execute () {
 
         super.execute();
+        if(!ExecuteHelpers.isWritable()) return;
         String relName = getRel_name().toString().trim();
 
-//        MyDbEnv myDbEnv = new MyDbEnv();
-//        myDbEnv.setup(ExecuteHelpers.myDbEnvPath, READ_WRITE);
-//        Database relationDB = ExecuteHelpers.myDbEnv.getDB("relationDB", READ_WRITE);
-
-        StringBuilder relMetaData = new StringBuilder();
-        if(!ExecuteHelpers.isTablePresent(relName, relMetaData)) {
+        Relation relation = ExecuteHelpers.catalog.getRelation(relName);
+        if(relation == null || relation.isIndex()) {
             System.err.println(relName + " is not created. Please first create it! :|");
             return;
         }
-//        relationDB.close();
-        String[] columns = new String[0];
-//        try {
-            columns = relMetaData.toString().split(",");
-//        } catch (UnsupportedEncodingException e) {
-//            e.printStackTrace();
-//        }
+        if(relation.isView()) {
+            System.err.println(relName + " is a materialized view, it changes with the relations it reads");
+            return;
+        }
+        List<Column> columns = relation.getColumns();
 
         StringBuffer dataString = new StringBuffer();
         AstCursor c = new AstCursor();
@@ -51,53 +51,58 @@ public class InsertCmd extends Insert {
         }
         dataString = dataString.deleteCharAt(dataString.length()-1);
 
-        if(row.size() != (columns.length-1)) {       //Skip first element: tableName
-            System.err.println("Inserted values Count("+row.size()+") doesn't match the table schema! ("+(columns.length-1)+")");
+        if(row.size() != columns.size()) {
+            System.err.println("Inserted values Count("+row.size()+") doesn't match the table schema! ("+columns.size()+")");
             return;
         }
         Database insertDB = null;
         try {
-            DatabaseEntry theKey = new DatabaseEntry(((System.currentTimeMillis() / 1000L) + ":"+ dataString.toString()).getBytes("UTF-8"));
-            DatabaseEntry theData = new DatabaseEntry(dataString.toString().getBytes("UTF-8"));
+            String rowKey;
+            if(relation.isColumnar()) {
+                rowKey = ColumnStore.insert(relation, row);
+            } else if(relation.getKeyColumn() != null) {
+                //a row with a key is stored under it, a second row with the same key is refused
+                Column keyColumn = relation.getKeyColumn();
+                rowKey = PrimaryKey.encode(relation, row.get(keyColumn.getPosition()));
+                if(rowKey == null) {
+                    System.err.println(row.get(keyColumn.getPosition()) + " is not a valid " + keyColumn.getColumnType() + " key for " + relName);
+                    return;
+                }
+                DatabaseEntry theKey = new DatabaseEntry(rowKey.getBytes("UTF-8"));
+                DatabaseEntry theData = new DatabaseEntry(dataString.toString().getBytes("UTF-8"));
 
-            insertDB = ExecuteHelpers.myDbEnv.getDB(relName + "DB", READ_WRITE);
-            insertDB.put(ExecuteHelpers.txn, theKey, theData);
-            List<String> indexes = ExecuteHelpers.getAllIndexes(relName);
+                insertDB = ExecuteHelpers.myDbEnv.getDB(relName + "DB", READ_WRITE);
+                if(insertDB.putNoOverwrite(ExecuteHelpers.txn(), theKey, theData) == OperationStatus.KEYEXIST) {
+                    System.err.println("Duplicate primary key " + keyColumn.getColumnName() + " = " + row.get(keyColumn.getPosition()) + " in " + relName);
+                    return;
+                }
+            } else {
+                rowKey = (System.currentTimeMillis() / 1000L) + ":"+ dataString.toString();
+                DatabaseEntry theKey = new DatabaseEntry(rowKey.getBytes("UTF-8"));
+                DatabaseEntry theData = new DatabaseEntry(dataString.toString().getBytes("UTF-8"));
+
+                insertDB = ExecuteHelpers.myDbEnv.getDB(relName + "DB", READ_WRITE);
+                insertDB.put(ExecuteHelpers.txn(), theKey, theData);
+            }
+            Session.current().rowInserted(relName, row.toArray(new String[row.size()]));
 
-            for(int i = 1; i < columns.length; i++) {
-                String column = columns[i].split(":")[0];
-                String relPlusColumnName = relName + "." + column;
+            for(Column column: columns) {
+                if(!column.isIndexed()) continue;
                 Database indexDB = null;
-                if(indexes.contains(relPlusColumnName)) {
-                    try{
-                        indexDB = ExecuteHelpers.myDbEnv.getDB(relPlusColumnName + "DB", READ_WRITE);
-                        //Remove old
-                        DatabaseEntry tempData = new DatabaseEntry();
-                        DatabaseEntry indexKey = new DatabaseEntry(row.get(i-1).getBytes("UTF-8")); // row[i] is value
-                        ByteArrayOutputStream bOutput = new ByteArrayOutputStream();
-                        DataOutputStream out = new DataOutputStream(bOutput);
-                        indexDB.get(ExecuteHelpers.txn, indexKey, tempData, LockMode.DEFAULT);
-                        if(tempData.getSize() != 0) {
-                            ByteArrayInputStream bais = new ByteArrayInputStream(tempData.getData());
-                            DataInputStream in = new DataInputStream(bais);
-                            while (in.available() > 0)
-                                out.writeUTF(in.readUTF());
-                        }
-                        out.writeUTF(ExecuteHelpers.stringify(theKey));
-                        indexDB.put(ExecuteHelpers.txn, indexKey, new DatabaseEntry(bOutput.toByteArray()));
-                    } catch (IOException e) {
-                        e.printStackTrace();
-                    } finally {
-                        if(indexDB != null) indexDB.close();
-                    }
+                try{
+                    indexDB = ExecuteHelpers.myDbEnv.getDB(relName + "." + column.getColumnName() + "DB", READ_WRITE);
+                    ExecuteHelpers.addToIndex(indexDB, row.get(column.getPosition()), rowKey);
+                } catch (IOException e) {
+                    e.printStackTrace();
+                } finally {
+                    if(indexDB != null) indexDB.close();
                 }
             }
 
-        } catch (UnsupportedEncodingException e) {
+        } catch (IOException e) {
             e.printStackTrace();
         } finally {
             if(insertDB != null) insertDB.close();
-//            myDbEnv.close();
         }
 
     }
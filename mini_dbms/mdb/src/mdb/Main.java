@@ -2,6 +2,8 @@ package mdb;
 
 import Jakarta.util.FixDosOutputStream;
 import Jakarta.util.Util;
+import minidb.je.Metrics;
+import minidb.je.Session;
 import minidb.je.SystemHelpers;
 
 import java.io.*;
@@ -158,13 +160,10 @@ public class Main {
         int                i, j;
         char               ch;
         AstProperties props;
-        BaliParser         myParser = null;
         AstNode       root;
         PrintWriter        pw;
         String             line; // one line from the user
         String             input; // one Language command (terminated with line ".")
-        ByteArrayInputStream is; // is and dis are used together
-        DataInputStream      dis; // to "feed" the scanner.
         BufferedReader       userInput = null;
         BufferedReader       lastUserInput = null;
 
@@ -297,15 +296,10 @@ public class Main {
 
             // Step 5.3: parse input string
 
-            is  = new ByteArrayInputStream( input.getBytes() );
-            dis = new DataInputStream( is );
-            if ( myParser == null )
-                myParser = new BaliParser( dis );
-            else
-                myParser.ReInit( dis );
+            // statements seen before with other literals are not parsed again
 
             try {
-                root = myParser.getStartRoot( myParser );
+                root = Session.current().getStatements().parse( input );
             }
             catch ( Throwable e ) {
                 System.out.println( "Parsing Exception Thrown: " +
@@ -335,7 +329,10 @@ public class Main {
             System.out.println();
 //            System.out.println();
             long startTime = System.currentTimeMillis();
+            long startNanos = System.nanoTime();
             ( ( SqlLang ) root ).execute();
+            Session.current().endStatement();
+            Metrics.get().recordStatement(root, System.nanoTime() - startNanos);
             long endTime   = System.currentTimeMillis();
             System.out.println(" (time taken = "+ (endTime - startTime)/1000.0 +" sec)");
             pw.flush();
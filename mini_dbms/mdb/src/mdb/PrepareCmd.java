@@ -0,0 +1,71 @@
+// Automatically generated code.  Edit at your own risk!
+// Generated by bali2jak v2002.09.03.
+
+package mdb;
+
+import Jakarta.util.*;
+import java.io.*;
+import java.util.*;
+import minidb.je.Session;
+
+public class PrepareCmd extends Prepare {
+
+    final public static int ARG_LENGTH = 2 ;
+    final public static int TOK_LENGTH = 2 ;
+
+    public void execute () {
+        
+        //super.execute() would run the statement, it only runs on EXECUTE
+        String name = getStatement_name().toString().trim();
+        Dml_stmt statement = getDml_stmt();
+        if(!(statement instanceof Select || statement instanceof Insert
+                || statement instanceof Update || statement instanceof Delete)) {
+            System.err.println("Only select, insert, update and delete can be prepared");
+            return;
+        }
+        int parameters = Session.current().getStatements().prepare(name, statement);
+        System.out.print("Prepared " + name + " with " + parameters + " parameter(s)");
+    }
+
+    public AstToken getAS () {
+        
+        return (AstToken) tok [1] ;
+    }
+
+    public Dml_stmt getDml_stmt () {
+        
+        return (Dml_stmt) arg [1] ;
+    }
+
+    public AstToken getPREPARE () {
+        
+        return (AstToken) tok [0] ;
+    }
+
+    public Statement_name getStatement_name () {
+        
+        return (Statement_name) arg [0] ;
+    }
+
+    public boolean[] printorder () {
+        
+        return new boolean[] {true, false, true, false} ;
+    }
+
+    public PrepareCmd setParms
+    (AstToken tok0, Statement_name arg0, AstToken tok1, Dml_stmt arg1)
+    {
+        
+        arg = new AstNode [ARG_LENGTH] ;
+        tok = new AstTokenInterface [TOK_LENGTH] ;
+        
+        tok [0] = tok0 ;            /* PREPARE */
+        arg [0] = arg0 ;            /* Statement_name */
+        tok [1] = tok1 ;            /* AS */
+        arg [1] = arg1 ;            /* Dml_stmt */
+        
+        InitChildren () ;
+        return (PrepareCmd) this ;
+    }
+
+}
@@ -0,0 +1,54 @@
+// Automatically generated code.  Edit at your own risk!
+// Generated by bali2jak v2002.09.03.
+
+package mdb;
+import Jakarta.util.*;
+import java.io.*;
+import java.util.*;
+
+public class ReadUncommitted extends Isolation {
+
+    final public static int ARG_LENGTH = 1 /* Kludge! */ ;
+    final public static int TOK_LENGTH = 3 ;
+
+    public void execute () {
+        
+        super.execute();
+    }
+
+    public AstToken getREAD () {
+        
+        return (AstToken) tok [1] ;
+    }
+
+    public AstToken getUNCOMMITTED () {
+        
+        return (AstToken) tok [2] ;
+    }
+
+    public AstToken getWITH () {
+        
+        return (AstToken) tok [0] ;
+    }
+
+    public boolean[] printorder () {
+        
+        return new boolean[] {true, true, true} ;
+    }
+
+    public ReadUncommitted setParms
+    (AstToken tok0, AstToken tok1, AstToken tok2)
+    {
+        
+        arg = new AstNode [ARG_LENGTH] ;
+        tok = new AstTokenInterface [TOK_LENGTH] ;
+        
+        tok [0] = tok0 ;            /* WITH */
+        tok [1] = tok1 ;            /* READ */
+        tok [2] = tok2 ;            /* UNCOMMITTED */
+        
+        InitChildren () ;
+        return (ReadUncommitted) this ;
+    }
+
+}
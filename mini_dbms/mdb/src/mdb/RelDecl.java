@@ -12,15 +12,15 @@ import static minidb.je.ExecuteHelpers.READ_WRITE;
 
 public class RelDecl extends Decl_rel {
 
-    final public static int ARG_LENGTH = 2;
+    final public static int ARG_LENGTH = 3;
     final public static int TOK_LENGTH = 5;
 
     public void execute() {
 
         super.execute();
 
+        if(!ExecuteHelpers.isWritable()) return;
         createNewRelation();
-        ExecuteHelpers.allRelations = ExecuteHelpers.getAllRowsOfTable("relationDB");
 
     }
 
@@ -34,9 +34,27 @@ public class RelDecl extends Decl_rel {
 //            return;
 //        }
         StringBuilder dataString = new StringBuilder(relName+",");
+        String keyColumn = null;
         AstCursor c = new AstCursor();
-        for (c.FirstElement(getFld_decl_list()); c.MoreElement(); c.NextElement())
+        for (c.FirstElement(getFld_decl_list()); c.MoreElement(); c.NextElement()) {
             dataString.append(c.node.arg[0].toString().trim()+":"+c.node.arg[1].toString().trim()+",");
+            if(((FieldDecl) c.node).getKey_decl() == null) continue;
+            if(keyColumn != null) {
+                System.err.println("Only one PRIMARY KEY column is allowed in " + relName);
+                return;
+            }
+            keyColumn = c.node.arg[0].toString().trim();
+        }
+        if(keyColumn != null && getStorage() != null) {
+            System.err.println("Columnar relations have no PRIMARY KEY, their rows are kept by row id");
+            return;
+        }
+        if(getStorage() != null)
+            dataString.append(Relation.COLUMNAR + ",");
+        if(getStorage() instanceof DictionaryStorage)
+            dataString.append(Relation.DICTIONARY + ",");
+        if(keyColumn != null)
+            dataString.append(Relation.KEY + keyColumn + ",");
 
         Relation r = new Relation(dataString.toString());
         r.setRelationName(relName);
@@ -50,14 +68,15 @@ public class RelDecl extends Decl_rel {
 //            myDbEnv.setup(ExecuteHelpers.myDbEnvPath, READ_WRITE);
 //            theRelKey = new DatabaseEntry(((System.currentTimeMillis() / 1000L) + "").getBytes("UTF-8"));
             theRelKey = new DatabaseEntry((relName).getBytes("UTF-8"));
-            theRelData = new DatabaseEntry(r.data().getBytes("UTF-8"));
+            theRelData = new DatabaseEntry(r.getDetails().getBytes("UTF-8"));
             relationDB = ExecuteHelpers.myDbEnv.getDB("relationDB", READ_WRITE);
 
             if(ExecuteHelpers.isTablePresent(relName)) {
                 System.err.println(relName + " is already created. Try something else");
                 return;
             }
-            relationDB.put(ExecuteHelpers.txn, theRelKey, theRelData);
+            relationDB.put(ExecuteHelpers.txn(), theRelKey, theRelData);
+            ExecuteHelpers.catalog.addRelation(r.getDetails());
             System.out.println("Successfully inserted ... " + r.getRelationName());
         } catch (Exception e) {
             e.printStackTrace();
@@ -97,6 +116,12 @@ public class RelDecl extends Decl_rel {
         return (AstToken) tok[4];
     }
 
+    public Storage getStorage() {
+
+        AstNode node = arg[2].arg[0];
+        return (node != null) ? (Storage) node : null;
+    }
+
     public AstToken getTABLE() {
 
         return (AstToken) tok[1];
@@ -104,11 +129,11 @@ public class RelDecl extends Decl_rel {
 
     public boolean[] printorder() {
 
-        return new boolean[]{true, true, false, true, false, true, true};
+        return new boolean[]{true, true, false, true, false, true, false, true};
     }
 
     public RelDecl setParms
-            (AstToken tok0, AstToken tok1, Rel_name arg0, AstToken tok2, Fld_decl_list arg1, AstToken tok3, AstToken tok4) {
+            (AstToken tok0, AstToken tok1, Rel_name arg0, AstToken tok2, Fld_decl_list arg1, AstToken tok3, AstOptNode arg2, AstToken tok4) {
 
         arg = new AstNode[ARG_LENGTH];
         tok = new AstTokenInterface[TOK_LENGTH];
@@ -119,6 +144,7 @@ public class RelDecl extends Decl_rel {
         tok[2] = tok2;            /* LP */
         arg[1] = arg1;            /* Fld_decl_list */
         tok[3] = tok3;            /* RP */
+        arg[2] = arg2;            /* [Storage] */
         tok[4] = tok4;            /* SEMI */
 
         InitChildren();
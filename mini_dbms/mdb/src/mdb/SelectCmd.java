@@ -5,26 +5,253 @@ package mdb;
 
 import com.sleepycat.je.DatabaseException;
 import com.sleepycat.je.EnvironmentNotFoundException;
+import minidb.je.ColumnStore;
 import minidb.je.ExecuteHelpers;
+import minidb.je.JoinFilter;
+import minidb.je.LongHashTable;
+import minidb.je.Metrics;
 import minidb.je.PredicateHelpers;
+import minidb.je.PrimaryKey;
+import minidb.je.QueryCompiler;
+import minidb.je.QueryMemory;
+import minidb.je.QueryPlan;
+import minidb.je.QueryProgram;
+import minidb.je.ResultCache;
+import minidb.je.RowArena;
+import minidb.je.RowFilter;
+import minidb.je.Session;
+import minidb.models.Column;
+import minidb.models.Relation;
 
 import java.util.*;
 
 public class SelectCmd extends Select {
 
-    final public static int ARG_LENGTH = 3 ;
+    final public static int ARG_LENGTH = 4 ;
     final public static int TOK_LENGTH = 3 ;
 
-    public static int totalRowCount = 0;
+    //rows of the last run of this statement, a parsed statement belongs to one session
+    private int totalRowCount = 0;
+
+    //set while the query runs under EXPLAIN ANALYZE
+    private QueryPlan plan = null;
 
     public void execute () {
         
         super.execute();
 
-        System.out.println(getContentsOfSelectedTables());
+        try {
+            System.out.println(runCached());
+        } catch (QueryMemory.MemoryExceededException e) {
+            System.err.println(e.getMessage());
+            totalRowCount = 0;
+        } catch (CrossProductLimitException e) {
+            System.err.println(e.getMessage());
+            totalRowCount = 0;
+        }
+        Metrics.get().rowsReturned(totalRowCount);
         System.out.print(totalRowCount + " row(s) selected");
     }
 
+    /*
+        With SET CACHE ON the result comes from ResultCache when it holds it, else it is stored there.
+        Selects reading a relation the session wrote to since its last commit, or reading uncommitted
+        data, always run.
+     */
+    private String runCached() {
+        Session session = Session.current();
+        if(!session.isCaching() || getIsolation() instanceof ReadUncommitted) return run();
+        List<String> relationNames = new ArrayList<String>();
+        AstCursor c = new AstCursor();
+        for (c.FirstElement(getRel_list()); c.MoreElement(); c.NextElement()) {
+            String relationName = c.node.toString().trim();
+            Relation relation = ExecuteHelpers.catalog.getRelation(relationName);
+            if(relation == null || relation.isIndex() || session.hasWritten(relationName)) return run();
+            relationNames.add(relationName);
+        }
+        String key = toString().replaceAll("\\s+", " ").trim();
+        ResultCache.Result cached = ResultCache.get(key);
+        if(cached != null) {
+            totalRowCount = cached.getRows();
+            return cached.getContents();
+        }
+        long[] versions = ResultCache.versions(relationNames);
+        String contents = run();
+        Map<String, List<AstNode>> clauses = null;
+        if(getWherePred() != null)
+            clauses = PredicateHelpers.generateClauses(relationNames, getWherePred().arg[0]);
+        ResultCache.put(key, contents, totalRowCount, relationNames, clauses, versions);
+        return contents;
+    }
+
+    private String run() {
+        Session session = Session.current();
+        if(getIsolation() instanceof ReadCommitted)
+            session.setStatementIsolation(Session.READ_COMMITTED);
+        else if(getIsolation() instanceof ReadUncommitted)
+            session.setStatementIsolation(Session.READ_UNCOMMITTED);
+        QueryMemory.Grant memory = QueryMemory.open();
+        session.setMemory(memory);
+        try {
+            return getContentsOfSelectedTables();
+        } finally {
+            session.setMemory(null);
+            memory.close();
+            session.setStatementIsolation(null);
+        }
+    }
+
+    /*
+        Plan of the query with estimates. With analyze the query is also run (its rows are not
+        printed) and every step reports what it actually did.
+     */
+    public String explain(boolean analyze) {
+        List<String> relationNames = new ArrayList<String>();
+        AstCursor c = new AstCursor();
+        for (c.FirstElement(getRel_list()); c.MoreElement(); c.NextElement()) {
+            String relationName = c.node.toString().trim();
+            if(!ExecuteHelpers.isTablePresent(relationName))
+                return "\nRelation not present : " + relationName + "\n";
+            relationNames.add(relationName);
+        }
+        Map<String, List<AstNode>> clauses = null;
+        if(getWherePred() != null)
+            clauses = PredicateHelpers.generateClauses(relationNames, getWherePred().arg[0]);
+        QueryPlan queryPlan = planQuery(relationNames, clauses);
+        if(analyze) {
+            queryPlan.setAnalyze(true);
+            plan = queryPlan;
+            try {
+                run();
+            } catch (QueryMemory.MemoryExceededException e) {
+                System.err.println(e.getMessage());
+            } catch (CrossProductLimitException e) {
+                System.err.println(e.getMessage());
+            } finally {
+                plan = null;
+            }
+        }
+        return queryPlan.toString();
+    }
+
+    /*
+        Estimates follow the steps getContentsOfSelectedTables takes. Row counts come from JE,
+        an indexed column has as many distinct values as its index has keys, any other column
+        is taken as a key. Local clauses not answered by an index keep 1/10 of the rows
+        (1/3 for a range, 9/10 for !=).
+     */
+    private QueryPlan planQuery(List<String> relationNames, Map<String, List<AstNode>> clauses) {
+        QueryPlan queryPlan = new QueryPlan();
+        Map<String, String[]> metaColumnRelation = new HashMap<String, String[]>();
+        //relation -> estimated rows, shared by relations already joined together
+        Map<String, double[]> estRows = new HashMap<String, double[]>();
+        for(String relationName: relationNames) {
+            Relation relation = ExecuteHelpers.catalog.getRelation(relationName);
+            String[] columns = new String[relation.getColumns().size()];
+            for(Column column: relation.getColumns())
+                columns[column.getPosition()] = relationName + "." + column.getColumnName();
+            metaColumnRelation.put(relationName, columns);
+
+            List<AstNode> clausesList = clauses != null ? clauses.get(relationName) : null;
+            AstNode indexClause = ExecuteHelpers.findIndexClause(relationName, clausesList);
+            PrimaryKey.Range keyRange = PrimaryKey.range(relationName, clausesList);
+            double rows = queryPlan.count(ColumnStore.rowsDB(relationName));
+            if(keyRange != null) {
+                rows = keyRange.isPoint() ? Math.min(1, rows) : rows / 3;
+                queryPlan.estimate(keyAccess(keyRange), filterDetail(relationName, keyRange.getClauses()), rows, rows + 1);
+            } else if(indexClause != null) {
+                rows = rows / distinctValues(queryPlan, relationName, indexClause.arg[0].toString().trim());
+                queryPlan.estimate("index lookup", accessDetail(relationName, indexClause), rows, rows + 1);
+            } else
+                queryPlan.estimate("full scan", accessDetail(relationName, null), rows, rows);
+            estRows.put(relationName, new double[] {rows});
+        }
+
+        if(getWherePred() != null) {
+            for(String relation: clauses.keySet()) {
+                double[] est = estRows.get(relation);
+                double input = est[0];
+                AstNode indexClause = ExecuteHelpers.findIndexClause(relation, clauses.get(relation));
+                PrimaryKey.Range keyRange = PrimaryKey.range(relation, clauses.get(relation));
+                for(AstNode clause: clauses.get(relation)) {
+                    if(keyRange != null ? keyRange.getClauses().contains(clause) : clause == indexClause) continue;
+                    Rel operator = (Rel) clause.arg[1];
+                    if(operator instanceof Equ) est[0] /= Math.min(10, distinctValues(queryPlan, relation, clause.arg[0].toString().trim()));
+                    else if(operator instanceof Neq) est[0] *= 0.9;
+                    else est[0] /= 3;
+                }
+                queryPlan.estimate("filter", filterDetail(relation, clauses.get(relation)), est[0], input);
+            }
+
+            Map<String, List<Join>> joins = groupJoinClauses(metaColumnRelation);
+            for(String centerNode: new ArrayList<String>(joins.keySet())) {
+                for(Join j: joins.get(centerNode)) {
+                    String rhs_node = j.rhs.arg[0];
+                    double[] left = estRows.get(centerNode);
+                    double[] right = estRows.get(rhs_node);
+                    double distinct = Math.max(distinctValues(queryPlan, j.lhs.arg[0], j.lhs.arg[1]),
+                            distinctValues(queryPlan, rhs_node, j.rhs.arg[1]));
+                    if(left == right) {
+                        queryPlan.estimate("join filter", joinDetail(j), left[0] / distinct, left[0]);
+                        left[0] = left[0] / distinct;
+                        continue;
+                    }
+                    double[] joined = new double[] {left[0] * right[0] / distinct};
+                    queryPlan.estimate("hash join", joinDetail(j), joined[0], left[0] + right[0]);
+                    for(String r: estRows.keySet())
+                        if(estRows.get(r) == left || estRows.get(r) == right)
+                            estRows.put(r, joined);
+                }
+            }
+        }
+
+        List<double[]> groups = new ArrayList<double[]>();
+        for(String relation: estRows.keySet())
+            if(!groups.contains(estRows.get(relation))) groups.add(estRows.get(relation));
+        long limit = Session.current().getCrossProductLimit();
+        while(groups.size() != 1) {
+            double product = groups.remove(0)[0] * groups.remove(0)[0];
+            queryPlan.estimate("cross product", limit > 0 && product > limit ? "nested loop, over cross_limit" : "nested loop",
+                    product, product);
+            groups.add(new double[] {product});
+        }
+        queryPlan.estimate("project", getProj_list().toString(), groups.get(0)[0], groups.get(0)[0]);
+        return queryPlan;
+    }
+
+    private double distinctValues(QueryPlan queryPlan, String relationName, String col) {
+        String colName = ExecuteHelpers.sanitizeColumn(col, relationName);
+        if(ExecuteHelpers.isTablePresent(colName))
+            return Math.max(1, queryPlan.count(colName + "DB"));
+        return Math.max(1, queryPlan.count(ColumnStore.rowsDB(colName.split("\\.")[0])));
+    }
+
+    private String accessDetail(String relationName, AstNode indexClause) {
+        return indexClause == null ? relationName : relationName + ": " + indexClause.toString();
+    }
+
+    private String keyAccess(PrimaryKey.Range keyRange) {
+        return keyRange.isPoint() ? "key lookup" : "key range scan";
+    }
+
+    private String filterDetail(String relationName, List<AstNode> clausesList) {
+        StringBuilder detail = new StringBuilder(relationName + ":");
+        for(AstNode clause: clausesList) detail.append(" ").append(clause.toString());
+        return detail.toString();
+    }
+
+    private String joinDetail(Join j) {
+        return j.lhs + " = " + j.rhs;
+    }
+
+    private long[] startStep() {
+        return plan == null ? null : plan.start();
+    }
+
+    private void finishStep(String operator, String detail, long[] start, long rows) {
+        if(plan != null) plan.finish(operator, detail, start, rows);
+    }
+
     private String getContentsOfSelectedTables() {
 //        MyDbEnv myDbEnv = new MyDbEnv();
 //        Database relationDB = null;
@@ -49,6 +276,8 @@ public class SelectCmd extends Select {
             if(getWherePred() != null)
                 clauses = PredicateHelpers.generateClauses(relationNames, getWherePred().arg[0]);
             List<String> fromRelations = new ArrayList<String>();
+            List<SemiJoin> semiJoins = semiJoins(relationNames);
+            Map<String, List<JoinFilter>> joinFilters = new HashMap<String, List<JoinFilter>>();
             for (c.FirstElement(getRel_list()); c.MoreElement(); c.NextElement()) {
                 String relationName = c.node.toString().trim().replace("DOT",".");
                 if(relationName.equals("ALL"))
@@ -58,8 +287,45 @@ public class SelectCmd extends Select {
                 fromRelations.add(relationName);
                 String relationDataString = new String(relationMetaData);
                 List<AstNode> clausesList = clauses != null ? clauses.get(relationName) : null;
-                List<String> data = ExecuteHelpers.getSelectData(relationDataString, clausesList)[0];
+                long[] step = startStep();
+                List<String> data = ExecuteHelpers.getSelectData(relationDataString, clausesList,
+                        referencedColumns(relationName), joinFilters.get(relationName))[0];
+                if(relationNames.size() == 1 && plan == null && Session.current().isCompiling()) {
+                    String compiled = runCompiled(data, clausesList);
+                    if(compiled != null) return compiled;
+                }
                 PredicateHelpers.formatData(metaColumnRelation, metaColumnTypeRelation, allRowsOfRelations, data);
+                if(plan != null) {
+                    AstNode indexClause = ExecuteHelpers.findIndexClause(relationName, clausesList);
+                    PrimaryKey.Range keyRange = PrimaryKey.range(relationName, clausesList);
+                    if(keyRange != null)
+                        finishStep(keyAccess(keyRange), filterDetail(relationName, keyRange.getClauses()), step, data.size());
+                    else
+                        finishStep(indexClause != null ? "index lookup" : "full scan",
+                                accessDetail(relationName, indexClause), step, data.size());
+                }
+                //the relations scanned next only need rows joining these
+                for(SemiJoin semiJoin: semiJoins) {
+                    String[] other = semiJoin.other(relationName);
+                    if(other == null || fromRelations.contains(other[0])) continue;
+                    if(!joinFilters.containsKey(other[0])) joinFilters.put(other[0], new ArrayList<JoinFilter>());
+                    joinFilters.get(other[0]).add(joinFilter(relationName, semiJoin.column(relationName), Integer.parseInt(other[1]),
+                            allRowsOfRelations, metaColumnRelation, metaColumnTypeRelation, clauses));
+                }
+            }
+            //and back: relations scanned first only keep rows joining those scanned after them
+            for(int i = fromRelations.size() - 2; i >= 0 && !semiJoins.isEmpty(); i--) {
+                String relationName = fromRelations.get(i);
+                for(SemiJoin semiJoin: semiJoins) {
+                    String[] other = semiJoin.other(relationName);
+                    if(other == null || fromRelations.indexOf(other[0]) < i) continue;
+                    JoinFilter filter = joinFilter(other[0], Integer.parseInt(other[1]), semiJoin.column(relationName),
+                            allRowsOfRelations, metaColumnRelation, metaColumnTypeRelation, clauses);
+                    List<String[]> kept = new ArrayList<String[]>();
+                    for(String[] row: allRowsOfRelations.get(relationName))
+                        if(filter.mightContain(row[filter.getColumn()])) kept.add(row);
+                    allRowsOfRelations.put(relationName, kept);
+                }
             }
 
 
@@ -71,11 +337,13 @@ public class SelectCmd extends Select {
 
             applyJoinPredicates(allRowsOfRelations, metaColumnRelation);
 
-            applyCrossProducts(allRowsOfRelations, metaColumnRelation);
+            List<List<String[]>> inputs = new ArrayList<List<String[]>>();
+            List<String[]> inputColumns = new ArrayList<String[]>();
+            applyCrossProducts(allRowsOfRelations, metaColumnRelation, inputs, inputColumns);
 
-            contents = buildString(allRowsOfRelations.values().iterator().next(),
-                                    metaColumnRelation.values().iterator().next(),
-                                    projWithRelationName);
+            long[] step = startStep();
+            contents = buildString(inputs, inputColumns, projWithRelationName);
+            finishStep("project", getProj_list().toString(), step, totalRowCount);
         } catch(EnvironmentNotFoundException e) {
             System.err.println("Database is currently empty!!.");
             return "";
@@ -86,6 +354,146 @@ public class SelectCmd extends Select {
         return contents;
     }
 
+    /*
+        Equality join clause between the columns of two relations, as positions in their rows.
+     */
+    private static class SemiJoin {
+        final String left, right;
+        final int leftColumn, rightColumn;
+
+        SemiJoin(String left, int leftColumn, String right, int rightColumn) {
+            this.left = left; this.leftColumn = leftColumn;
+            this.right = right; this.rightColumn = rightColumn;
+        }
+
+        //{relation, column} on the other side of relationName, null if it is not part of the clause
+        String[] other(String relationName) {
+            if(relationName.equals(left)) return new String[] {right, String.valueOf(rightColumn)};
+            if(relationName.equals(right)) return new String[] {left, String.valueOf(leftColumn)};
+            return null;
+        }
+
+        int column(String relationName) {
+            return relationName.equals(left) ? leftColumn : rightColumn;
+        }
+    }
+
+    /*
+        Join clauses between two different relations of the FROM list, none for a single relation.
+     */
+    private List<SemiJoin> semiJoins(List<String> relationNames) {
+        List<SemiJoin> semiJoins = new ArrayList<SemiJoin>();
+        if(getWherePred() == null || relationNames.size() < 2) return semiJoins;
+        AstCursor c = new AstCursor();
+        for (c.FirstElement(getWherePred().arg[0]); c.MoreElement(); c.NextElement()) {
+            if(!(c.node instanceof JoinClause)) continue;
+            String[] lhs = joinColumn(c.node.arg[0], relationNames);
+            String[] rhs = joinColumn(c.node.arg[1], relationNames);
+            if(lhs == null || rhs == null || lhs[0].equals(rhs[0])) continue;
+            semiJoins.add(new SemiJoin(lhs[0], Integer.parseInt(lhs[1]), rhs[0], Integer.parseInt(rhs[1])));
+        }
+        return semiJoins;
+    }
+
+    private String[] joinColumn(AstNode fieldSpec, List<String> relationNames) {
+        String column = fieldSpec.toString().trim();
+        if(!column.contains(".")) column = ExecuteHelpers.catalog.disambiguate(column, relationNames);
+        if(column == null) return null;
+        String relationName = column.substring(0, column.indexOf('.')).trim();
+        Relation relation = ExecuteHelpers.catalog.getRelation(relationName);
+        if(relation == null || !relationNames.contains(relationName)) return null;
+        Column col = relation.getColumn(column.substring(column.indexOf('.') + 1).trim());
+        return col == null ? null : new String[] {relationName, String.valueOf(col.getPosition())};
+    }
+
+    /*
+        Filter on position probeColumn of the rows of another relation, holding the values of column
+        in the rows of relationName satisfying its local clauses.
+     */
+    private JoinFilter joinFilter(String relationName, int column, int probeColumn,
+                                  Map<String, List<String[]>> allRowsOfRelations, Map<String, String[]> metaColumnRelation,
+                                  Map<String, String[]> metaColumnTypeRelation, Map<String, List<AstNode>> clauses) {
+        List<String[]> rows = allRowsOfRelations.get(relationName);
+        if(clauses != null && clauses.get(relationName) != null) {
+            int[] indices = PredicateHelpers.setIndices(metaColumnRelation, clauses, relationName);
+            rows = new RowFilter(metaColumnTypeRelation.get(relationName), clauses.get(relationName), indices).filter(rows);
+        }
+        JoinFilter filter = new JoinFilter(probeColumn, rows.size());
+        for(String[] row: rows) filter.add(row[column]);
+        return filter;
+    }
+
+    /*
+        Filter and projection of a single relation run by a QueryProgram generated for them,
+        null when a clause names a column the program cannot find.
+     */
+    private String runCompiled(List<String> data, List<AstNode> clausesList) {
+        String[] meta = data.get(0).split(",", 2);
+        String[] columnNameAndType = meta[1].split(",");
+        String[] columnNames = new String[columnNameAndType.length];
+        String[] columnTypes = new String[columnNameAndType.length];
+        for(int i = 0; i < columnNameAndType.length; i++) {
+            columnNames[i] = meta[0] + "." + columnNameAndType[i].split(":")[0];
+            columnTypes[i] = columnNameAndType[i].split(":")[1];
+        }
+        Map<String, String[]> metaColumnRelation = new HashMap<String, String[]>();
+        metaColumnRelation.put(meta[0], columnNames);
+
+        if(clausesList == null) clausesList = new ArrayList<AstNode>();
+        Map<String, List<AstNode>> clauses = new HashMap<String, List<AstNode>>();
+        clauses.put(meta[0], clausesList);
+        int[] clauseColumns = PredicateHelpers.setIndices(metaColumnRelation, clauses, meta[0]);
+        for(int column: clauseColumns)
+            if(column == -1) return null;
+
+        List<String> projWithRelationName = new ArrayList<String>();
+        findProjectionList(metaColumnRelation, Collections.singletonList(meta[0]), projWithRelationName);
+        StringBuilder contents = new StringBuilder();
+        List<Integer> projected = new ArrayList<Integer>();
+        for(String p: projWithRelationName) {
+            int index = Arrays.asList(columnNames).indexOf(p);
+            if(index == -1) continue;
+            projected.add(index);
+            contents.append(p).append(",");
+        }
+        contents.append("\n");
+        int[] projection = new int[projected.size()];
+        for(int i = 0; i < projection.length; i++) projection[i] = projected.get(i);
+
+        QueryProgram program = QueryCompiler.compile(columnTypes, clausesList, clauseColumns, projection);
+        totalRowCount = program.run(data.subList(1, data.size()), contents);
+        return contents.toString();
+    }
+
+    /*
+        Columns of relationName named in the projection or the where clause, null for *.
+        An unqualified name counts for every relation having such a column.
+     */
+    private Collection<String> referencedColumns(String relationName) {
+        Collection<String> columns = new HashSet<String>();
+        for(String p: getProj_list().toString().split(",")) {
+            if(p.contains("*")) return null;
+            addColumn(columns, p.trim(), relationName);
+        }
+        if(getWherePred() != null) {
+            AstCursor c = new AstCursor();
+            for (c.FirstElement(getWherePred().arg[0]); c.MoreElement(); c.NextElement()) {
+                addColumn(columns, c.node.arg[0].toString().trim(), relationName);
+                if(c.node instanceof JoinClause)
+                    addColumn(columns, c.node.arg[1].toString().trim(), relationName);
+            }
+        }
+        return columns;
+    }
+
+    private void addColumn(Collection<String> columns, String column, String relationName) {
+        if(column.contains(".")) {
+            if(column.startsWith(relationName + "."))
+                columns.add(column.substring(relationName.length() + 1));
+        } else if(ExecuteHelpers.catalog.getRelation(relationName).getColumn(column) != null)
+            columns.add(column);
+    }
+
     private void findProjectionList(Map<String, String[]> metaColumnRelation, List<String> fromRelations, List<String> projWithRelationName) {
         String[] projections = getProj_list().toString().split(",");
         for(String p : projections) {
@@ -114,7 +522,24 @@ public class SelectCmd extends Select {
         }
     }
 
-    private void applyCrossProducts(Map<String, List<String[]>> allRowsOfRelations, Map<String, String[]> metaColumnRelation) {
+    /*
+        Thrown when the rows of a cross product would be more than SET CROSS_LIMIT allows.
+     */
+    private static class CrossProductLimitException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        CrossProductLimitException(long rows, long limit) {
+            super("Cross product of " + rows + " rows is over the limit of " + limit + " (see SET CROSS_LIMIT)");
+        }
+    }
+
+    /*
+        Sets inputs to the row lists left once the joins are done, in the order the cross product
+        runs them (the first one varying slowest), and inputColumns to their columns. Their rows
+        are combined by buildString while it projects them, nothing is built here.
+     */
+    private void applyCrossProducts(Map<String, List<String[]>> allRowsOfRelations, Map<String, String[]> metaColumnRelation,
+                                    List<List<String[]>> inputs, List<String[]> inputColumns) {
         List<List<String[]>> rows = new ArrayList<List<String[]>>();
         List<String[]> meta = new ArrayList<String[]>();
 
@@ -125,31 +550,33 @@ public class SelectCmd extends Select {
             }
         }
 
-        allRowsOfRelations.clear();
-        metaColumnRelation.clear();
-
-        while(rows.size() != 1) {
-            List<String[]> r1 = rows.remove(0); String[] m1 = meta.remove(0);
-            List<String[]> r2 = rows.remove(0); String[] m2 = meta.remove(0);
-
-            String[] m3 = new String[m1.length + m2.length];
-            List<String[]> r3 = new ArrayList<String[]>();
-            System.arraycopy(m1, 0, m3, 0, m1.length);
-            System.arraycopy(m2, 0, m3, m1.length, m2.length);
-
-            meta.add(m3);
-            for(String[] s1: r1) {
-                for(String[] s2: r2) {
-                    String[] s3 = new String[s1.length + s2.length];
-                    System.arraycopy(s1, 0, s3, 0, s1.length);
-                    System.arraycopy(s2, 0, s3, s1.length, s2.length);
-                    r3.add(s3);
-                }
-            }
-            rows.add(r3);
+        //pairs are taken from the front and their product goes at the back
+        List<List<Integer>> order = new ArrayList<List<Integer>>();
+        List<Long> sizes = new ArrayList<Long>();
+        for(int i = 0; i < rows.size(); i++) {
+            order.add(Collections.singletonList(i));
+            sizes.add((long) rows.get(i).size());
+        }
+        long limit = Session.current().getCrossProductLimit();
+        while(order.size() != 1) {
+            long[] step = startStep();
+            List<Integer> pair = new ArrayList<Integer>(order.remove(0));
+            pair.addAll(order.remove(0));
+            long product = multiply(sizes.remove(0), sizes.remove(0));
+            if(limit > 0 && product > limit)
+                throw new CrossProductLimitException(product, limit);
+            order.add(pair);
+            sizes.add(product);
+            finishStep("cross product", "nested loop", step, product);
+        }
+        for(int i: order.get(0)) {
+            inputs.add(rows.get(i));
+            inputColumns.add(meta.get(i));
         }
-        allRowsOfRelations.put("joined", rows.get(0));
-        metaColumnRelation.put("joined", meta.get(0));
+    }
+
+    private static long multiply(long a, long b) {
+        return b != 0 && a > Long.MAX_VALUE / b ? Long.MAX_VALUE : a * b;
     }
 
     private void applyLocalPredicates(Map<String, List<String[]>> allRowsOfRelations,
@@ -159,68 +586,95 @@ public class SelectCmd extends Select {
         if(getWherePred() == null) return;
         if(clauses.isEmpty()) return;
         for(String relation: clauses.keySet()) {
+            long[] step = startStep();
             int[] indices = PredicateHelpers.setIndices(metaColumnRelation, clauses, relation);
-            List<String[]> filteredRows = new ArrayList<String[]>();
-            for(String[] row: allRowsOfRelations.get(relation)) {
-                boolean keepRow = PredicateHelpers.applyLocalPredicate(metaColumnTypeRelation.get(relation),
-                        clauses, relation, indices, row);
-                if(keepRow) filteredRows.add(row);
-            }
+            RowFilter filter = new RowFilter(metaColumnTypeRelation.get(relation), clauses.get(relation), indices);
+            List<String[]> filteredRows = filter.filter(allRowsOfRelations.get(relation));
             allRowsOfRelations.put(relation, filteredRows);
+            finishStep("filter", filterDetail(relation, clauses.get(relation)), step, filteredRows.size());
         }
     }
 
-    private String buildString(List<String[]> allRowsOfRelations,
-                               String[] metaColumnRelation,
+    /*
+        Output of the projection over the cross product of inputs, its rows being combined one at
+        a time as they are printed.
+     */
+    private String buildString(List<List<String[]>> inputs,
+                               List<String[]> inputColumns,
                                List<String> projWithRelationName) {
+        int[] inputOf = new int[projWithRelationName.size()];
         int[] indices = new int[projWithRelationName.size()];
         StringBuffer contents = new StringBuffer();
         for(int i = 0; i < projWithRelationName.size(); i++) {
-            indices[i] = -1;
-            for(int j = 0; j < metaColumnRelation.length; j++) {
-                if(projWithRelationName.get(i).equals(metaColumnRelation[j])) {
-                    indices[i] = j;
-                    break;
+            inputOf[i] = -1;
+            for(int k = 0; k < inputColumns.size() && inputOf[i] == -1; k++) {
+                String[] metaColumnRelation = inputColumns.get(k);
+                for(int j = 0; j < metaColumnRelation.length; j++) {
+                    if(projWithRelationName.get(i).equals(metaColumnRelation[j])) {
+                        inputOf[i] = k;
+                        indices[i] = j;
+                        break;
+                    }
                 }
             }
-            if(indices[i] != -1) contents.append(projWithRelationName.get(i)+",");
+            if(inputOf[i] != -1) contents.append(projWithRelationName.get(i)+",");
         }
         contents.append("\n");
-        for(String[] row: allRowsOfRelations) {
+        QueryMemory.Grant memory = Session.current().getMemory();
+        long reservedChars = 0;
+        long rows = 0;
+        int[] position = new int[inputs.size()];
+        boolean more = true;
+        for(List<String[]> input: inputs)
+            if(input.isEmpty()) more = false;
+        while(more) {
+            if(memory != null && contents.length() - reservedChars > QueryMemory.CHUNK_ROWS * 64) {
+                memory.reserve(2L * (contents.length() - reservedChars));
+                reservedChars = contents.length();
+            }
             for(int j = 0; j < indices.length; j++) {
+                if(inputOf[j] == -1) continue;
+                String[] row = inputs.get(inputOf[j]).get(position[inputOf[j]]);
                 try {
-                    if(indices[j] != -1)
-                        contents.append(row[indices[j]].replace("&&",",")+",");
+                    contents.append(row[indices[j]].replace("&&",",")+",");
                 } catch(ArrayIndexOutOfBoundsException e) {
                     contents.append("null\t");
                 }
             }
             contents.append("\n");
+            rows++;
+            //next combination, the last input varying fastest
+            int k = inputs.size() - 1;
+            while(k >= 0 && ++position[k] == inputs.get(k).size()) position[k--] = 0;
+            more = k >= 0;
         }
-        totalRowCount = allRowsOfRelations.size();
+        totalRowCount = (int) rows;
         return contents.toString();
     }
 
-    private void applyJoinPredicates(Map<String, List<String[]>> allRowsOfRelations,
-                                     Map<String, String[]> metaColumnRelation) {
-        if(getWherePred() == null) return;
-        class AstNodeClone {
-            String[] arg = new String[2];
-            AstNodeClone(AstNode a, Map<String, String[]> metaColumnRelation) {
-                arg = disambiguate(a, metaColumnRelation);
-            }
+    private class AstNodeClone {
+        String[] arg = new String[2];
+        AstNodeClone(AstNode a, Map<String, String[]> metaColumnRelation) {
+            arg = disambiguate(a, metaColumnRelation);
+        }
 
-            public String toString() {
-                return arg[0]+"."+arg[1];
-            }
+        public String toString() {
+            return arg[0]+"."+arg[1];
         }
-        class Join {
-            AstNodeClone lhs; AstNodeClone rhs;
-            Join(AstNode lhs, AstNode rhs, Map<String, String[]> metaColumnRelation) {
-                this.lhs = new AstNodeClone(lhs, metaColumnRelation);
-                this.rhs = new AstNodeClone(rhs, metaColumnRelation);
-            }
+    }
+
+    private class Join {
+        AstNodeClone lhs; AstNodeClone rhs;
+        Join(AstNode lhs, AstNode rhs, Map<String, String[]> metaColumnRelation) {
+            this.lhs = new AstNodeClone(lhs, metaColumnRelation);
+            this.rhs = new AstNodeClone(rhs, metaColumnRelation);
         }
+    }
+
+    /*
+        Join clauses keyed by the relation they are applied from, in the order they are run.
+     */
+    private Map<String, List<Join>> groupJoinClauses(Map<String, String[]> metaColumnRelation) {
         AstCursor c = new AstCursor();
         Map<String, List<Join>> clauses = new HashMap<String, List<Join>>();
         for (c.FirstElement(getWherePred().arg[0]); c.MoreElement(); c.NextElement() ) {
@@ -244,11 +698,19 @@ public class SelectCmd extends Select {
                 }
             }
         }
+        return clauses;
+    }
+
+    private void applyJoinPredicates(Map<String, List<String[]>> allRowsOfRelations,
+                                     Map<String, String[]> metaColumnRelation) {
+        if(getWherePred() == null) return;
+        Map<String, List<Join>> clauses = groupJoinClauses(metaColumnRelation);
         if(clauses.isEmpty()) return;
         List<String> centerNodes = new ArrayList<String>(clauses.keySet());
         while(!centerNodes.isEmpty()) {
             String centerNode = centerNodes.remove(0);
             for(Join j: clauses.get(centerNode)) {
+                long[] step = startStep();
                 String[] center_columns = (metaColumnRelation.get(centerNode));
                 List centerTableColumns = Arrays.asList(center_columns);
 //                List centerTableColumnTypes = Arrays.asList(metaColumnTypeRelation.get(centerNode));
@@ -259,6 +721,7 @@ public class SelectCmd extends Select {
                 String rhs_node = j.rhs.arg[0].toString();
                 index_right = Arrays.asList(metaColumnRelation.get(rhs_node)).indexOf(j.rhs.toString());
                 List<String[]> joinedTable = new ArrayList<String[]>();
+                long reservedChunks = -1;
                 boolean internal = false;
                 if (centerTableColumns.contains(j.rhs.toString())) {
                     //relations are already joined ... just filter.
@@ -272,7 +735,29 @@ public class SelectCmd extends Select {
                 }
                 //ToDo: If !internal -> create HASHMAP of rhs
                 Map<String, ArrayList<String[]>> row_rhs_hash = new HashMap<String, ArrayList<String[]>>();
-                if(!internal) {
+                //without memory for the hash table every row of rhs is compared
+                QueryMemory.Grant memory = Session.current().getMemory();
+                long hashBytes = internal ? 0 : 80L * allRowsOfRelations.get(rhs_node).size();
+                boolean hashed = !internal && (memory == null || memory.tryReserve(hashBytes));
+                //int join columns get a table keyed by their numbers, rhs rows being referred to by position
+                List<String[]> rhsRows = allRowsOfRelations.get(rhs_node);
+                LongHashTable intKeys = hashed ? LongHashTable.build(rhsRows, index_right) : null;
+                //large string keyed build sides are hashed off heap when the grant has room for the arena
+                RowArena.HashTable offHeap = null;
+                if(hashed && intKeys == null && rhsRows.size() > RowArena.MIN_ROWS)
+                    offHeap = RowArena.HashTable.build(rhsRows, index_right, memory);
+                if(offHeap != null) {
+                    if(memory != null) memory.release(hashBytes);
+                    hashed = false;
+                    //the arena has the rows now, the heap copy can go while the join runs
+                    List<String[]> moved = new ArrayList<String[]>();
+                    for(String r: new ArrayList<String>(allRowsOfRelations.keySet()))
+                        if(allRowsOfRelations.get(r) == rhsRows) allRowsOfRelations.put(r, moved);
+                    rhsRows = moved;
+                }
+                //strings of the rows read back from the arena, not shared with any input
+                long decodedBytes = 0;
+                if(hashed && intKeys == null) {
                     for(String[] row_rhs : allRowsOfRelations.get(rhs_node)) {
                         ArrayList<String[]> rhs_data;
                         if(row_rhs_hash.containsKey(row_rhs[index_right]))
@@ -290,18 +775,45 @@ public class SelectCmd extends Select {
                             joinedTable.add(row);
                         continue;
                     }
+                    if(memory != null && joinedTable.size() / QueryMemory.CHUNK_ROWS != reservedChunks) {
+                        reservedChunks = joinedTable.size() / QueryMemory.CHUNK_ROWS;
+                        memory.reserve(QueryMemory.CHUNK_ROWS * QueryMemory.joinedRowBytes(centerTableColumnArrays.length)
+                                + decodedBytes);
+                        decodedBytes = 0;
+                    }
+                    if(offHeap != null) {
+                        byte[] key = RowArena.HashTable.key(lhs_value);
+                        for(int slot = offHeap.first(key); slot != -1; slot = offHeap.next(slot, key)) {
+                            String[] row_rhs = offHeap.row(slot);
+                            decodedBytes += QueryMemory.rowBytes(row_rhs);
+                            joinedTable.add(combine(row, row_rhs));
+                        }
+                        continue;
+                    }
+                    if(!hashed) {
+                        for(String[] row_rhs: allRowsOfRelations.get(rhs_node))
+                            if(lhs_value.equals(row_rhs[index_right]))
+                                joinedTable.add(combine(row, row_rhs));
+                        continue;
+                    }
+                    if(intKeys != null) {
+                        for(int r = intKeys.first(LongHashTable.parse(lhs_value)); r != -1; r = intKeys.next(r))
+                            joinedTable.add(combine(row, rhsRows.get(r)));
+                        continue;
+                    }
 //                    for(String[] row_rhs : allRowsOfRelations.get(rhs_node)) {
 //                       if(lhs_value.equals(row_rhs[index_right])) {
                     //ToDo: Instead of Complete Loop, check in the hash !!
                     if(row_rhs_hash.containsKey(lhs_value)) {
-                        for(String[] row_rhs: row_rhs_hash.get(lhs_value)) {
-                            String[] combine = new String[row.length + row_rhs.length];
-                            System.arraycopy(row, 0, combine, 0, row.length);
-                            System.arraycopy(row_rhs, 0, combine, row.length, row_rhs.length);
-                            joinedTable.add(combine);
-                        }
+                        for(String[] row_rhs: row_rhs_hash.get(lhs_value))
+                            joinedTable.add(combine(row, row_rhs));
                     }
                 }
+                if(hashed && memory != null) memory.release(hashBytes);
+                if(offHeap != null) {
+                    if(memory != null) memory.reserve(decodedBytes);
+                    offHeap.release();
+                }
 
                 for(String r: allRowsOfRelations.keySet())
                     if(allRowsOfRelations.get(r) == allRowsOfRelations.get(centerNode) && !r.equals(centerNode))
@@ -319,10 +831,19 @@ public class SelectCmd extends Select {
                     if(metaColumnRelation.get(r) == metaColumnRelation.get(rhs_node) && !r.equals(rhs_node))
                         metaColumnRelation.put(r, centerTableColumnArrays);
                 metaColumnRelation.put(rhs_node, centerTableColumnArrays);
+                finishStep(internal ? "join filter" : hashed || offHeap != null ? "hash join" : "nested loop join",
+                        joinDetail(j), step, joinedTable.size());
             }
         }
     }
 
+    private static String[] combine(String[] row, String[] row_rhs) {
+        String[] combine = new String[row.length + row_rhs.length];
+        System.arraycopy(row, 0, combine, 0, row.length);
+        System.arraycopy(row_rhs, 0, combine, row.length, row_rhs.length);
+        return combine;
+    }
+
     private String[] disambiguate(AstNode astNode, Map<String, String[]> metaColumnRelation) {
         if(astNode instanceof FieldName) {
             for(String reln : metaColumnRelation.keySet()) 
@@ -359,6 +880,7 @@ public class SelectCmd extends Select {
             //skip index tables
             if(relationName.contains(".")) continue;
             //get rows from each relationName
+            relationName = ExecuteHelpers.catalog.getRelation(relationName.split(",")[0]).data();
             List<String> rows = ExecuteHelpers.getSelectData(relationName)[0];
             String columns = rows.remove(0);
             displayString.append(columns.replaceFirst(",","\n") + "\n");
@@ -374,6 +896,12 @@ public class SelectCmd extends Select {
         return (AstToken) tok [1] ;
     }
 
+    public Isolation getIsolation () {
+        
+        AstNode node = arg[3].arg [0] ;
+        return (node != null) ? (Isolation) node : null ;
+    }
+
     public Proj_list getProj_list () {
         
         return (Proj_list) arg [0] ;
@@ -402,11 +930,11 @@ public class SelectCmd extends Select {
 
     public boolean[] printorder () {
         
-        return new boolean[] {true, false, true, false, false, true} ;
+        return new boolean[] {true, false, true, false, false, false, true} ;
     }
 
     public SelectCmd setParms
-    (AstToken tok0, Proj_list arg0, AstToken tok1, Rel_list arg1, AstOptNode arg2, AstToken tok2)
+    (AstToken tok0, Proj_list arg0, AstToken tok1, Rel_list arg1, AstOptNode arg2, AstOptNode arg3, AstToken tok2)
     {
         
         arg = new AstNode [ARG_LENGTH] ;
@@ -417,6 +945,7 @@ public class SelectCmd extends Select {
         tok [1] = tok1 ;            /* FROM */
         arg [1] = arg1 ;            /* Rel_list */
         arg [2] = arg2 ;            /* [WherePred] */
+        arg [3] = arg3 ;            /* [Isolation] */
         tok [2] = tok2 ;            /* SEMI */
         
         InitChildren () ;
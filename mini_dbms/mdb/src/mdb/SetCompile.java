@@ -0,0 +1,63 @@
+// Automatically generated code.  Edit at your own risk!
+// Generated by bali2jak v2002.09.03.
+
+package mdb;
+
+import Jakarta.util.*;
+import java.io.*;
+import java.util.*;
+import minidb.je.Session;
+
+public class SetCompile extends Set {
+
+    final public static int ARG_LENGTH = 1 ;
+    final public static int TOK_LENGTH = 3 ;
+
+    public void execute () {
+        
+        super.execute();
+        Session.current().setCompiling(getSwitch_value() instanceof SwitchOn);
+    }
+
+    public AstToken getCOMPILE () {
+        
+        return (AstToken) tok [1] ;
+    }
+
+    public AstToken getSEMI () {
+        
+        return (AstToken) tok [2] ;
+    }
+
+    public AstToken getSET () {
+        
+        return (AstToken) tok [0] ;
+    }
+
+    public Switch_value getSwitch_value () {
+        
+        return (Switch_value) arg [0] ;
+    }
+
+    public boolean[] printorder () {
+        
+        return new boolean[] {true, true, false, true} ;
+    }
+
+    public SetCompile setParms
+    (AstToken tok0, AstToken tok1, Switch_value arg0, AstToken tok2)
+    {
+        
+        arg = new AstNode [ARG_LENGTH] ;
+        tok = new AstTokenInterface [TOK_LENGTH] ;
+        
+        tok [0] = tok0 ;            /* SET */
+        tok [1] = tok1 ;            /* COMPILE */
+        arg [0] = arg0 ;            /* Switch_value */
+        tok [2] = tok2 ;            /* SEMI */
+        
+        InitChildren () ;
+        return (SetCompile) this ;
+    }
+
+}
@@ -0,0 +1,63 @@
+// Automatically generated code.  Edit at your own risk!
+// Generated by bali2jak v2002.09.03.
+
+package mdb;
+
+import Jakarta.util.*;
+import java.io.*;
+import java.util.*;
+import minidb.je.Session;
+
+public class SetCrossLimit extends Set {
+
+    final public static int ARG_LENGTH = 1 /* Kludge! */ ;
+    final public static int TOK_LENGTH = 4 ;
+
+    public void execute () {
+        
+        super.execute();
+        Session.current().setCrossProductLimit(Long.parseLong(getINTEGER_LITERAL().tokenName()));
+    }
+
+    public AstToken getCROSS_LIMIT () {
+        
+        return (AstToken) tok [1] ;
+    }
+
+    public AstToken getINTEGER_LITERAL () {
+        
+        return (AstToken) tok [2] ;
+    }
+
+    public AstToken getSEMI () {
+        
+        return (AstToken) tok [3] ;
+    }
+
+    public AstToken getSET () {
+        
+        return (AstToken) tok [0] ;
+    }
+
+    public boolean[] printorder () {
+        
+        return new boolean[] {true, true, true, true} ;
+    }
+
+    public SetCrossLimit setParms
+    (AstToken tok0, AstToken tok1, AstToken tok2, AstToken tok3)
+    {
+        
+        arg = new AstNode [ARG_LENGTH] ;
+        tok = new AstTokenInterface [TOK_LENGTH] ;
+        
+        tok [0] = tok0 ;            /* SET */
+        tok [1] = tok1 ;            /* CROSS_LIMIT */
+        tok [2] = tok2 ;            /* INTEGER_LITERAL */
+        tok [3] = tok3 ;            /* SEMI */
+        
+        InitChildren () ;
+        return (SetCrossLimit) this ;
+    }
+
+}
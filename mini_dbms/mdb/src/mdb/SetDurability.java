@@ -0,0 +1,69 @@
+// Automatically generated code.  Edit at your own risk!
+// Generated by bali2jak v2002.09.03.
+
+package mdb;
+
+import Jakarta.util.*;
+import java.io.*;
+import java.util.*;
+import minidb.je.Session;
+
+public class SetDurability extends Set {
+
+    final public static int ARG_LENGTH = 1 ;
+    final public static int TOK_LENGTH = 3 ;
+
+    public void execute () {
+        
+        super.execute();
+        Durability_level level = getDurability_level();
+        if(level instanceof SyncLevel)
+            Session.current().setDurability(Session.SYNC);
+        else if(level instanceof WriteNoSyncLevel)
+            Session.current().setDurability(Session.WRITE_NO_SYNC);
+        else
+            Session.current().setDurability(Session.NO_SYNC);
+    }
+
+    public AstToken getDURABILITY () {
+        
+        return (AstToken) tok [1] ;
+    }
+
+    public Durability_level getDurability_level () {
+        
+        return (Durability_level) arg [0] ;
+    }
+
+    public AstToken getSEMI () {
+        
+        return (AstToken) tok [2] ;
+    }
+
+    public AstToken getSET () {
+        
+        return (AstToken) tok [0] ;
+    }
+
+    public boolean[] printorder () {
+        
+        return new boolean[] {true, true, false, true} ;
+    }
+
+    public SetDurability setParms
+    (AstToken tok0, AstToken tok1, Durability_level arg0, AstToken tok2)
+    {
+        
+        arg = new AstNode [ARG_LENGTH] ;
+        tok = new AstTokenInterface [TOK_LENGTH] ;
+        
+        tok [0] = tok0 ;            /* SET */
+        tok [1] = tok1 ;            /* DURABILITY */
+        arg [0] = arg0 ;            /* Durability_level */
+        tok [2] = tok2 ;            /* SEMI */
+        
+        InitChildren () ;
+        return (SetDurability) this ;
+    }
+
+}
@@ -5,6 +5,7 @@ package mdb;
 
 import com.sleepycat.je.EnvironmentNotFoundException;
 import minidb.je.ExecuteHelpers;
+import minidb.models.Relation;
 
 import java.util.ArrayList;
 
@@ -59,10 +60,19 @@ public class ShowDb extends Show {
         if(splitDesc.length > 1) {
             contents.append("Field, Type\n");
             for(int i = 1; i < splitDesc.length; i++) {
+                if(splitDesc[i].equals(Relation.COLUMNAR) || splitDesc[i].equals(Relation.DICTIONARY)
+                        || splitDesc[i].equals(Relation.VIEW) || splitDesc[i].startsWith(Relation.KEY)) continue;
                 String[] splitField = splitDesc[i].split(":");
                 contents.append(splitField[0] + ","+ splitField[1]+"\n");
             }
         }
+        if(desc.contains(Relation.COLUMNAR))
+            contents.append(desc.contains(Relation.DICTIONARY) ? "Storage: columnar, dictionary encoded\n" : "Storage: columnar\n");
+        if(desc.contains(Relation.VIEW))
+            contents.append("Materialized view\n");
+        for(String option: splitDesc)
+            if(option.startsWith(Relation.KEY))
+                contents.append("Primary key: " + option.substring(Relation.KEY.length()) + "\n");
         contents.append("\n");
     }
 
@@ -30,7 +30,7 @@ public class ShowRel extends Show {
             StringBuilder dataEntry = new StringBuilder();
             boolean isRelPresent = ExecuteHelpers.isTablePresent(relationName, dataEntry);
             if(isRelPresent)
-                return renderDataEntry(dataEntry);
+                return renderDataEntry(new StringBuilder(ExecuteHelpers.catalog.getRelation(relationName).getDetails()));
             else
                 return "Relation "+getRel_name()+" not present";
         } finally {
@@ -0,0 +1,55 @@
+// Automatically generated code.  Edit at your own risk!
+// Generated by bali2jak v2002.09.03.
+
+package mdb;
+
+import Jakarta.util.*;
+import java.io.*;
+import java.util.*;
+import minidb.je.Metrics;
+
+public class ShowStats extends Show {
+
+    final public static int ARG_LENGTH = 1 /* Kludge! */ ;
+    final public static int TOK_LENGTH = 3 ;
+
+    public void execute () {
+        
+        super.execute();
+        System.out.print(Metrics.get());
+    }
+
+    public AstToken getSEMI () {
+        
+        return (AstToken) tok [2] ;
+    }
+
+    public AstToken getSHOW () {
+        
+        return (AstToken) tok [0] ;
+    }
+
+    public AstToken getSTATS () {
+        
+        return (AstToken) tok [1] ;
+    }
+
+    public boolean[] printorder () {
+        
+        return new boolean[] {true, true, true} ;
+    }
+
+    public ShowStats setParms (AstToken tok0, AstToken tok1, AstToken tok2) {
+        
+        arg = new AstNode [ARG_LENGTH] ;
+        tok = new AstTokenInterface [TOK_LENGTH] ;
+        
+        tok [0] = tok0 ;            /* SHOW */
+        tok [1] = tok1 ;            /* STATS */
+        tok [2] = tok2 ;            /* SEMI */
+        
+        InitChildren () ;
+        return (ShowStats) this ;
+    }
+
+}
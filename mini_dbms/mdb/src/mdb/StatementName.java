@@ -0,0 +1,40 @@
+// Automatically generated code.  Edit at your own risk!
+// Generated by bali2jak v2002.09.03.
+
+package mdb;
+import Jakarta.util.*;
+import java.io.*;
+import java.util.*;
+
+public class StatementName extends Statement_name {
+
+    final public static int ARG_LENGTH = 1 /* Kludge! */ ;
+    final public static int TOK_LENGTH = 1 ;
+
+    public void execute () {
+        
+        super.execute();
+    }
+
+    public AstToken getIDENTIFIER () {
+        
+        return (AstToken) tok [0] ;
+    }
+
+    public boolean[] printorder () {
+        
+        return new boolean[] {true} ;
+    }
+
+    public StatementName setParms (AstToken tok0) {
+        
+        arg = new AstNode [ARG_LENGTH] ;
+        tok = new AstTokenInterface [TOK_LENGTH] ;
+        
+        tok [0] = tok0 ;            /* IDENTIFIER */
+        
+        InitChildren () ;
+        return (StatementName) this ;
+    }
+
+}
@@ -0,0 +1,60 @@
+// Automatically generated code.  Edit at your own risk!
+// Generated by bali2jak v2002.09.03.
+
+package mdb;
+import Jakarta.util.*;
+import java.io.*;
+import java.util.*;
+
+public class SumItem extends View_item {
+
+    final public static int ARG_LENGTH = 1 ;
+    final public static int TOK_LENGTH = 3 ;
+
+    public void execute () {
+        
+        super.execute();
+    }
+
+    public Field_spec getField_spec () {
+        
+        return (Field_spec) arg [0] ;
+    }
+
+    public AstToken getLP () {
+        
+        return (AstToken) tok [1] ;
+    }
+
+    public AstToken getRP () {
+        
+        return (AstToken) tok [2] ;
+    }
+
+    public AstToken getSUM () {
+        
+        return (AstToken) tok [0] ;
+    }
+
+    public boolean[] printorder () {
+        
+        return new boolean[] {true, true, false, true} ;
+    }
+
+    public SumItem setParms
+    (AstToken tok0, AstToken tok1, Field_spec arg0, AstToken tok2)
+    {
+        
+        arg = new AstNode [ARG_LENGTH] ;
+        tok = new AstTokenInterface [TOK_LENGTH] ;
+        
+        tok [0] = tok0 ;            /* SUM */
+        tok [1] = tok1 ;            /* LP */
+        arg [0] = arg0 ;            /* Field_spec */
+        tok [2] = tok2 ;            /* RP */
+        
+        InitChildren () ;
+        return (SumItem) this ;
+    }
+
+}
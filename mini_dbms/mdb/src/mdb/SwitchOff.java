@@ -0,0 +1,40 @@
+// Automatically generated code.  Edit at your own risk!
+// Generated by bali2jak v2002.09.03.
+
+package mdb;
+import Jakarta.util.*;
+import java.io.*;
+import java.util.*;
+
+public class SwitchOff extends Switch_value {
+
+    final public static int ARG_LENGTH = 1 /* Kludge! */ ;
+    final public static int TOK_LENGTH = 1 ;
+
+    public void execute () {
+        
+        super.execute();
+    }
+
+    public AstToken getOFF () {
+        
+        return (AstToken) tok [0] ;
+    }
+
+    public boolean[] printorder () {
+        
+        return new boolean[] {true} ;
+    }
+
+    public SwitchOff setParms (AstToken tok0) {
+        
+        arg = new AstNode [ARG_LENGTH] ;
+        tok = new AstTokenInterface [TOK_LENGTH] ;
+        
+        tok [0] = tok0 ;            /* OFF */
+        
+        InitChildren () ;
+        return (SwitchOff) this ;
+    }
+
+}
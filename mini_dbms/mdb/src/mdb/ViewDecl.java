@@ -0,0 +1,106 @@
+// Automatically generated code.  Edit at your own risk!
+// Generated by bali2jak v2002.09.03.
+
+package mdb;
+
+import minidb.je.ExecuteHelpers;
+import minidb.je.MaterializedView;
+
+public class ViewDecl extends Decl_view {
+
+    final public static int ARG_LENGTH = 4 ;
+    final public static int TOK_LENGTH = 7 ;
+
+    public void execute () {
+        
+        super.execute();
+
+        if(!ExecuteHelpers.isWritable()) return;
+        MaterializedView.create(this);
+    }
+
+    public AstToken getAS () {
+        
+        return (AstToken) tok [3] ;
+    }
+
+    public AstToken getCREATE () {
+        
+        return (AstToken) tok [0] ;
+    }
+
+    public AstToken getFROM () {
+        
+        return (AstToken) tok [5] ;
+    }
+
+    public AstToken getMATERIALIZED () {
+        
+        return (AstToken) tok [1] ;
+    }
+
+    public Rel_list getRel_list () {
+        
+        return (Rel_list) arg [2] ;
+    }
+
+    public Rel_name getRel_name () {
+        
+        return (Rel_name) arg [0] ;
+    }
+
+    public AstToken getSELECT () {
+        
+        return (AstToken) tok [4] ;
+    }
+
+    public AstToken getSEMI () {
+        
+        return (AstToken) tok [6] ;
+    }
+
+    public AstToken getVIEW () {
+        
+        return (AstToken) tok [2] ;
+    }
+
+    public View_list getView_list () {
+        
+        return (View_list) arg [1] ;
+    }
+
+    public WherePred getWherePred () {
+        
+        AstNode node = arg[3].arg [0] ;
+        return (node != null) ? (WherePred) node : null ;
+    }
+
+    public boolean[] printorder () {
+        
+        return new boolean[] {true, true, true, false, true, true, false, true, false, false, true} ;
+    }
+
+    public ViewDecl setParms
+    (AstToken tok0, AstToken tok1, AstToken tok2, Rel_name arg0, AstToken tok3, AstToken tok4, View_list arg1, AstToken tok5, Rel_list arg2, AstOptNode arg3, AstToken tok6)
+    {
+        
+        arg = new AstNode [ARG_LENGTH] ;
+        tok = new AstTokenInterface [TOK_LENGTH] ;
+        
+        tok [0] = tok0 ;            /* CREATE */
+        tok [1] = tok1 ;            /* MATERIALIZED */
+        tok [2] = tok2 ;            /* VIEW */
+        arg [0] = arg0 ;            /* Rel_name */
+        tok [3] = tok3 ;            /* AS */
+        tok [4] = tok4 ;            /* SELECT */
+        arg [1] = arg1 ;            /* View_list */
+        tok [5] = tok5 ;            /* FROM */
+        arg [2] = arg2 ;            /* Rel_list */
+        arg [3] = arg3 ;            /* [WherePred] */
+        tok [6] = tok6 ;            /* SEMI */
+        
+        InitChildren () ;
+        return (ViewDecl) this ;
+    }
+
+}
@@ -0,0 +1,30 @@
+// Automatically generated code.  Edit at your own risk!
+// Generated by bali2jak v2002.09.03.
+
+package mdb;
+
+public class View_listElem extends AstListNode {
+
+    public AstToken getCOMMA () {
+        return (AstToken) tok [0] ;
+    }
+
+    public View_item getView_item () {
+        
+        return (View_item) arg [0] ;
+    }
+
+    public View_listElem setParms (AstToken tok0, View_item arg0) {
+        
+        tok = new AstToken [1] ;
+        tok [0] = tok0 ;            /* COMMA */
+        return setParms (arg0) ;    /* View_item */
+    }
+
+    public View_listElem setParms (View_item arg0) {
+        
+        super.setParms (arg0) ;     /* View_item */
+        return (View_listElem) this ;
+    }
+
+}
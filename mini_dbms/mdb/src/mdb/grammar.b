@@ -26,17 +26,30 @@ code {
 
 "abort"         	ABORT
 "*"             	ALL
+"analyze"       	ANALYZE
 "and"           	AND
+"as"            	AS
+"autocommit"    	AUTOCOMMIT
 "!"             	BANG
+"cache"         	CACHE
 "close"         	CLOSE
+"columnar"      	COLUMNAR
 ","             	COMMA
 "commit"        	COMMIT
+"committed"     	COMMITTED
+"compile"       	COMPILE
+"count"         	COUNT
 "create"        	CREATE
+"cross_limit"   	CROSS_LIMIT
 "delete"        	DELETE
+"dictionary"    	DICTIONARY
 "/"             	DIV
 "."             	DOT
+"durability"    	DURABILITY
 "="             	EQ
+"execute"       	EXECUTE
 "exit"          	EXIT
+"explain"       	EXPLAIN
 "from"          	FROM
 ">="            	GE
 ">"             	GT
@@ -44,22 +57,40 @@ code {
 "insert"        	INSERT
 "int"           	INTEGER
 "into"          	INTO
+"key"           	KEY
 "<="            	LE
 "load"          	LOAD
 "("             	LP
 "<"             	LT
+"materialized"  	MATERIALIZED
+"no_sync"       	NO_SYNC
+"off"           	OFF
+"on"            	ON
 "open"          	OPEN
+"?"             	PARAM
+"prepare"       	PREPARE
+"primary"       	PRIMARY
+"read"          	READ
+"readonly"      	READONLY
 ")"             	RP
 "script"        	SCRIPT
 "select"        	SELECT
 ";"             	SEMI
 "set"           	SET
 "show"          	SHOW
+"stats"         	STATS
+"storage"       	STORAGE
 "str"           	STRING
+"sum"           	SUM
+"sync"          	SYNC
 "table"         	TABLE
+"uncommitted"   	UNCOMMITTED
 "update"        	UPDATE
 "values"        	VALUES
+"view"          	VIEW
 "where"         	WHERE
+"with"          	WITH
+"write_no_sync" 	WRITE_NO_SYNC
 
 
 //-----------------------------------//
@@ -125,8 +156,10 @@ Commit
 	;
 
 Ddl_stmt
-	:  Decl_rel
+	:  LOOKAHEAD( "create" "table" )
+                 Decl_rel
 	|  Decl_ind
+	|  Decl_view
 	|  Show
 	|  SEMI                   ::EmptyStmt
 	;
@@ -136,10 +169,16 @@ Decl_ind
 	;
 
 Decl_rel
-	:  CREATE TABLE Rel_name LP Fld_decl_list RP SEMI
+	:  CREATE TABLE Rel_name LP Fld_decl_list RP [Storage] SEMI
                                                 ::RelDecl
 	;
 
+Decl_view
+	:  CREATE MATERIALIZED VIEW Rel_name AS
+                 SELECT View_list FROM Rel_list [WherePred] SEMI
+                                                ::ViewDecl
+	;
+
 Delete
 	:  DELETE Rel_name WHERE One_rel_pred SEMI   ::DeleteCmd
 	;
@@ -149,20 +188,41 @@ Dml_stmt
 	|  Close
 	|  Commit
 	|  Delete
+	|  Execute
 	|  ExitMDB
+	|  Explain
 	|  Insert
 	|  Open
+	|  Prepare
 	|  Script
 	|  Select
+	|  Set
 	|  Update
 	;
 
+Durability_level
+	:  SYNC                   ::SyncLevel
+	|  WRITE_NO_SYNC          ::WriteNoSyncLevel
+	|  NO_SYNC                ::NoSyncLevel
+	;
+
+Execute
+	:  EXECUTE Statement_name LP [Literal_list] RP SEMI
+                                        ::ExecuteCmd
+	;
+
 ExitMDB
 	:  EXIT SEMI              ::ExitCmd
 	;
 
+Explain
+	:  LOOKAHEAD( "explain" "analyze" )
+                 EXPLAIN ANALYZE Select         ::ExplainAnalyze
+	|  EXPLAIN Select                 ::ExplainPlan
+	;
+
 Field_decl
-	:  Field_name Field_type ::FieldDecl
+	:  Field_name Field_type [Key_decl] ::FieldDecl
 	;
 
 Field_name
@@ -189,9 +249,20 @@ Insert
                  LP Literal_list RP SEMI                 ::InsertCmd
 	;
 
+Isolation
+	:  LOOKAHEAD( "with" "read" "committed" )
+                 WITH READ COMMITTED            ::ReadCommitted
+	|  WITH READ UNCOMMITTED          ::ReadUncommitted
+	;
+
+Key_decl
+	:  PRIMARY KEY                    ::PrimaryKeyDecl
+	;
+
 Literal
 	:  STRING_LITERAL         ::StrLit
 	|  INTEGER_LITERAL	       ::IntLit
+	|  PARAM                  ::ParamLit
 	;
 
 Literal_list
@@ -214,6 +285,10 @@ Pred
 	:  Clause  ( AND Clause)*
 	;
 
+Prepare
+	:  PREPARE Statement_name AS Dml_stmt   ::PrepareCmd
+	;
+
 Proj_list
 	:  Spec_list              ::Plist
 	|  ALL                    ::All
@@ -245,13 +320,29 @@ Script
 	;
 
 Select
-	:  SELECT Proj_list FROM Rel_list [WherePred] SEMI
+	:  SELECT Proj_list FROM Rel_list [WherePred] [Isolation] SEMI
                                         ::SelectCmd
 	;
 
+Set
+	:  LOOKAHEAD( "set" "autocommit" )
+                 SET AUTOCOMMIT Switch_value SEMI   ::SetAutocommit
+	|  LOOKAHEAD( "set" "cache" )
+                 SET CACHE Switch_value SEMI        ::SetCache
+	|  LOOKAHEAD( "set" "compile" )
+                 SET COMPILE Switch_value SEMI      ::SetCompile
+	|  LOOKAHEAD( "set" "cross_limit" )
+                 SET CROSS_LIMIT INTEGER_LITERAL SEMI  ::SetCrossLimit
+	|  LOOKAHEAD( "set" "durability" )
+                 SET DURABILITY Durability_level SEMI  ::SetDurability
+	|  SET READONLY Switch_value SEMI   ::SetReadOnly
+	;
+
 Show
 	:  LOOKAHEAD( "show" ";" )
                  SHOW SEMI                      ::ShowDb
+	|  LOOKAHEAD( "show" "stats" )
+                 SHOW STATS SEMI                ::ShowStats
 	|  SHOW Rel_name SEMI             ::ShowRel
 	;
 
@@ -259,11 +350,36 @@ Spec_list
 	:  Field_spec ( COMMA Field_spec )*
 	;
 
+Statement_name
+	:  IDENTIFIER             ::StatementName
+	;
+
+Storage
+	:  LOOKAHEAD( "storage" "columnar" "dictionary" )
+                 STORAGE COLUMNAR DICTIONARY    ::DictionaryStorage
+	|  STORAGE COLUMNAR              ::ColumnarStorage
+	;
+
+Switch_value
+	:  ON                     ::SwitchOn
+	|  OFF                    ::SwitchOff
+	;
+
 Update
 	:  UPDATE Rel_name SET Assign_list WHERE One_rel_pred SEMI
                                         ::UpdateCmd
 	;
 
+View_item
+	:  SUM LP Field_spec RP           ::SumItem
+	|  COUNT LP ALL RP                ::CountItem
+	|  Field_spec                     ::FieldItem
+	;
+
+View_list
+	:  View_item ( COMMA View_item )*
+	;
+
 WherePred
 	: WHERE Pred     ::WherePredStmt
 	;
@@ -0,0 +1,217 @@
+package minidb.je;
+
+import minidb.models.Relation;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+    In-memory copy of relationDB: relation (or index) name -> Relation.
+    It is read on first use and then kept up to date by RelDecl, IndxDecl and ViewDecl, so
+    lookups never scan relationDB. Every change drops the statements cached by StatementCache.
+    Once relationDB has been scanned its rows are written to a snapshot file next to the
+    environment, which later sessions map and read instead of opening relationDB. The snapshot is
+    deleted by the first change to the catalog, before that change can be committed, so it never
+    lists anything but committed relations.
+ */
+public class Catalog {
+
+    private static final String SNAPSHOT = "catalog.snapshot";
+    private static final int SNAPSHOT_MAGIC = 0x4d444243;
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    private Map<String, Relation> relations = new HashMap<String, Relation>();
+    //relation -> materialized views reading it
+    private Map<String, List<MaterializedView>> views = new HashMap<String, List<MaterializedView>>();
+    private volatile boolean loaded = false;
+    //set while the thread loading the catalog reads it back, views being built from it
+    private boolean loading = false;
+
+    /*
+        Catalog of the environment set up in ExecuteHelpers, read when it is first used.
+     */
+    public static Catalog load() {
+        StatementCache.invalidate();
+        return new Catalog();
+    }
+
+    private void loaded() {
+        if(loaded) return;
+        synchronized (this) {
+            if(loaded || loading) return;
+            loading = true;
+            try {
+                read();
+            } finally {
+                loading = false;
+                loaded = true;
+            }
+        }
+    }
+
+    private void read() {
+        File snapshot = snapshotFile();
+        List<String> rows = readSnapshot(snapshot);
+        boolean scanned = rows == null;
+        //rows the session wrote and has not committed must not end up in the snapshot
+        boolean committed = !Session.current().inTransaction();
+        if(scanned)
+            rows = ExecuteHelpers.getAllRowsOfTable("relationDB")[0];
+        List<String> indexes = new ArrayList<String>();
+        List<String> viewNames = new ArrayList<String>();
+        for(String details: rows) {
+            Relation relation = new Relation(details);
+            relations.put(relation.getRelationName(), relation);
+            if(relation.isIndex()) indexes.add(relation.getRelationName());
+            if(relation.isView()) viewNames.add(relation.getRelationName());
+        }
+        //link the indexes once all relations are known
+        for(String index: indexes) {
+            Relation relation = relations.get(index.split("\\.")[0]);
+            if(relation != null) relation.addIndex(index);
+        }
+        if(!viewNames.isEmpty())
+            for(MaterializedView view: MaterializedView.load(this, viewNames))
+                link(view);
+        if(scanned && committed)
+            writeSnapshot(snapshot, rows);
+    }
+
+    private static File snapshotFile() {
+        return new File(ExecuteHelpers.myDbEnv.getHome(), SNAPSHOT);
+    }
+
+    /*
+        relationDB rows listed in file, null when there is no usable snapshot.
+     */
+    private static List<String> readSnapshot(File file) {
+        if(!file.isFile()) return null;
+        RandomAccessFile in = null;
+        try {
+            in = new RandomAccessFile(file, "r");
+            MappedByteBuffer buffer = in.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, in.length());
+            if(buffer.getInt() != SNAPSHOT_MAGIC) return null;
+            int count = buffer.getInt();
+            List<String> rows = new ArrayList<String>(count);
+            for(int i = 0; i < count; i++) {
+                byte[] row = new byte[buffer.getInt()];
+                buffer.get(row);
+                rows.add(new String(row, UTF8));
+            }
+            return rows;
+        } catch (Exception e) {
+            System.err.println("Ignoring catalog snapshot " + file + ": " + e.toString());
+            return null;
+        } finally {
+            try {
+                if(in != null) in.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    private static void writeSnapshot(File file, List<String> rows) {
+        File written = new File(file.getPath() + ".tmp");
+        try {
+            DataOutputStream out = new DataOutputStream(new FileOutputStream(written));
+            try {
+                out.writeInt(SNAPSHOT_MAGIC);
+                out.writeInt(rows.size());
+                for(String row: rows) {
+                    byte[] bytes = row.getBytes(UTF8);
+                    out.writeInt(bytes.length);
+                    out.write(bytes);
+                }
+            } finally {
+                out.close();
+            }
+            if(!written.renameTo(file)) written.delete();
+        } catch (IOException e) {
+            System.err.println("Could not write catalog snapshot " + file + ": " + e.toString());
+        }
+    }
+
+    //called before every change
+    private void changing() {
+        loaded();
+        StatementCache.invalidate();
+        File snapshot = snapshotFile();
+        if(snapshot.exists() && !snapshot.delete())
+            System.err.println("Could not delete catalog snapshot " + snapshot);
+    }
+
+    public Relation addRelation(String details) {
+        changing();
+        Relation relation = new Relation(details);
+        relations.put(relation.getRelationName(), relation);
+        return relation;
+    }
+
+    /*
+        indexName : "relationName.column", its own entry must already be added with addRelation.
+     */
+    public void addIndex(String indexName) {
+        changing();
+        Relation relation = relations.get(indexName.split("\\.")[0]);
+        if(relation != null) relation.addIndex(indexName);
+    }
+
+    public void addView(MaterializedView view) {
+        changing();
+        link(view);
+    }
+
+    private void link(MaterializedView view) {
+        for(String relationName: view.getRelations()) {
+            if(!views.containsKey(relationName)) views.put(relationName, new ArrayList<MaterializedView>());
+            views.get(relationName).add(view);
+        }
+    }
+
+    public List<MaterializedView> getViews(String relationName) {
+        loaded();
+        List<MaterializedView> relationViews = views.get(relationName);
+        return relationViews == null ? Collections.<MaterializedView>emptyList() : relationViews;
+    }
+
+    public Relation getRelation(String relationName) {
+        loaded();
+        return relations.get(relationName);
+    }
+
+    public boolean contains(String relationName) {
+        loaded();
+        return relations.containsKey(relationName);
+    }
+
+    public List<String> getIndexes(String relationName) {
+        loaded();
+        Relation relation = relations.get(relationName);
+        return relation == null ? Collections.<String>emptyList() : relation.getIndexes();
+    }
+
+    /*
+        Returns "relationName.col" for the first relation of the list having column col, null if none has it.
+     */
+    public String disambiguate(String col, List<String> relationNames) {
+        loaded();
+        for(String relationName: relationNames) {
+            Relation relation = relations.get(relationName);
+            if(relation != null && relation.getColumn(col) != null)
+                return relationName + "." + col;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,514 @@
+package minidb.je;
+
+import com.sleepycat.bind.tuple.LongBinding;
+import com.sleepycat.je.*;
+import mdb.*;
+import minidb.models.Column;
+import minidb.models.Relation;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.*;
+
+import static minidb.je.ExecuteHelpers.READ_ONLY;
+import static minidb.je.ExecuteHelpers.READ_WRITE;
+
+/*
+    Storage of the relations created with STORAGE COLUMNAR.
+    Every column has its own database "rel#colDB" keyed by an 8 byte row id, holding the value
+    exactly as it appears in a row. Row ids come from a sequence kept in "rel#DB", which also holds
+    the zone map: min and max of every column over each chunk of CHUNK_ROWS row ids.
+    A scan walks the column of the first predicate, skips the chunks whose zones cannot match and
+    reads the other columns of a row only when it needs them, so columns no query refers to are
+    never read. Rows are given back in the row store layout with those columns left empty.
+    Indexes and the row key lists refer to a columnar row as "#" + row id.
+ */
+public class ColumnStore {
+
+    public static final int CHUNK_ROWS = 1024;
+
+    private static final String ROW_KEY_PREFIX = "#";
+    private static final String SEQUENCE_KEY = "rowid";
+
+    private static final int NOT_ENCODED = -2;
+
+    public static boolean isColumnar(String relationName) {
+        Relation relation = ExecuteHelpers.catalog.getRelation(relationName);
+        return relation != null && relation.isColumnar();
+    }
+
+    public static String columnDB(String relationName, String column) {
+        return relationName + "#" + column + "DB";
+    }
+
+    private static String metaDB(String relationName) {
+        return relationName + "#DB";
+    }
+
+    /*
+        Database with one record per row of the relation, whatever its storage.
+     */
+    public static String rowsDB(String relationName) {
+        Relation relation = ExecuteHelpers.catalog.getRelation(relationName);
+        if(relation == null || !relation.isColumnar()) return relationName + "DB";
+        return columnDB(relationName, relation.getColumns().get(0).getColumnName());
+    }
+
+    public static String rowKey(long rowId) {
+        return ROW_KEY_PREFIX + rowId;
+    }
+
+    public static long rowId(String rowKey) {
+        return Long.parseLong(rowKey.substring(ROW_KEY_PREFIX.length()));
+    }
+
+    /*
+        Stores row (values in column order) under a new row id and returns its row key.
+     */
+    public static String insert(Relation relation, List<String> row) throws IOException {
+        String relationName = relation.getRelationName();
+        Database meta = ExecuteHelpers.myDbEnv.getDB(metaDB(relationName), READ_WRITE);
+        try {
+            long rowId = nextRowId(meta);
+            DatabaseEntry key = new DatabaseEntry();
+            LongBinding.longToEntry(rowId, key);
+            for(Column column: relation.getColumns()) {
+                Database columnDB = ExecuteHelpers.myDbEnv.getDB(columnDB(relationName, column.getColumnName()), READ_WRITE);
+                try {
+                    columnDB.put(ExecuteHelpers.txn(), key, new DatabaseEntry(toBytes(relation, column, row.get(column.getPosition()))));
+                } finally {
+                    columnDB.close();
+                }
+                widenZone(meta, column, rowId, row.get(column.getPosition()));
+            }
+            return rowKey(rowId);
+        } finally {
+            meta.close();
+        }
+    }
+
+    private static byte[] toBytes(Relation relation, Column column, String value) {
+        if(relation.isDictionaryEncoded() && "str".equals(column.getColumnType()))
+            return Dictionary.toBytes(Dictionary.encode(value));
+        return ExecuteHelpers.bytify(value);
+    }
+
+    /*
+        Row ids are handed out outside of the session transaction so concurrent inserts don't wait
+        on each other. An aborted insert leaves a hole, which nothing relies on.
+     */
+    private static long nextRowId(Database meta) {
+        SequenceConfig config = new SequenceConfig();
+        config.setAllowCreate(true);
+        config.setAutoCommitNoSync(true);
+        Sequence sequence = meta.openSequence(null, new DatabaseEntry(ExecuteHelpers.bytify(SEQUENCE_KEY)), config);
+        try {
+            return sequence.get(null, 1);
+        } finally {
+            sequence.close();
+        }
+    }
+
+    /*
+        Zones only grow : an update widens the zone of its chunk, a delete leaves it as it is.
+        The zone is first checked without keeping a lock, inserts of values already inside it
+        don't serialize on the zone record.
+     */
+    static void widenZone(Database meta, Column column, long rowId, String value) throws IOException {
+        DatabaseEntry key = zoneKey(column, rowId / CHUNK_ROWS);
+        DatabaseEntry data = new DatabaseEntry();
+        if(meta.get(ExecuteHelpers.txn(), key, data, LockMode.READ_COMMITTED) == OperationStatus.SUCCESS &&
+                inZone(column.getColumnType(), readZone(data), value))
+            return;
+        String min = value, max = value;
+        if(meta.get(ExecuteHelpers.txn(), key, data, LockMode.RMW) == OperationStatus.SUCCESS) {
+            String[] zone = readZone(data);
+            if(inZone(column.getColumnType(), zone, value))
+                return;
+            if(compare(column.getColumnType(), zone[0], min) < 0) min = zone[0];
+            if(compare(column.getColumnType(), zone[1], max) > 0) max = zone[1];
+        }
+        ByteArrayOutputStream bOutput = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bOutput);
+        out.writeUTF(min);
+        out.writeUTF(max);
+        meta.put(ExecuteHelpers.txn(), key, new DatabaseEntry(bOutput.toByteArray()));
+    }
+
+    private static DatabaseEntry zoneKey(Column column, long chunk) {
+        return new DatabaseEntry(ExecuteHelpers.bytify("zone:" + column.getColumnName() + ":" + chunk));
+    }
+
+    private static String[] readZone(DatabaseEntry data) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(data.getData(), data.getOffset(), data.getSize()));
+        return new String[] {in.readUTF(), in.readUTF()};
+    }
+
+    private static boolean inZone(String type, String[] zone, String value) {
+        return compare(type, zone[0], value) <= 0 && compare(type, zone[1], value) >= 0;
+    }
+
+    //same ordering as RowFilter
+    private static int compare(String type, String a, String b) {
+        if("int".equals(type)) {
+            int x = Integer.parseInt(a), y = Integer.parseInt(b);
+            return x < y ? -1 : (x == y ? 0 : 1);
+        }
+        return a.compareTo(b);
+    }
+
+    /*
+        False when no row of the chunk can satisfy all the clauses, going by the zones.
+     */
+    private static boolean chunkMayMatch(Database meta, Relation relation, List<AstNode> clauses, int[] indices, long chunk)
+            throws IOException {
+        Session session = Session.current();
+        DatabaseEntry data = new DatabaseEntry();
+        for(int i = 0; i < indices.length; i++) {
+            Column column = relation.getColumns().get(indices[i]);
+            if(meta.get(session.getReadTxn(), zoneKey(column, chunk), data, session.getReadLockMode()) != OperationStatus.SUCCESS)
+                continue;
+            String[] zone = readZone(data);
+            String type = column.getColumnType();
+            Rel operator = (Rel) clauses.get(i).arg[1];
+            String rhs = clauses.get(i).arg[2].toString().trim().replaceAll(",", "&&");
+            int min = compare(type, zone[0], rhs), max = compare(type, zone[1], rhs);
+            if((operator instanceof Equ && (min > 0 || max < 0)) ||
+                    (operator instanceof Neq && min == 0 && max == 0) ||
+                    (operator instanceof Gtr && max <= 0) ||
+                    (operator instanceof Geq && max < 0) ||
+                    (operator instanceof Lss && min >= 0) ||
+                    (operator instanceof Leq && min > 0))
+                return false;
+        }
+        return true;
+    }
+
+    /*
+        Rows of the relation in the layout of ExecuteHelpers.getAllRowsOfTable: [data of every row, row keys].
+        Dictionary codes are decoded only for the rows kept.
+        columns : names of the columns to read, null for all of them. The others are empty in the rows.
+        clauses : local predicates of the relation, may be null. Rows failing them are left out here.
+     */
+    public static ArrayList<String>[] getRows(Relation relation, Collection<String> columns, List<AstNode> clauses) {
+        return getRows(relation, columns, clauses, null);
+    }
+
+    /*
+        joinFilters : filters a row has to pass, tested once its predicate columns are read. null for none.
+     */
+    public static ArrayList<String>[] getRows(Relation relation, Collection<String> columns, List<AstNode> clauses,
+                                              List<JoinFilter> joinFilters) {
+        ArrayList<String> tuples = new ArrayList<String>();
+        ArrayList<String> tuplesKey = new ArrayList<String>();
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        ArrayList<String>[] returnVal = new ArrayList[2];
+        returnVal[0] = tuples; returnVal[1] = tuplesKey;
+
+        String relationName = relation.getRelationName();
+        List<Column> relationColumns = relation.getColumns();
+        String[] columnNames = new String[relationColumns.size()];
+        String[] columnTypes = new String[relationColumns.size()];
+        boolean[] read = new boolean[relationColumns.size()];
+        for(Column column: relationColumns) {
+            columnNames[column.getPosition()] = relationName + "." + column.getColumnName();
+            columnTypes[column.getPosition()] = column.getColumnType();
+            read[column.getPosition()] = columns == null || columns.contains(column.getColumnName());
+        }
+
+        Map<String, List<AstNode>> clauseMap = new HashMap<String, List<AstNode>>();
+        int[] indices = new int[0];
+        if(clauses != null && !clauses.isEmpty()) {
+            Map<String, String[]> metaColumnRelation = new HashMap<String, String[]>();
+            metaColumnRelation.put(relationName, columnNames);
+            clauseMap.put(relationName, clauses);
+            indices = PredicateHelpers.setIndices(metaColumnRelation, clauseMap, relationName);
+            for(int index: indices)
+                if(index == -1) indices = new int[0];
+            for(int index: indices) read[index] = true;
+        }
+        if(joinFilters != null)
+            for(JoinFilter joinFilter: joinFilters) read[joinFilter.getColumn()] = true;
+        //= and != on a dictionary encoded column compare codes, the rest goes to a RowFilter
+        int[] rhsCodes = new int[indices.length];
+        List<AstNode> otherClauses = new ArrayList<AstNode>();
+        List<Integer> otherIndices = new ArrayList<Integer>();
+        for(int i = 0; i < indices.length; i++) {
+            Rel operator = (Rel) clauses.get(i).arg[1];
+            rhsCodes[i] = NOT_ENCODED;
+            if(relation.isDictionaryEncoded() && "str".equals(columnTypes[indices[i]]) &&
+                    (operator instanceof Equ || operator instanceof Neq))
+                rhsCodes[i] = Dictionary.lookup(clauses.get(i).arg[2].toString().trim().replaceAll(",", "&&"));
+            else {
+                otherClauses.add(clauses.get(i));
+                otherIndices.add(indices[i]);
+            }
+        }
+        int[] otherIndex = new int[otherIndices.size()];
+        for(int i = 0; i < otherIndex.length; i++) otherIndex[i] = otherIndices.get(i);
+        RowFilter filter = new RowFilter(columnTypes, otherClauses, otherIndex);
+        //the scan runs on the column of the first predicate, or on the first column read
+        int driver = indices.length > 0 ? indices[0] : -1;
+        for(int i = 0; i < read.length && driver == -1; i++)
+            if(read[i]) driver = i;
+        if(driver == -1) read[driver = 0] = true;
+
+        Session session = Session.current();
+        RowCursor cursor = new RowCursor(relation, read, session.getReadTxn(), session.getReadCursorConfig(), READ_ONLY);
+        QueryMemory.Grant memory = session.getMemory();
+        long unreserved = 0;
+        Database meta = indices.length > 0 ? ExecuteHelpers.myDbEnv.getDB(metaDB(relationName), READ_ONLY) : null;
+        try {
+            long chunk = -1;
+            long rowId = cursor.next(driver, LockMode.DEFAULT);
+            while(rowId != -1) {
+                if(meta != null && rowId / CHUNK_ROWS != chunk) {
+                    chunk = rowId / CHUNK_ROWS;
+                    if(!chunkMayMatch(meta, relation, clauses, indices, chunk)) {
+                        rowId = cursor.seek(driver, (chunk + 1) * CHUNK_ROWS, LockMode.DEFAULT);
+                        continue;
+                    }
+                }
+                //predicate columns first, the rest only for the rows kept
+                boolean keepRow = true;
+                for(int i = 0; i < indices.length && keepRow; i++) {
+                    if(!cursor.isRead(indices[i], rowId)) keepRow = cursor.read(indices[i], rowId, LockMode.DEFAULT);
+                    if(keepRow && rhsCodes[i] != NOT_ENCODED)
+                        keepRow = (cursor.getCode(indices[i]) == rhsCodes[i]) == (clauses.get(i).arg[1] instanceof Equ);
+                }
+                if(keepRow && otherIndex.length > 0)
+                    keepRow = filter.matches(cursor.getRow());
+                if(joinFilters != null)
+                    for(JoinFilter joinFilter: joinFilters) {
+                        int column = joinFilter.getColumn();
+                        if(keepRow && !cursor.isRead(column, rowId)) keepRow = cursor.read(column, rowId, LockMode.DEFAULT);
+                        if(keepRow) keepRow = joinFilter.mightContain(cursor.getRow()[column]);
+                    }
+                for(int i = 0; i < read.length && keepRow; i++)
+                    if(read[i] && !cursor.isRead(i, rowId)) keepRow = cursor.read(i, rowId, LockMode.DEFAULT);
+                if(keepRow) {
+                    tuples.add(cursor.getRowString());
+                    tuplesKey.add(rowKey(rowId));
+                    unreserved += QueryMemory.storedRowBytes(tuplesKey.get(tuplesKey.size() - 1).length(),
+                            tuples.get(tuples.size() - 1).length());
+                    if(memory != null && tuples.size() % QueryMemory.CHUNK_ROWS == 0) {
+                        memory.reserve(unreserved);
+                        unreserved = 0;
+                    }
+                }
+                Metrics.get().rowRead(cursor.getBytesRead());
+                rowId = cursor.next(driver, LockMode.DEFAULT);
+            }
+            if(memory != null) memory.reserve(unreserved);
+        } catch (QueryMemory.MemoryExceededException e) {
+            throw e;
+        } catch (Exception e) {
+            System.err.println("Error on relation cursor:");
+            System.err.println(e.toString());
+            e.printStackTrace();
+        } finally {
+            cursor.close();
+            if(meta != null) meta.close();
+        }
+        return returnVal;
+    }
+
+    /*
+        Rows stored under rowKeys, by key, those missing being left out. The row ids are read in
+        ascending order through one RowCursor, each column cursor sweeping its database forward.
+     */
+    public static Map<String, String> getRows(Relation relation, List<String> rowKeys) {
+        boolean[] read = new boolean[relation.getColumns().size()];
+        Arrays.fill(read, true);
+        long[] rowIds = new long[rowKeys.size()];
+        for(int i = 0; i < rowIds.length; i++) rowIds[i] = rowId(rowKeys.get(i));
+        Arrays.sort(rowIds);
+        Map<String, String> rows = new HashMap<String, String>();
+        Session session = Session.current();
+        RowCursor cursor = new RowCursor(relation, read, session.getReadTxn(), session.getReadCursorConfig(), READ_ONLY);
+        try {
+            for(int r = 0; r < rowIds.length; r++) {
+                if(r > 0 && rowIds[r] == rowIds[r - 1]) continue;
+                boolean found = true;
+                for(int i = 0; i < read.length && found; i++)
+                    found = cursor.read(i, rowIds[r], LockMode.DEFAULT);
+                if(!found) continue;
+                Metrics.get().rowRead(cursor.getBytesRead());
+                rows.put(rowKey(rowIds[r]), cursor.getRowString());
+            }
+        } finally {
+            cursor.close();
+        }
+        return rows;
+    }
+
+    /*
+        One cursor per column of a columnar relation, all of them positioned on the same row id.
+        Values read since the cursor last moved to another row are kept, codes of dictionary
+        encoded columns being decoded on the first getRow().
+     */
+    public static class RowCursor {
+
+        private final Relation relation;
+        private final Database[] databases;
+        private final Cursor[] cursors;
+        private final boolean[] encoded;
+        private final boolean[] present;
+        private final int[] codes;
+        private final String[] row;
+        private final DatabaseEntry key = new DatabaseEntry();
+        private final DatabaseEntry data = new DatabaseEntry();
+        private long rowId = -1;
+        private long bytesRead = 0;
+
+        /*
+            columns : the columns to open a cursor on, by position.
+         */
+        public RowCursor(Relation relation, boolean[] columns, Transaction txn, CursorConfig config, boolean readOnly) {
+            this.relation = relation;
+            int n = relation.getColumns().size();
+            databases = new Database[n];
+            cursors = new Cursor[n];
+            encoded = new boolean[n];
+            present = new boolean[n];
+            codes = new int[n];
+            row = new String[n];
+            for(Column column: relation.getColumns()) {
+                encoded[column.getPosition()] = relation.isDictionaryEncoded() && "str".equals(column.getColumnType());
+                if(!columns[column.getPosition()]) continue;
+                databases[column.getPosition()] = ExecuteHelpers.myDbEnv.getDB(
+                        columnDB(relation.getRelationName(), column.getColumnName()), readOnly);
+                cursors[column.getPosition()] = databases[column.getPosition()].openCursor(txn, config);
+            }
+        }
+
+        /*
+            Moves to the next row id of column and reads its value. -1 at the end.
+         */
+        public long next(int column, LockMode lockMode) {
+            return moved(column, cursors[column].getNext(key, data, lockMode));
+        }
+
+        /*
+            Moves to the first row id of column not below from and reads its value. -1 if none.
+         */
+        public long seek(int column, long from, LockMode lockMode) {
+            LongBinding.longToEntry(from, key);
+            return moved(column, cursors[column].getSearchKeyRange(key, data, lockMode));
+        }
+
+        private long moved(int column, OperationStatus status) {
+            forget();
+            if(status != OperationStatus.SUCCESS)
+                return rowId = -1;
+            rowId = LongBinding.entryToLong(key);
+            store(column, key, data);
+            return rowId;
+        }
+
+        /*
+            Reads the value of column for rowId, false if that row is not there.
+         */
+        public boolean read(int column, long rowId, LockMode lockMode) {
+            if(rowId != this.rowId) {
+                forget();
+                this.rowId = rowId;
+            }
+            DatabaseEntry searchKey = new DatabaseEntry();
+            LongBinding.longToEntry(rowId, searchKey);
+            if(cursors[column].getSearchKey(searchKey, data, lockMode) != OperationStatus.SUCCESS)
+                return false;
+            store(column, searchKey, data);
+            return true;
+        }
+
+        private void forget() {
+            Arrays.fill(present, false);
+            Arrays.fill(row, null);
+            bytesRead = 0;
+        }
+
+        private void store(int column, DatabaseEntry key, DatabaseEntry data) {
+            present[column] = true;
+            if(encoded[column])
+                codes[column] = Dictionary.fromBytes(data);
+            else
+                row[column] = ExecuteHelpers.stringify(data);
+            bytesRead += key.getSize() + data.getSize();
+        }
+
+        /*
+            True when the value of column for rowId is already read.
+         */
+        public boolean isRead(int column, long rowId) {
+            return rowId == this.rowId && present[column];
+        }
+
+        /*
+            Dictionary code of an encoded column read.
+         */
+        public int getCode(int column) {
+            return codes[column];
+        }
+
+        /*
+            Values of the columns read, null for the others.
+         */
+        public String[] getRow() {
+            for(int i = 0; i < row.length; i++)
+                if(present[i] && row[i] == null) row[i] = Dictionary.decode(codes[i]);
+            return row;
+        }
+
+        /*
+            The row in the row store layout, values not read being empty.
+         */
+        public String getRowString() {
+            getRow();
+            StringBuilder rowStr = new StringBuilder();
+            for(int i = 0; i < row.length; i++) {
+                if(i > 0) rowStr.append(",");
+                if(row[i] != null) rowStr.append(row[i]);
+            }
+            return rowStr.toString();
+        }
+
+        public long getBytesRead() {
+            return bytesRead;
+        }
+
+        /*
+            Replaces the value of column in the current row.
+         */
+        public void put(int column, String value) {
+            cursors[column].putCurrent(new DatabaseEntry(toBytes(relation, relation.getColumns().get(column), value)));
+            row[column] = value;
+            if(encoded[column]) codes[column] = Dictionary.encode(value);
+        }
+
+        /*
+            Deletes the current row from every column.
+         */
+        public void delete() {
+            for(Cursor cursor: cursors)
+                if(cursor != null) cursor.delete();
+        }
+
+        public void close() {
+            for(int i = 0; i < cursors.length; i++) {
+                if(cursors[i] != null) cursors[i].close();
+                if(databases[i] != null) databases[i].close();
+            }
+        }
+    }
+
+    /*
+        Database holding the sequence and zone map of the relation, for writers that widen zones.
+     */
+    static Database openMeta(String relationName) {
+        return ExecuteHelpers.myDbEnv.getDB(metaDB(relationName), READ_WRITE);
+    }
+}
@@ -0,0 +1,89 @@
+package minidb.je;
+
+import com.sleepycat.je.Durability;
+import com.sleepycat.je.Transaction;
+
+/*
+    Group commit for SYNC durability.
+    Each session writes its commit record without fsync and then waits for a log flush.
+    The first waiter becomes the leader and fsyncs once for every commit written before
+    the flush started; sessions that committed meanwhile are covered by the next flush.
+ */
+public class CommitBatcher {
+
+    // commits written so far / commits known to be on disk
+    private long written = 0;
+    private long flushed = 0;
+    private boolean flushing = false;
+
+    private long flushCount = 0;
+
+    public void commitSync(Transaction txn) {
+        txn.commit(Durability.COMMIT_WRITE_NO_SYNC);
+        long ticket;
+        synchronized (this) {
+            ticket = ++written;
+        }
+        waitForFlush(ticket);
+    }
+
+    private void waitForFlush(long ticket) {
+        boolean interrupted = false;
+        while (true) {
+            long upTo;
+            synchronized (this) {
+                while (flushing && flushed < ticket) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        //the commit is not durable until a flush covers it: flush alone rather than wait
+                        interrupted = true;
+                        break;
+                    }
+                }
+                if (flushed >= ticket) {
+                    if (interrupted) Thread.currentThread().interrupt();
+                    return;
+                }
+                if (!interrupted)
+                    flushing = true;
+                upTo = written;
+            }
+            if (interrupted) {
+                try {
+                    ExecuteHelpers.myDbEnv.getEnv().flushLog(true);
+                    synchronized (this) {
+                        flushed = Math.max(flushed, upTo);
+                        flushCount++;
+                    }
+                } finally {
+                    Thread.currentThread().interrupt();
+                }
+                return;
+            }
+            boolean done = false;
+            try {
+                //fsync outside the monitor so that other sessions can queue up behind this flush
+                ExecuteHelpers.myDbEnv.getEnv().flushLog(true);
+                done = true;
+            } finally {
+                synchronized (this) {
+                    flushing = false;
+                    if (done) {
+                        flushed = Math.max(flushed, upTo);
+                        flushCount++;
+                    }
+                    notifyAll();
+                }
+            }
+        }
+    }
+
+    public synchronized long getCommitCount() {
+        return written;
+    }
+
+    public synchronized long getFlushCount() {
+        return flushCount;
+    }
+}
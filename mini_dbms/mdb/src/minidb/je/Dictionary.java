@@ -0,0 +1,156 @@
+package minidb.je;
+
+import com.sleepycat.bind.tuple.IntegerBinding;
+import com.sleepycat.je.*;
+import com.sleepycat.util.PackedInteger;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static minidb.je.ExecuteHelpers.READ_WRITE;
+
+/*
+    Codes of the str values of dictionary encoded relations, shared by all relations so equal
+    values have equal codes anywhere.
+    dictionaryDB maps a value to its code, dictionaryCodeDB a code (4 byte key) back to its value.
+    Entries are written in their own transactions, outside of the session one: a code never goes
+    away, an aborted insert only leaves an unused entry behind.
+    Both directions are cached. decode() hands out the cached String, rows holding the same value
+    share one instance of it.
+ */
+public class Dictionary {
+
+    public static final int UNKNOWN = -1;
+
+    private static final int CACHE_ENTRIES = 100000;
+    private static final String SEQUENCE_KEY = "sequence";
+
+    private static final Map<String, Integer> codes = new LinkedHashMap<String, Integer>(1024, 0.75f, true) {
+        protected boolean removeEldestEntry(Map.Entry<String, Integer> eldest) {
+            return size() > CACHE_ENTRIES;
+        }
+    };
+
+    private static final Map<Integer, String> values = new LinkedHashMap<Integer, String>(1024, 0.75f, true) {
+        protected boolean removeEldestEntry(Map.Entry<Integer, String> eldest) {
+            return size() > CACHE_ENTRIES;
+        }
+    };
+
+    /*
+        Code of value, given a new one if it has none yet.
+     */
+    public static int encode(String value) {
+        int code = lookup(value);
+        if(code != UNKNOWN) return code;
+        Database codeDB = ExecuteHelpers.myDbEnv.getDB("dictionaryCodeDB", READ_WRITE);
+        Database valueDB = ExecuteHelpers.myDbEnv.getDB("dictionaryDB", READ_WRITE);
+        try {
+            SequenceConfig config = new SequenceConfig();
+            config.setAllowCreate(true);
+            config.setAutoCommitNoSync(true);
+            Sequence sequence = codeDB.openSequence(null, new DatabaseEntry(ExecuteHelpers.bytify(SEQUENCE_KEY)), config);
+            try {
+                code = (int) sequence.get(null, 1);
+            } finally {
+                sequence.close();
+            }
+            //the code is decodable before anyone can find it
+            DatabaseEntry codeEntry = new DatabaseEntry();
+            IntegerBinding.intToEntry(code, codeEntry);
+            DatabaseEntry valueEntry = new DatabaseEntry(ExecuteHelpers.bytify(value));
+            codeDB.put(null, codeEntry, valueEntry);
+            if(valueDB.putNoOverwrite(null, valueEntry, new DatabaseEntry(toBytes(code))) == OperationStatus.KEYEXIST) {
+                //encoded by another session meanwhile, use its code
+                DatabaseEntry data = new DatabaseEntry();
+                valueDB.get(null, valueEntry, data, LockMode.DEFAULT);
+                code = fromBytes(data);
+            }
+        } finally {
+            valueDB.close();
+            codeDB.close();
+        }
+        cache(value, code);
+        return code;
+    }
+
+    /*
+        Code of value, UNKNOWN if it was never encoded.
+     */
+    public static int lookup(String value) {
+        synchronized (codes) {
+            Integer code = codes.get(value);
+            if(code != null) return code;
+        }
+        Database valueDB = ExecuteHelpers.myDbEnv.getDB("dictionaryDB", READ_WRITE);
+        try {
+            DatabaseEntry data = new DatabaseEntry();
+            if(valueDB.get(null, new DatabaseEntry(ExecuteHelpers.bytify(value)), data, LockMode.READ_COMMITTED)
+                    != OperationStatus.SUCCESS)
+                return UNKNOWN;
+            int code = fromBytes(data);
+            cache(value, code);
+            return code;
+        } finally {
+            valueDB.close();
+        }
+    }
+
+    public static String decode(int code) {
+        synchronized (values) {
+            String value = values.get(code);
+            if(value != null) return value;
+        }
+        Database codeDB = ExecuteHelpers.myDbEnv.getDB("dictionaryCodeDB", READ_WRITE);
+        try {
+            DatabaseEntry codeEntry = new DatabaseEntry();
+            IntegerBinding.intToEntry(code, codeEntry);
+            DatabaseEntry data = new DatabaseEntry();
+            if(codeDB.get(null, codeEntry, data, LockMode.READ_COMMITTED) != OperationStatus.SUCCESS) {
+                System.err.println("Dictionary code not found : " + code);
+                return null;
+            }
+            String value = ExecuteHelpers.stringify(data);
+            cache(value, code);
+            return value;
+        } finally {
+            codeDB.close();
+        }
+    }
+
+    private static void cache(String value, int code) {
+        synchronized (values) {
+            //keep the instance already handed out
+            String cached = values.get(code);
+            if(cached == null) values.put(code, value);
+        }
+        synchronized (codes) {
+            codes.put(value, code);
+        }
+    }
+
+    /*
+        The caches belong to one environment, they are dropped when another one is opened.
+     */
+    public static void clear() {
+        synchronized (values) {
+            values.clear();
+        }
+        synchronized (codes) {
+            codes.clear();
+        }
+    }
+
+    /*
+        Codes are stored packed, small codes take a byte or two.
+     */
+    public static byte[] toBytes(int code) {
+        byte[] bytes = new byte[PackedInteger.getWriteIntLength(code)];
+        PackedInteger.writeInt(bytes, 0, code);
+        return bytes;
+    }
+
+    public static int fromBytes(DatabaseEntry data) {
+        return PackedInteger.readInt(data.getData(), data.getOffset());
+    }
+}
@@ -3,62 +3,84 @@ package minidb.je;
 import com.sleepycat.je.*;
 import mdb.AstNode;
 import mdb.Equ;
-import mdb.Rel;
+import minidb.models.Relation;
 
 import java.io.*;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
 
 public class ExecuteHelpers {
     public static final boolean READ_ONLY = false;        //Temporarily made it false, insert was failing.
     public static final boolean READ_WRITE = false;
 
-    public static File myDbEnvPath = new File("JEDB");
+    //environment used until OPEN, -Dmdb.home=<dir> to change it
+    public static File myDbEnvPath = defaultHome();
 
     public static MyDbEnv myDbEnv = new MyDbEnv();
 
-    public static Transaction txn = null;
-
     static {
+        //opened when first used
         myDbEnv.setup(ExecuteHelpers.myDbEnvPath, READ_WRITE);
-        txn = myDbEnv.getEnv().beginTransaction(null, null);
+        //starting the platform MBean server takes longer than most scripts, they don't wait for it
+        Thread register = new Thread(new Runnable() {
+            public void run() {
+                Metrics.register();
+            }
+        }, "metrics-register");
+        register.setDaemon(true);
+        register.start();
+    }
+
+    public static File defaultHome() {
+        return new File(System.getProperty("mdb.home", "JEDB"));
+    }
+
+    /*
+        Transaction of the current session, started on first use.
+     */
+    public static Transaction txn() {
+        return Session.current().getTxn();
+    }
+
+    /*
+        Statements that change the database are refused in a read only session.
+     */
+    public static boolean isWritable() {
+        if(!Session.current().isReadOnly()) return true;
+        System.err.println("Session is read only. Use 'set readonly off;' first.");
+        return false;
     }
 
     public static void prepareDB() {
-        ExecuteHelpers.txn.abort();
+        Session.current().abort();
+        //temporary databases must be closed before the environment
+        ScratchSpace.dropAll();
         ExecuteHelpers.myDbEnv.close(); ExecuteHelpers.myDbEnv = new MyDbEnv();
         ExecuteHelpers.myDbEnv.setup(myDbEnvPath, ExecuteHelpers.READ_WRITE);
-        ExecuteHelpers.txn = ExecuteHelpers.myDbEnv.getEnv().beginTransaction(null, null);
-        ExecuteHelpers.allRelations = ExecuteHelpers.getAllRowsOfTable("relationDB");
+        ExecuteHelpers.catalog = Catalog.load();
+        Dictionary.clear();
+        ResultCache.clear();
     }
 
     public static String disambiguate(String col, List<String> relations) {
-        for(int i = 0; i < allRelations[0].size(); i++)
-            if(allRelations[0].get(i).contains(col) && relations.contains(allRelations[1].get(i)))
-                return allRelations[1].get(i)+"."+col;
-        System.err.println(col + " not found !");
-        return null;
+        String column = catalog.disambiguate(col, relations);
+        if(column == null)
+            System.err.println(col + " not found !");
+        return column;
     }
 
-    public static ArrayList<String>[] allRelations = getAllRowsOfTable("relationDB");
+    public static Catalog catalog = Catalog.load();
 
     public static boolean isTablePresent(String relationName, StringBuilder metaData) {
-        for(int i = 0; i < allRelations[1].size(); i++)
-            if(allRelations[1].get(i).equals(relationName)) {
-                metaData.delete(0, metaData.length());
-                metaData.append(allRelations[0].get(i));
-                return true;
-            }
-        return false;
+        Relation relation = catalog.getRelation(relationName);
+        if(relation == null)
+            return false;
+        metaData.delete(0, metaData.length());
+        metaData.append(relation.data());
+        return true;
     }
 
     public static boolean isTablePresent(String relationName) {
-        for(int i = 0; i < allRelations[1].size(); i++)
-            if(allRelations[1].get(i).equals(relationName))
-                return true;
-        return false;
+        return catalog.contains(relationName);
     }
 
     public static boolean isTablePresent(Database relationDB, String relationName) {
@@ -66,11 +88,7 @@ public class ExecuteHelpers {
     }
 
     public static List<String> getAllIndexes(String relationName) {
-        List<String> relatedIndex =  new ArrayList<String>();
-        for(String relation: allRelations[1])
-            if(relation.startsWith(relationName+"."))
-                relatedIndex.add(relation);
-        return relatedIndex;
+        return catalog.getIndexes(relationName);
     }
 
 
@@ -79,7 +97,7 @@ public class ExecuteHelpers {
         DatabaseEntry theRelKey = null;
         try {
             theRelKey = new DatabaseEntry((relationName).getBytes("UTF-8"));
-            relationDB.get(ExecuteHelpers.txn, theRelKey, tempData, LockMode.DEFAULT);
+            relationDB.get(ExecuteHelpers.txn(), theRelKey, tempData, LockMode.DEFAULT);
         } catch (UnsupportedEncodingException e) {
             e.printStackTrace();
         }
@@ -88,56 +106,163 @@ public class ExecuteHelpers {
     }
 
     public static ArrayList<String>[] getSelectData(String relationData, List<AstNode> clauses) {
-        if(clauses == null)
-            return getSelectData(relationData);
+        return getSelectData(relationData, clauses, null);
+    }
+
+    /*
+        columns : names of the columns the query refers to, null for all. A columnar relation only
+        reads those, the other values are left empty in the rows.
+     */
+    public static ArrayList<String>[] getSelectData(String relationData, List<AstNode> clauses, Collection<String> columns) {
+        return getSelectData(relationData, clauses, columns, null);
+    }
+
+    /*
+        joinFilters : filters a scanned row has to pass, see JoinFilter. null for none.
+     */
+    public static ArrayList<String>[] getSelectData(String relationData, List<AstNode> clauses, Collection<String> columns,
+                                                    List<JoinFilter> joinFilters) {
+        String relationName = relationData.split(",")[0];
+        //rows stored under the key column are read straight from the relation
+        PrimaryKey.Range range = PrimaryKey.range(relationName, clauses);
+        if(range != null) {
+            ArrayList<String>[] returnVal = PrimaryKey.getRows(relationName, range);
+            returnVal[0].add(0, relationData);
+            return returnVal;
+        }
+        AstNode clause = findIndexClause(relationName, clauses);
+        if(clause == null)
+            return scanRelation(relationData, columns, clauses, joinFilters);
 //        MyDbEnv myDbEnv = new MyDbEnv();
 //        myDbEnv.setup(ExecuteHelpers.myDbEnvPath, READ_ONLY);
 //        Database relationDB = ExecuteHelpers.myDbEnv.getDB("relationDB", READ_ONLY);
 
-        for(AstNode clause: clauses) {
-            Rel operator = (Rel) clause.arg[1];
-            String colName = clause.arg[0].toString().trim();
-            String rhs = clause.arg[2].toString().trim().replaceAll(",", "&&");
-            String relationName = relationData.split(",")[0];
-            colName = sanitizeColumn(colName, relationName);
-            if(operator instanceof Equ && isTablePresent(colName)) {
-//                System.out.println("Going to use index... " + colName);
-                ArrayList<String>[] returnVal = new ArrayList[2];
-                returnVal[0] = new ArrayList<String>(); returnVal[1] = new ArrayList<String>();
-                returnVal[0].add(relationData);
-                DatabaseEntry tempData = new DatabaseEntry();
-                Database indexDB = ExecuteHelpers.myDbEnv.getDB(colName + "DB", READ_ONLY);
-                Database indexedRelnDB = ExecuteHelpers.myDbEnv.getDB(relationName + "DB", READ_ONLY);
-                try {
-                    DatabaseEntry theRelKey = new DatabaseEntry(bytify(rhs));
-                    indexDB.get(ExecuteHelpers.txn, theRelKey, tempData, LockMode.DEFAULT);
-                    if(tempData.getSize() == 0) {
-//                        System.out.println("No results from index!");
-                        return returnVal;
-                    }
-                    ByteArrayInputStream bais = new ByteArrayInputStream(tempData.getData());
-                    DataInputStream in = new DataInputStream(bais);
-                    while (in.available() > 0) {
-                        String element = in.readUTF();
-//                        System.out.println("---> : " + element);
-                        returnVal[1].add(element);
-                        DatabaseEntry pm_key = new DatabaseEntry(bytify(element));
-                        indexedRelnDB.get(ExecuteHelpers.txn, pm_key, tempData, LockMode.DEFAULT);
-//                        System.out.println("===> : " + stringify(tempData));
-                        if(tempData.getSize() != 0) returnVal[0].add(stringify(tempData));
-                    }
-                } catch (IOException e) {
-                    e.printStackTrace();
-                } finally {
-                    indexDB.close();
-                    indexedRelnDB.close();
-//                    relationDB.close();
-//                    myDbEnv.close();
-                }
+        String colName = sanitizeColumn(clause.arg[0].toString().trim(), relationName);
+        String rhs = clause.arg[2].toString().trim().replaceAll(",", "&&");
+//        System.out.println("Going to use index... " + colName);
+        ArrayList<String>[] returnVal = getIndexedRows(relationName, colName, rhs);
+        returnVal[0].add(0, relationData);
+        return returnVal;
+    }
+
+    /*
+        Rows of relationName whose indexed column colName ("relationName.column") holds value,
+        in the format of getAllRowsOfTable. The row keys are all those listed by the index.
+     */
+    public static ArrayList<String>[] getIndexedRows(String relationName, String colName, String value) {
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        ArrayList<String>[] returnVal = new ArrayList[2];
+        returnVal[0] = new ArrayList<String>(); returnVal[1] = new ArrayList<String>();
+        DatabaseEntry tempData = new DatabaseEntry();
+        Relation relation = catalog.getRelation(relationName);
+        Database indexDB = ExecuteHelpers.myDbEnv.getDB(colName + "DB", READ_ONLY);
+        Database indexedRelnDB = relation.isColumnar() ? null : ExecuteHelpers.myDbEnv.getDB(relationName + "DB", READ_ONLY);
+        Session session = Session.current();
+        Metrics.get().indexLookup();
+        try {
+            DatabaseEntry theRelKey = new DatabaseEntry(bytify(value));
+            indexDB.get(session.getReadTxn(), theRelKey, tempData, session.getReadLockMode());
+            if(tempData.getSize() == 0) {
+//                System.out.println("No results from index!");
                 return returnVal;
             }
+            ByteArrayInputStream bais = new ByteArrayInputStream(tempData.getData());
+            DataInputStream in = new DataInputStream(bais);
+            while (in.available() > 0)
+                returnVal[1].add(in.readUTF());
+            //rows are fetched in key order, then listed in the order of the index
+            Map<String, String> rows = indexedRelnDB == null ? ColumnStore.getRows(relation, returnVal[1])
+                    : fetchInKeyOrder(indexedRelnDB, returnVal[1], session);
+            for(String element: returnVal[1]) {
+                String row = rows.get(element);
+                if(row != null) returnVal[0].add(row);
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        } finally {
+            indexDB.close();
+            if(indexedRelnDB != null) indexedRelnDB.close();
+//            relationDB.close();
+//            myDbEnv.close();
+        }
+        return returnVal;
+    }
+
+    //keys a cursor steps through with getNext before it searches for the next key to fetch
+    private static final int ADJACENT_KEYS = 8;
+
+    /*
+        Rows of db stored under rowKeys, by key. The keys are fetched in the order of the B-tree in a
+        single cursor sweep: a key a few records after the previous one is reached with getNext, a
+        farther one with getSearchKey, so the leaf nodes are read once and in order. The records
+        stepped over are read uncommitted, so the sweep locks no more rows than a get per key would.
+     */
+    private static Map<String, String> fetchInKeyOrder(Database db, List<String> rowKeys, Session session) {
+        byte[][] keys = new byte[rowKeys.size()][];
+        for(int i = 0; i < keys.length; i++) keys[i] = bytify(rowKeys.get(i));
+        Arrays.sort(keys, new Comparator<byte[]>() {
+            public int compare(byte[] a, byte[] b) {
+                return compareKeys(a, b);
+            }
+        });
+        Map<String, String> rows = new HashMap<String, String>();
+        DatabaseEntry foundKey = new DatabaseEntry();
+        DatabaseEntry foundData = new DatabaseEntry();
+        Cursor cursor = db.openCursor(session.getReadTxn(), session.getReadCursorConfig());
+        try {
+            //key the cursor is on, null when it is on none
+            byte[] at = null;
+            for(byte[] key: keys) {
+                int cmp = at == null ? -1 : compareKeys(at, key);
+                //records in between are stepped over without locking them, only the one fetched is locked
+                for(int step = 0; at != null && cmp < 0 && step < ADJACENT_KEYS; step++) {
+                    if(cursor.getNext(foundKey, foundData, LockMode.READ_UNCOMMITTED) == OperationStatus.SUCCESS) {
+                        at = foundKey.getData();
+                        cmp = compareKeys(at, key);
+                    } else
+                        at = null;
+                }
+                OperationStatus status;
+                if(at != null && cmp == 0)
+                    status = cursor.getCurrent(foundKey, foundData, session.getReadLockMode());
+                else {
+                    //not reached, or stepped over while a transaction deleting it was open
+                    foundKey.setData(key);
+                    status = cursor.getSearchKey(foundKey, foundData, session.getReadLockMode());
+                }
+                if(status != OperationStatus.SUCCESS) {
+                    at = null;
+                    continue;
+                }
+                at = key;
+                rows.put(stringify(foundKey), stringify(foundData));
+                Metrics.get().rowRead(foundKey.getSize() + foundData.getSize());
+            }
+        } finally {
+            cursor.close();
+        }
+        return rows;
+    }
+
+    //order of JE's default comparator: unsigned bytes
+    static int compareKeys(byte[] a, byte[] b) {
+        for(int i = 0; i < Math.min(a.length, b.length); i++)
+            if(a[i] != b[i]) return (a[i] & 0xff) - (b[i] & 0xff);
+        return a.length - b.length;
+    }
+
+    /*
+        The clause getSelectData answers through an index : the first equality on an indexed column.
+        null when the relation has to be scanned.
+     */
+    public static AstNode findIndexClause(String relationName, List<AstNode> clauses) {
+        if(clauses == null) return null;
+        for(AstNode clause: clauses) {
+            String colName = sanitizeColumn(clause.arg[0].toString().trim(), relationName);
+            if(clause.arg[1] instanceof Equ && isTablePresent(colName))
+                return clause;
         }
-        return getSelectData(relationData);
+        return null;
     }
 
     public static String sanitizeColumn(String colName, String relationName) {
@@ -152,6 +277,11 @@ public class ExecuteHelpers {
         ArrayList of Ids : ["1223232:3,\"CS\",\"Bruce\"", "12232321:3,\"CS\",\"Mike\""]
      */
     public static ArrayList<String>[] getSelectData(String relationData) {
+        return scanRelation(relationData, null, null, null);
+    }
+
+    private static ArrayList<String>[] scanRelation(String relationData, Collection<String> columns, List<AstNode> clauses,
+                                                    List<JoinFilter> joinFilters) {
         String[] columnTypes = new String[relationData.split(",").length];
         ArrayList<String> displayList = new ArrayList<String>();
         ArrayList[] returnVal = new ArrayList[2];
@@ -159,8 +289,11 @@ public class ExecuteHelpers {
         displayList.add(relationData);
 
         String dbName = columnData[0]+"DB";
+        Metrics.get().fullScan();
         try{
-            ArrayList<String> tuples[] = ExecuteHelpers.getAllRowsOfTable(dbName);
+            Relation relation = catalog.getRelation(columnData[0]);
+            ArrayList<String> tuples[] = relation != null && relation.isColumnar() ?
+                    ColumnStore.getRows(relation, columns, clauses, joinFilters) : ExecuteHelpers.getAllRowsOfTable(dbName, joinFilters);
             returnVal[1] = tuples[1];
             for(String s : tuples[0])
                 displayList.add(s);
@@ -177,13 +310,23 @@ public class ExecuteHelpers {
         return getAllRowsOfTable(relation, new String[0]);
     }
 
+    public static ArrayList<String>[] getAllRowsOfTable(String relation, List<JoinFilter> joinFilters)
+            throws DatabaseException {
+        return getAllRowsOfTable(relation, new String[0], joinFilters);
+    }
+
+    public static ArrayList<String>[] getAllRowsOfTable(String relation, String[] columnTypes)
+            throws DatabaseException {
+        return getAllRowsOfTable(relation, columnTypes, null);
+    }
+
     /*
     Output: ReturnVal = [ArrayList of Data of every Row, ArrayList of IDS, ]
         Data : ["3,\"CS\",\"Bruce\"",
                 "3,\"CS\",\"Mike\""]
         ArrayList of Ids : ["1223232:3,\"CS\",\"Bruce\"", "12232321:3,\"CS\",\"Mike\""]
      */
-    public static ArrayList<String>[] getAllRowsOfTable(String relation, String[] columnTypes)
+    private static ArrayList<String>[] getAllRowsOfTable(String relation, String[] columnTypes, List<JoinFilter> joinFilters)
             throws DatabaseException {
         ArrayList<String> tuples = new ArrayList<String>();
         ArrayList<String> tuplesKey = new ArrayList<String>();
@@ -194,21 +337,35 @@ public class ExecuteHelpers {
 
         // Get a cursor
         Database database = ExecuteHelpers.myDbEnv.getDB(relation, READ_ONLY);
-        Cursor cursor = database.openCursor(ExecuteHelpers.txn, null);
+        Session session = Session.current();
+        Cursor cursor = database.openCursor(session.getReadTxn(), session.getReadCursorConfig());
+        QueryMemory.Grant memory = session.getMemory();
+        long unreserved = 0;
 
         // DatabaseEntry objects used for reading records
         DatabaseEntry foundKey = new DatabaseEntry();
         DatabaseEntry foundData = new DatabaseEntry();
 
         try { // always want to make sure the cursor gets closed
+            //isolation comes from the cursor config
             while (cursor.getNext(foundKey, foundData,
                     LockMode.DEFAULT) == OperationStatus.SUCCESS) {
+                Metrics.get().rowRead(foundKey.getSize() + foundData.getSize());
+                if(joinFilters != null && !mightJoin(joinFilters, foundData)) continue;
+                unreserved += QueryMemory.storedRowBytes(foundKey.getSize(), foundData.getSize());
+                if(memory != null && tuples.size() % QueryMemory.CHUNK_ROWS == 0) {
+                    memory.reserve(unreserved);
+                    unreserved = 0;
+                }
                 String key =  new String(foundKey.getData(), "UTF-8");
                 String data =  new String(foundData.getData(), "UTF-8");
 
                 tuples.add(data);
                 tuplesKey.add(key);
             }
+            if(memory != null) memory.reserve(unreserved);
+        } catch (QueryMemory.MemoryExceededException e) {
+            throw e;
         } catch (Exception e) {
             System.err.println("Error on relation cursor:");
             System.err.println(e.toString());
@@ -221,15 +378,17 @@ public class ExecuteHelpers {
         return returnVal;
     }
 
+    private static boolean mightJoin(List<JoinFilter> joinFilters, DatabaseEntry data) {
+        for(JoinFilter joinFilter: joinFilters)
+            if(!joinFilter.rowMightMatch(data.getData(), data.getOffset(), data.getSize())) return false;
+        return true;
+    }
+
     public static void populateIndex(String indexName, StringBuilder relMetaData) {
         String rel = indexName.split("\\.")[0];
         String col = indexName.split("\\.")[1];
 
-        List<String>[] allRows = getAllRowsOfTable(rel+"DB");
-
-        List<String> relData = allRows[0];
-        List<String> relIds = allRows[1];
-
+        Relation relation = catalog.getRelation(rel);
         String[] columns = relMetaData.toString().split(",");
         //find column index number
         int colNum = -1;
@@ -239,41 +398,49 @@ public class ExecuteHelpers {
 
         if(colNum == -1) System.err.println("Index Column not found!");
 
-        Map<String, ArrayList<String>> map = new HashMap<String, ArrayList<String>>();
-        for(int i = 0; i < relData.size(); i++) {
-            String colValue = relData.get(i).split(",")[colNum];
-            if(!map.containsKey(colValue))
-                map.put(colValue, new ArrayList<String>());
-            map.get(colValue).add(relIds.get(i));
-        }
-
-//        MyDbEnv myDbEnv = new MyDbEnv();
-//        myDbEnv.setup(ExecuteHelpers.myDbEnvPath, READ_WRITE);
-
-        Database insertDB = null;
-        insertDB = ExecuteHelpers.myDbEnv.getDB(indexName + "DB", READ_WRITE);
-        String somekey = "";
+        Database insertDB = ExecuteHelpers.myDbEnv.getDB(indexName + "DB", READ_WRITE);
         try {
-            for(String key: map.keySet()) {
-                somekey = key;
-                DatabaseEntry theKey = new DatabaseEntry((key).getBytes("UTF-8"));
-                ByteArrayOutputStream bOutput = new ByteArrayOutputStream();
-                DataOutputStream out = new DataOutputStream(bOutput);
-                for (String element : map.get(key)) {
-                    out.writeUTF(element);
-                }
-                DatabaseEntry theData = new DatabaseEntry(bOutput.toByteArray());
-                insertDB.put(ExecuteHelpers.txn, theKey, theData);
-            }
-
+            IndexBuilder.build(relation, col, colNum, insertDB);
         } catch (Exception e) {
             e.printStackTrace();
         } finally {
             insertDB.close();
-//            myDbEnv.close();
         }
     }
 
+    /*
+        Index data is the list of row keys having that column value, written with writeUTF.
+     */
+    public static void addToIndex(Database indexDB, String value, String rowKey) throws IOException {
+        DatabaseEntry indexKey = new DatabaseEntry(bytify(value));
+        DatabaseEntry tempData = new DatabaseEntry();
+        ByteArrayOutputStream bOutput = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bOutput);
+        indexDB.get(ExecuteHelpers.txn(), indexKey, tempData, LockMode.RMW);
+        if(tempData.getSize() != 0)
+            out.write(tempData.getData(), tempData.getOffset(), tempData.getSize());
+        out.writeUTF(rowKey);
+        indexDB.put(ExecuteHelpers.txn(), indexKey, new DatabaseEntry(bOutput.toByteArray()));
+    }
+
+    public static void removeFromIndex(Database indexDB, String value, String rowKey) throws IOException {
+        DatabaseEntry indexKey = new DatabaseEntry(bytify(value));
+        DatabaseEntry tempData = new DatabaseEntry();
+        if(indexDB.get(ExecuteHelpers.txn(), indexKey, tempData, LockMode.RMW) != OperationStatus.SUCCESS)
+            return;
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(tempData.getData()));
+        ByteArrayOutputStream bOutput = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bOutput);
+        while (in.available() > 0) {
+            String storedKey = in.readUTF();
+            if(!storedKey.equals(rowKey)) out.writeUTF(storedKey);
+        }
+        if(bOutput.size() == 0)
+            indexDB.delete(ExecuteHelpers.txn(), indexKey);
+        else
+            indexDB.put(ExecuteHelpers.txn(), indexKey, new DatabaseEntry(bOutput.toByteArray()));
+    }
+
     public static String stringify(DatabaseEntry data) {
         try {
             return new String(data.getData(), "UTF-8");
@@ -0,0 +1,343 @@
+package minidb.je;
+
+import com.sleepycat.bind.tuple.LongBinding;
+import com.sleepycat.je.*;
+import minidb.models.Column;
+import minidb.models.Relation;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import static minidb.je.ExecuteHelpers.READ_ONLY;
+
+/*
+    Builds the index of a column as an external sort. The statement thread scans the relation once
+    in key order and hands the rows out in chunks, each a contiguous range of row keys, to WORKERS
+    threads. A worker cuts the indexed value out of the stored bytes and gathers (value, row key)
+    entries into a run, sorted and spilled to a scratch store once it reaches RUN_BYTES. The runs
+    are then merged and each value is put once with its posting list, in key order, so JE appends
+    to the last leaf of the index instead of splitting leaves all over it.
+    At most RUN_BYTES per worker and the chunks queued are held in memory, whatever the size of the
+    relation. Row keys of a value are listed in the order of the scan, as before.
+ */
+public class IndexBuilder {
+
+    private static final int WORKERS = Math.max(1, Math.min(8, Runtime.getRuntime().availableProcessors()));
+    private static final int CHUNK_ROWS = 4096;
+    private static final long RUN_BYTES = 16L << 20;
+
+    private static final Chunk END = new Chunk(0, -1);
+
+    /*
+        Rows read from the relation: their keys, and their stored values, or the indexed value itself
+        when field is -1.
+     */
+    private static class Chunk {
+        final long firstRow;
+        final int field;
+        final List<byte[]> rowKeys = new ArrayList<byte[]>(CHUNK_ROWS);
+        final List<byte[]> data = new ArrayList<byte[]>(CHUNK_ROWS);
+
+        Chunk(long firstRow, int field) {
+            this.firstRow = firstRow;
+            this.field = field;
+        }
+    }
+
+    private static class Entry {
+        final byte[] value;
+        final byte[] rowKey;
+        //position of the row in the scan
+        final long row;
+
+        Entry(byte[] value, byte[] rowKey, long row) {
+            this.value = value;
+            this.rowKey = rowKey;
+            this.row = row;
+        }
+
+        long bytes() {
+            return 64 + value.length + rowKey.length;
+        }
+    }
+
+    private static final Comparator<Entry> ORDER = new Comparator<Entry>() {
+        public int compare(Entry a, Entry b) {
+            int cmp = compareBytes(a.value, b.value);
+            if(cmp != 0) return cmp;
+            return a.row < b.row ? -1 : (a.row == b.row ? 0 : 1);
+        }
+    };
+
+    //order of JE's default comparator: unsigned bytes
+    private static int compareBytes(byte[] a, byte[] b) {
+        for(int i = 0; i < Math.min(a.length, b.length); i++)
+            if(a[i] != b[i]) return (a[i] & 0xff) - (b[i] & 0xff);
+        return a.length - b.length;
+    }
+
+    /*
+        A sorted run, read back one entry at a time.
+     */
+    private static abstract class Run {
+        Entry current;
+
+        abstract void advance() throws IOException;
+
+        void close() {
+        }
+    }
+
+    private static class MemoryRun extends Run {
+        private final Iterator<Entry> entries;
+
+        MemoryRun(List<Entry> entries) {
+            this.entries = entries.iterator();
+        }
+
+        void advance() {
+            current = entries.hasNext() ? entries.next() : null;
+        }
+    }
+
+    private static class ScratchRun extends Run {
+        private final ScratchSpace.Store store;
+        private Cursor cursor;
+        private final DatabaseEntry key = new DatabaseEntry();
+        private final DatabaseEntry data = new DatabaseEntry();
+
+        ScratchRun(ScratchSpace.Store store) {
+            this.store = store;
+        }
+
+        void advance() throws IOException {
+            if(cursor == null) cursor = store.openCursor();
+            if(cursor.getNext(key, data, LockMode.DEFAULT) != OperationStatus.SUCCESS) {
+                current = null;
+                return;
+            }
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(data.getData(), data.getOffset(), data.getSize()));
+            byte[] value = new byte[in.readInt()];
+            in.readFully(value);
+            byte[] rowKey = new byte[in.readInt()];
+            in.readFully(rowKey);
+            current = new Entry(value, rowKey, in.readLong());
+        }
+
+        void close() {
+            if(cursor != null) cursor.close();
+            store.drop();
+        }
+    }
+
+    private static class Worker extends Thread {
+        private final BlockingQueue<Chunk> chunks;
+        private final List<Run> runs;
+        private final ScratchSpace scratch;
+        private List<Entry> entries = new ArrayList<Entry>();
+        private long bytes = 0;
+        private Throwable failure = null;
+
+        Worker(BlockingQueue<Chunk> chunks, List<Run> runs, ScratchSpace scratch) {
+            super("index-builder");
+            setDaemon(true);
+            this.chunks = chunks;
+            this.runs = runs;
+            this.scratch = scratch;
+        }
+
+        public void run() {
+            boolean ended = false;
+            try {
+                Chunk chunk;
+                while((chunk = chunks.take()) != END) {
+                    for(int i = 0; i < chunk.rowKeys.size(); i++) {
+                        byte[] data = chunk.data.get(i);
+                        Entry entry = new Entry(chunk.field < 0 ? data : field(data, chunk.field),
+                                chunk.rowKeys.get(i), chunk.firstRow + i);
+                        entries.add(entry);
+                        bytes += entry.bytes();
+                    }
+                    if(bytes >= RUN_BYTES) spill();
+                }
+                ended = true;
+                Collections.sort(entries, ORDER);
+                synchronized (runs) {
+                    runs.add(new MemoryRun(entries));
+                }
+            } catch (Throwable e) {
+                failure = e;
+                //keep taking chunks so the scan is not left waiting on a full queue
+                try {
+                    while(!ended && chunks.take() != END);
+                } catch (InterruptedException ignored) {
+                }
+            }
+        }
+
+        private void spill() throws IOException {
+            Collections.sort(entries, ORDER);
+            ScratchSpace.Store store = scratch.create("index");
+            synchronized (runs) {
+                runs.add(new ScratchRun(store));
+            }
+            ByteArrayOutputStream bOutput = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bOutput);
+            for(Entry entry: entries) {
+                bOutput.reset();
+                out.writeInt(entry.value.length);
+                out.write(entry.value);
+                out.writeInt(entry.rowKey.length);
+                out.write(entry.rowKey);
+                out.writeLong(entry.row);
+                store.append(bOutput.toByteArray());
+            }
+            entries = new ArrayList<Entry>();
+            bytes = 0;
+        }
+    }
+
+    //the column-th comma separated value of a stored row
+    private static byte[] field(byte[] row, int column) {
+        int start = 0;
+        for(int field = 0; field < column && start < row.length; field++) {
+            while(start < row.length && row[start] != ',') start++;
+            if(start < row.length) start++;
+        }
+        int stop = start;
+        while(stop < row.length && row[stop] != ',') stop++;
+        return Arrays.copyOfRange(row, start, stop);
+    }
+
+    /*
+        Fills indexDB with the index of column, column being at position colNum of relation.
+     */
+    public static void build(Relation relation, String column, int colNum, Database indexDB) throws IOException {
+        BlockingQueue<Chunk> chunks = new ArrayBlockingQueue<Chunk>(2 * WORKERS);
+        List<Run> runs = new ArrayList<Run>();
+        Worker[] workers = new Worker[WORKERS];
+        for(int i = 0; i < workers.length; i++) {
+            workers[i] = new Worker(chunks, runs, Session.current().getScratch());
+            workers[i].start();
+        }
+        try {
+            try {
+                if(relation.isColumnar())
+                    scanColumn(relation, relation.getColumn(column), chunks);
+                else
+                    scanRows(relation, colNum, chunks);
+            } finally {
+                for(Worker worker: workers) put(chunks, END);
+                for(Worker worker: workers) join(worker);
+            }
+            for(Worker worker: workers)
+                if(worker.failure != null) throw new IOException("Index build failed: " + worker.failure.toString());
+            merge(runs, indexDB);
+        } finally {
+            for(Run run: runs) run.close();
+        }
+    }
+
+    private static void scanRows(Relation relation, int colNum, BlockingQueue<Chunk> chunks) {
+        Database database = ExecuteHelpers.myDbEnv.getDB(relation.getRelationName() + "DB", READ_ONLY);
+        Session session = Session.current();
+        Cursor cursor = database.openCursor(session.getReadTxn(), session.getReadCursorConfig());
+        DatabaseEntry foundKey = new DatabaseEntry();
+        DatabaseEntry foundData = new DatabaseEntry();
+        try {
+            long rows = 0;
+            Chunk chunk = new Chunk(rows, colNum);
+            while (cursor.getNext(foundKey, foundData, LockMode.DEFAULT) == OperationStatus.SUCCESS) {
+                Metrics.get().rowRead(foundKey.getSize() + foundData.getSize());
+                chunk.rowKeys.add(foundKey.getData());
+                chunk.data.add(foundData.getData());
+                if(++rows % CHUNK_ROWS == 0) {
+                    put(chunks, chunk);
+                    chunk = new Chunk(rows, colNum);
+                }
+            }
+            put(chunks, chunk);
+        } finally {
+            cursor.close();
+            database.close();
+        }
+    }
+
+    private static void scanColumn(Relation relation, Column column, BlockingQueue<Chunk> chunks) {
+        boolean encoded = relation.isDictionaryEncoded() && "str".equals(column.getColumnType());
+        Database database = ExecuteHelpers.myDbEnv.getDB(
+                ColumnStore.columnDB(relation.getRelationName(), column.getColumnName()), READ_ONLY);
+        Session session = Session.current();
+        Cursor cursor = database.openCursor(session.getReadTxn(), session.getReadCursorConfig());
+        DatabaseEntry foundKey = new DatabaseEntry();
+        DatabaseEntry foundData = new DatabaseEntry();
+        try {
+            long rows = 0;
+            Chunk chunk = new Chunk(rows, -1);
+            while (cursor.getNext(foundKey, foundData, LockMode.DEFAULT) == OperationStatus.SUCCESS) {
+                Metrics.get().rowRead(foundKey.getSize() + foundData.getSize());
+                chunk.rowKeys.add(ExecuteHelpers.bytify(ColumnStore.rowKey(LongBinding.entryToLong(foundKey))));
+                chunk.data.add(encoded ? ExecuteHelpers.bytify(Dictionary.decode(Dictionary.fromBytes(foundData))) : foundData.getData());
+                if(++rows % CHUNK_ROWS == 0) {
+                    put(chunks, chunk);
+                    chunk = new Chunk(rows, -1);
+                }
+            }
+            put(chunks, chunk);
+        } finally {
+            cursor.close();
+            database.close();
+        }
+    }
+
+    /*
+        Merges the runs and puts every value with the row keys holding it, in the session transaction.
+     */
+    private static void merge(List<Run> runs, Database indexDB) throws IOException {
+        PriorityQueue<Run> heads = new PriorityQueue<Run>(Math.max(1, runs.size()), new Comparator<Run>() {
+            public int compare(Run a, Run b) {
+                return ORDER.compare(a.current, b.current);
+            }
+        });
+        for(Run run: runs) {
+            run.advance();
+            if(run.current != null) heads.add(run);
+        }
+        byte[] value = null;
+        ByteArrayOutputStream bOutput = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bOutput);
+        while(!heads.isEmpty()) {
+            Run run = heads.poll();
+            Entry entry = run.current;
+            if(value != null && compareBytes(value, entry.value) != 0) {
+                indexDB.put(ExecuteHelpers.txn(), new DatabaseEntry(value), new DatabaseEntry(bOutput.toByteArray()));
+                bOutput.reset();
+            }
+            value = entry.value;
+            out.writeUTF(new String(entry.rowKey, "UTF-8"));
+            run.advance();
+            if(run.current != null) heads.add(run);
+        }
+        if(value != null)
+            indexDB.put(ExecuteHelpers.txn(), new DatabaseEntry(value), new DatabaseEntry(bOutput.toByteArray()));
+    }
+
+    private static void put(BlockingQueue<Chunk> chunks, Chunk chunk) {
+        try {
+            chunks.put(chunk);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static void join(Thread thread) {
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
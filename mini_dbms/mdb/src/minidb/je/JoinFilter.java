@@ -0,0 +1,89 @@
+package minidb.je;
+
+import java.nio.charset.Charset;
+
+/*
+    Bloom filter over the values one side of a join clause holds in its join column, handed to
+    the scan of the other side: a row whose value is surely not in it has no join partner and is
+    dropped before it is decoded. Row store rows are tested on their stored bytes, the value being
+    the column-th comma separated field.
+    Values are hashed as UTF-8 bytes, a few rows without partner get through (about 2% with 10 bits
+    per value), the hash join drops them.
+ */
+public class JoinFilter {
+
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+    private static final int HASHES = 3;
+
+    private final int column;
+    private final long[] bits;
+    private final int mask;
+
+    /*
+        column : position of the join column in the rows tested, values : expected number of values added.
+     */
+    public JoinFilter(int column, int values) {
+        this.column = column;
+        int size = 64;
+        while(size < 10L * values && size < (1 << 30)) size <<= 1;
+        this.bits = new long[size >>> 6];
+        this.mask = size - 1;
+    }
+
+    public int getColumn() {
+        return column;
+    }
+
+    public void add(String value) {
+        byte[] bytes = value.getBytes(UTF8);
+        long hash = hash(bytes, 0, bytes.length);
+        int h1 = (int) hash, h2 = (int) (hash >>> 32);
+        for(int i = 0; i < HASHES; i++) {
+            int bit = (h1 + i * h2) & mask;
+            bits[bit >>> 6] |= 1L << bit;
+        }
+    }
+
+    public boolean mightContain(String value) {
+        byte[] bytes = value.getBytes(UTF8);
+        return mightContain(bytes, 0, bytes.length);
+    }
+
+    /*
+        Tests the column-th field of a stored row, row being its bytes as read from JE.
+     */
+    public boolean rowMightMatch(byte[] row, int offset, int length) {
+        int end = offset + length, start = offset;
+        for(int field = 0; field < column; field++) {
+            while(start < end && row[start] != ',') start++;
+            if(start == end) return true;
+            start++;
+        }
+        int stop = start;
+        while(stop < end && row[stop] != ',') stop++;
+        return mightContain(row, start, stop - start);
+    }
+
+    private boolean mightContain(byte[] bytes, int offset, int length) {
+        long hash = hash(bytes, offset, length);
+        int h1 = (int) hash, h2 = (int) (hash >>> 32);
+        for(int i = 0; i < HASHES; i++) {
+            int bit = (h1 + i * h2) & mask;
+            if((bits[bit >>> 6] & (1L << bit)) == 0) return false;
+        }
+        return true;
+    }
+
+    //64 bit FNV-1a, then a final mix so both halves are usable
+    private static long hash(byte[] bytes, int offset, int length) {
+        long hash = 0xcbf29ce484222325L;
+        for(int i = offset; i < offset + length; i++) {
+            hash ^= bytes[i] & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
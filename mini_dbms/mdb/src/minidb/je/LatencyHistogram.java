@@ -0,0 +1,74 @@
+package minidb.je;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/*
+    Latency histogram in the spirit of HdrHistogram. A value is bucketed by its highest bit and the
+    SUB_BITS bits below it, so percentiles are exact to within 1/2^SUB_BITS of the value while
+    recording is a couple of atomic increments on a fixed array, without locking or allocation.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BITS = 4;
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+
+    private final AtomicLongArray counts = new AtomicLongArray((64 - SUB_BITS) * SUB_COUNT);
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    public void record(long value) {
+        if(value < 0) value = 0;
+        counts.incrementAndGet(indexOf(value));
+        total.incrementAndGet();
+        long currentMax = max.get();
+        while(value > currentMax && !max.compareAndSet(currentMax, value))
+            currentMax = max.get();
+    }
+
+    public long getCount() {
+        return total.get();
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    /*
+        Smallest recorded bucket holding at least percentile (0 - 100) of the values, 0 if empty.
+     */
+    public long getPercentile(double percentile) {
+        long count = total.get();
+        if(count == 0) return 0;
+        long target = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        long seen = 0;
+        for(int i = 0; i < counts.length(); i++) {
+            seen += counts.get(i);
+            if(seen >= target)
+                return Math.min(highestValueOf(i), max.get());
+        }
+        return max.get();
+    }
+
+    public void reset() {
+        for(int i = 0; i < counts.length(); i++)
+            counts.set(i, 0);
+        total.set(0);
+        max.set(0);
+    }
+
+    private static int indexOf(long value) {
+        //values below SUB_COUNT have a bucket of their own
+        if(value < SUB_COUNT) return (int) value;
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int sub = (int) (value >>> (exponent - SUB_BITS)) & (SUB_COUNT - 1);
+        return (exponent - SUB_BITS + 1) * SUB_COUNT + sub;
+    }
+
+    private static long highestValueOf(int index) {
+        if(index < SUB_COUNT) return index;
+        int shift = index / SUB_COUNT - 1;
+        long lowest = ((long) (SUB_COUNT + index % SUB_COUNT)) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+}
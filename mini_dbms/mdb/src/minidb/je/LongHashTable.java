@@ -0,0 +1,98 @@
+package minidb.je;
+
+import java.util.List;
+
+/*
+    Hash join table for int join columns: row numbers of the build side keyed by the value of
+    their join column. Open addressing over a long[] of keys, the rows of a key chained through
+    int arrays in the order they were added, so building and probing hash no String and allocate
+    nothing per row.
+    Only used when every key is an int written the way Long.toString would write it: two such
+    strings are equal exactly when their numbers are, the join stays a string comparison.
+ */
+public class LongHashTable {
+
+    public static final long NOT_A_KEY = Long.MIN_VALUE;
+
+    private final long[] keys;
+    //per slot : first and last row of the key, plus one (0 for an empty slot)
+    private final int[] heads;
+    private final int[] tails;
+    //per row : next row with the same key, plus one
+    private final int[] next;
+    private final int mask;
+
+    private LongHashTable(int rows) {
+        int capacity = 16;
+        while(capacity < 2L * rows && capacity < (1 << 30)) capacity <<= 1;
+        keys = new long[capacity];
+        heads = new int[capacity];
+        tails = new int[capacity];
+        next = new int[rows];
+        mask = capacity - 1;
+    }
+
+    /*
+        Table of rows on column, null when a value of column is not an int.
+     */
+    public static LongHashTable build(List<String[]> rows, int column) {
+        LongHashTable table = new LongHashTable(rows.size());
+        for(int row = 0; row < rows.size(); row++) {
+            long key = parse(rows.get(row)[column]);
+            if(key == NOT_A_KEY) return null;
+            table.add(key, row);
+        }
+        return table;
+    }
+
+    private void add(long key, int row) {
+        int slot = slot(key);
+        if(heads[slot] == 0) {
+            keys[slot] = key;
+            heads[slot] = row + 1;
+        } else
+            next[tails[slot] - 1] = row + 1;
+        tails[slot] = row + 1;
+    }
+
+    private int slot(long key) {
+        long hash = key * 0x9e3779b97f4a7c15L;
+        int slot = (int) (hash ^ (hash >>> 32)) & mask;
+        while(heads[slot] != 0 && keys[slot] != key)
+            slot = (slot + 1) & mask;
+        return slot;
+    }
+
+    /*
+        First row added with key, -1 if none.
+     */
+    public int first(long key) {
+        if(key == NOT_A_KEY) return -1;
+        return heads[slot(key)] - 1;
+    }
+
+    /*
+        Row added with the same key after row, -1 if none.
+     */
+    public int next(int row) {
+        return next[row] - 1;
+    }
+
+    /*
+        The int value is written, NOT_A_KEY when it is not an int in its shortest form
+        (no sign but -, no leading zero, at most 18 digits).
+     */
+    public static long parse(String value) {
+        int length = value.length();
+        int start = length > 0 && value.charAt(0) == '-' ? 1 : 0;
+        if(length == start || length - start > 18) return NOT_A_KEY;
+        if(value.charAt(start) == '0' && (length - start > 1 || start == 1)) return NOT_A_KEY;
+        long number = 0;
+        for(int i = start; i < length; i++) {
+            char ch = value.charAt(i);
+            if(ch < '0' || ch > '9') return NOT_A_KEY;
+            number = number * 10 + (ch - '0');
+        }
+        return start == 1 ? -number : number;
+    }
+}
@@ -0,0 +1,546 @@
+package minidb.je;
+
+import com.sleepycat.je.Database;
+import com.sleepycat.je.DatabaseEntry;
+import com.sleepycat.je.LockMode;
+import com.sleepycat.je.OperationStatus;
+import com.sleepycat.je.Transaction;
+import mdb.*;
+import minidb.models.Column;
+import minidb.models.Relation;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static minidb.je.ExecuteHelpers.READ_WRITE;
+
+/*
+    CREATE MATERIALIZED VIEW v AS SELECT ... : the rows of the select kept in relation v, an
+    ordinary row store relation (flagged view=materialized) that selects scan like any other.
+    The select joins its relations with equality join clauses, filters them with local clauses
+    and projects columns, SUM(col) and COUNT(*). With an aggregate the projected columns group
+    the rows, v then has one row per group. Without one, v holds every row of the select.
+    The definition is kept in viewDB and parsed again when the catalog is loaded.
+
+    Sessions collect the rows they insert and delete (an update being both) in relations read
+    by views. Before their transaction commits, in that transaction, maintain() nets them per
+    relation (a row inserted and deleted again is no change) and turns them into changes of the
+    views: a change of relation i is joined with the relations before i as they are now and with
+    those after i as they were before the transaction, which is the current state minus its net
+    inserted rows plus its net deleted ones. A joined relation is probed through its
+    index on the join column when it has one, else scanned.
+    v#countDB holds how many times each row (each group) is in the view. A row in v more than
+    once is stored under "row#0", "row#1" ... and a group under "#group".
+ */
+public class MaterializedView {
+
+    /*
+        Rows written by a transaction in one relation.
+     */
+    public static class Delta {
+        public final List<String[]> inserted = new ArrayList<String[]>();
+        public final List<String[]> deleted = new ArrayList<String[]>();
+
+        /*
+            The change the rows amount to: a row both inserted and deleted (inserted then deleted,
+            or the middle state of a row updated twice) counts for neither, as many times as it is
+            in both lists. What is left inserted is in the relation now, what is left deleted was
+            in it before the transaction.
+         */
+        Delta net() {
+            Map<String, Integer> deletedCounts = new HashMap<String, Integer>();
+            for(String[] row: deleted) add(deletedCounts, join(row), 1);
+            Map<String, Integer> cancelled = new HashMap<String, Integer>();
+            Delta net = new Delta();
+            for(String[] row: inserted) {
+                String key = join(row);
+                Integer count = deletedCounts.get(key);
+                if(count != null && count > 0) {
+                    deletedCounts.put(key, count - 1);
+                    add(cancelled, key, 1);
+                } else
+                    net.inserted.add(row);
+            }
+            for(String[] row: deleted) {
+                String key = join(row);
+                Integer count = cancelled.get(key);
+                if(count != null && count > 0) cancelled.put(key, count - 1);
+                else net.deleted.add(row);
+            }
+            return net;
+        }
+
+        private static void add(Map<String, Integer> counts, String key, int count) {
+            Integer current = counts.get(key);
+            counts.put(key, current == null ? count : current + count);
+        }
+    }
+
+    //change of one row, or group, of the view
+    private static class Change {
+        final String[] group;
+        final long[] sums;
+        long count = 0;
+
+        Change(String[] group, int items) {
+            this.group = group;
+            this.sums = new long[items];
+        }
+    }
+
+    private static final int FIELD = 0, SUM = 1, COUNT = 2;
+
+    private final String name;
+    private final String definition;
+    private final List<String> relations = new ArrayList<String>();
+    //local clauses of every relation, null when it has none
+    private final RowFilter[] filters;
+    //{relation, column, relation, column} of every join clause
+    private final List<int[]> joins = new ArrayList<int[]>();
+    private final int[] itemKinds;
+    private final int[] itemRelations;
+    private final int[] itemColumns;
+    private final boolean aggregate;
+    private final String details;
+
+    private MaterializedView(String name, ViewDecl decl, Catalog catalog) {
+        this.name = name;
+        this.definition = decl.toString().trim();
+        AstCursor c = new AstCursor();
+        for (c.FirstElement(decl.getRel_list()); c.MoreElement(); c.NextElement()) {
+            String relationName = c.node.toString().trim();
+            Relation relation = catalog.getRelation(relationName);
+            if(relation == null || relation.isIndex())
+                throw new IllegalArgumentException("Relation not present : " + relationName);
+            if(relation.isView())
+                throw new IllegalArgumentException("A materialized view cannot read another one : " + relationName);
+            if(relations.contains(relationName))
+                throw new IllegalArgumentException(relationName + " is read twice");
+            relations.add(relationName);
+        }
+
+        List<List<AstNode>> localClauses = new ArrayList<List<AstNode>>();
+        List<List<Integer>> localColumns = new ArrayList<List<Integer>>();
+        for(int i = 0; i < relations.size(); i++) {
+            localClauses.add(new ArrayList<AstNode>());
+            localColumns.add(new ArrayList<Integer>());
+        }
+        if(decl.getWherePred() != null) {
+            for (c.FirstElement(decl.getWherePred().arg[0]); c.MoreElement(); c.NextElement()) {
+                int[] left = resolve(c.node.arg[0], catalog);
+                if(c.node instanceof JoinClause) {
+                    int[] right = resolve(c.node.arg[1], catalog);
+                    joins.add(new int[] {left[0], left[1], right[0], right[1]});
+                } else {
+                    localClauses.get(left[0]).add(c.node);
+                    localColumns.get(left[0]).add(left[1]);
+                }
+            }
+        }
+        filters = new RowFilter[relations.size()];
+        for(int i = 0; i < relations.size(); i++) {
+            if(localClauses.get(i).isEmpty()) continue;
+            int[] indices = new int[localColumns.get(i).size()];
+            for(int k = 0; k < indices.length; k++) indices[k] = localColumns.get(i).get(k);
+            filters[i] = new RowFilter(columnTypes(catalog.getRelation(relations.get(i))), localClauses.get(i), indices);
+        }
+
+        List<View_item> items = new ArrayList<View_item>();
+        for (c.FirstElement(decl.getView_list()); c.MoreElement(); c.NextElement())
+            items.add((View_item) c.node);
+        itemKinds = new int[items.size()];
+        itemRelations = new int[items.size()];
+        itemColumns = new int[items.size()];
+        boolean hasAggregate = false;
+        StringBuilder details = new StringBuilder(name + ",");
+        java.util.Set<String> columnNames = new HashSet<String>();
+        for(int k = 0; k < items.size(); k++) {
+            View_item item = items.get(k);
+            String columnName, columnType = "int";
+            if(item instanceof CountItem) {
+                itemKinds[k] = COUNT;
+                columnName = "count_all";
+                hasAggregate = true;
+            } else {
+                int[] column = resolve(item.arg[0], catalog);
+                itemRelations[k] = column[0];
+                itemColumns[k] = column[1];
+                Column base = catalog.getRelation(relations.get(column[0])).getColumns().get(column[1]);
+                if(item instanceof SumItem) {
+                    if(!"int".equals(base.getColumnType()))
+                        throw new IllegalArgumentException("sum of a str column : " + base.getColumnName());
+                    itemKinds[k] = SUM;
+                    columnName = "sum_" + base.getColumnName();
+                    hasAggregate = true;
+                } else {
+                    itemKinds[k] = FIELD;
+                    columnName = base.getColumnName();
+                    columnType = base.getColumnType();
+                }
+            }
+            if(!columnNames.add(columnName)) {
+                columnName = relations.get(itemRelations[k]) + "_" + columnName;
+                columnNames.add(columnName);
+            }
+            details.append(columnName + ":" + columnType + ",");
+        }
+        details.append(Relation.VIEW + ",");
+        this.details = details.toString();
+        this.aggregate = hasAggregate;
+    }
+
+    private static String[] columnTypes(Relation relation) {
+        String[] types = new String[relation.getColumns().size()];
+        for(Column column: relation.getColumns())
+            types[column.getPosition()] = column.getColumnType();
+        return types;
+    }
+
+    /*
+        {relation, column} of a Field_spec, as positions in relations and in the relation.
+     */
+    private int[] resolve(AstNode fieldSpec, Catalog catalog) {
+        String spec = fieldSpec.toString().replaceAll("\\s", "");
+        String qualified = spec.contains(".") ? spec : catalog.disambiguate(spec, relations);
+        if(qualified == null)
+            throw new IllegalArgumentException(spec + " is not a column of " + relations);
+        String relationName = qualified.substring(0, qualified.indexOf('.'));
+        int relation = relations.indexOf(relationName);
+        Column column = relation == -1 ? null : catalog.getRelation(relationName).getColumn(qualified.substring(relationName.length() + 1));
+        if(column == null)
+            throw new IllegalArgumentException(spec + " is not a column of " + relations);
+        return new int[] {relation, column.getPosition()};
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public List<String> getRelations() {
+        return relations;
+    }
+
+    /*
+        Creates the view relation and fills it, in the session transaction.
+     */
+    public static void create(ViewDecl decl) {
+        String name = decl.getRel_name().toString().trim();
+        if(ExecuteHelpers.isTablePresent(name)) {
+            System.err.println(name + " is already created. Try something else");
+            return;
+        }
+        MaterializedView view;
+        try {
+            view = new MaterializedView(name, decl, ExecuteHelpers.catalog);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            return;
+        }
+        Database relationDB = ExecuteHelpers.myDbEnv.getDB("relationDB", READ_WRITE);
+        Database viewDB = ExecuteHelpers.myDbEnv.getDB("viewDB", READ_WRITE);
+        try {
+            DatabaseEntry key = new DatabaseEntry(ExecuteHelpers.bytify(name));
+            relationDB.put(ExecuteHelpers.txn(), key, new DatabaseEntry(ExecuteHelpers.bytify(view.details)));
+            viewDB.put(ExecuteHelpers.txn(), key, new DatabaseEntry(ExecuteHelpers.bytify(view.definition)));
+        } finally {
+            viewDB.close();
+            relationDB.close();
+        }
+        ExecuteHelpers.catalog.addRelation(view.details);
+        ExecuteHelpers.catalog.addView(view);
+
+        Map<String, Change> changes = new LinkedHashMap<String, Change>();
+        view.derive(0, view.rowsOf(0, -1, null, null), 1, new HashMap<String, Delta>(), changes);
+        view.apply(changes);
+        System.out.println("Successfully inserted ... " + name);
+    }
+
+    /*
+        The views of catalog, from the definitions in viewDB.
+     */
+    static List<MaterializedView> load(Catalog catalog, List<String> names) {
+        List<MaterializedView> views = new ArrayList<MaterializedView>();
+        Database viewDB = ExecuteHelpers.myDbEnv.getDB("viewDB", READ_WRITE);
+        try {
+            for(String name: names) {
+                DatabaseEntry data = new DatabaseEntry();
+                if(viewDB.get(null, new DatabaseEntry(ExecuteHelpers.bytify(name)), data, LockMode.READ_COMMITTED)
+                        != OperationStatus.SUCCESS) {
+                    System.err.println("Definition of view " + name + " not found");
+                    continue;
+                }
+                try {
+                    ViewDecl decl = (ViewDecl) StatementCache.parseText(ExecuteHelpers.stringify(data));
+                    views.add(new MaterializedView(name, decl, catalog));
+                } catch (Exception e) {
+                    System.err.println("Cannot load view " + name + " : " + e.getMessage());
+                }
+            }
+        } finally {
+            viewDB.close();
+        }
+        return views;
+    }
+
+    /*
+        Brings every view reading a relation of deltas up to date, called by the session
+        before it commits.
+     */
+    public static void maintain(Map<String, Delta> written) {
+        Map<String, Delta> deltas = new HashMap<String, Delta>();
+        for(Map.Entry<String, Delta> entry: written.entrySet())
+            deltas.put(entry.getKey(), entry.getValue().net());
+        List<MaterializedView> views = new ArrayList<MaterializedView>();
+        for(String relationName: deltas.keySet())
+            for(MaterializedView view: ExecuteHelpers.catalog.getViews(relationName))
+                if(!views.contains(view)) views.add(view);
+        for(MaterializedView view: views) {
+            Map<String, Change> changes = new LinkedHashMap<String, Change>();
+            for(int i = 0; i < view.relations.size(); i++) {
+                Delta delta = deltas.get(view.relations.get(i));
+                if(delta == null) continue;
+                view.derive(i, delta.inserted, 1, deltas, changes);
+                view.derive(i, delta.deleted, -1, deltas, changes);
+            }
+            view.apply(changes);
+        }
+    }
+
+    /*
+        Adds to changes the rows of the view made of rows of relation i (counted sign times) joined
+        with the other relations. Those after i are taken as they were before deltas.
+     */
+    private void derive(int i, List<String[]> rows, int sign, Map<String, Delta> deltas, Map<String, Change> changes) {
+        int n = relations.size();
+        List<String[][]> tuples = new ArrayList<String[][]>();
+        for(String[] row: rows) {
+            if(filters[i] != null && !filters[i].matches(row)) continue;
+            String[][] tuple = new String[n][];
+            tuple[i] = row;
+            tuples.add(tuple);
+        }
+        boolean[] joined = new boolean[n];
+        joined[i] = true;
+        tuples = checkJoins(tuples, joined, i);
+        for(int step = 1; step < n && !tuples.isEmpty(); step++) {
+            //next relation, one joined to those already there if any : {relation, joined relation, its column, column}
+            int[] next = null;
+            for(int[] join: joins) {
+                if(joined[join[0]] && !joined[join[2]]) next = new int[] {join[2], join[0], join[1], join[3]};
+                else if(joined[join[2]] && !joined[join[0]]) next = new int[] {join[0], join[2], join[3], join[1]};
+                if(next != null) break;
+            }
+            if(next == null)
+                for(int j = 0; j < n && next == null; j++)
+                    if(!joined[j]) next = new int[] {j, -1, -1, -1};
+            int j = next[0];
+            java.util.Set<String> values = null;
+            if(next[1] != -1) {
+                values = new HashSet<String>();
+                for(String[][] tuple: tuples) values.add(tuple[next[1]][next[2]]);
+            }
+            List<String[]> candidates = rowsOf(j, next[3], values, j > i ? deltas.get(relations.get(j)) : null);
+
+            List<String[][]> joinedTuples = new ArrayList<String[][]>();
+            if(next[1] != -1) {
+                Map<String, List<String[]>> hash = new HashMap<String, List<String[]>>();
+                for(String[] row: candidates) {
+                    List<String[]> bucket = hash.get(row[next[3]]);
+                    if(bucket == null) hash.put(row[next[3]], bucket = new ArrayList<String[]>());
+                    bucket.add(row);
+                }
+                for(String[][] tuple: tuples) {
+                    List<String[]> bucket = hash.get(tuple[next[1]][next[2]]);
+                    if(bucket == null) continue;
+                    for(String[] row: bucket) {
+                        String[][] extended = tuple.clone();
+                        extended[j] = row;
+                        joinedTuples.add(extended);
+                    }
+                }
+            } else {
+                for(String[][] tuple: tuples)
+                    for(String[] row: candidates) {
+                        String[][] extended = tuple.clone();
+                        extended[j] = row;
+                        joinedTuples.add(extended);
+                    }
+            }
+            joined[j] = true;
+            tuples = checkJoins(joinedTuples, joined, j);
+        }
+        if(tuples.isEmpty()) return;
+        for(String[][] tuple: tuples)
+            accumulate(tuple, sign, changes);
+    }
+
+    /*
+        Keeps the tuples satisfying the join clauses between added and the relations joined so far.
+     */
+    private List<String[][]> checkJoins(List<String[][]> tuples, boolean[] joined, int added) {
+        List<int[]> checks = new ArrayList<int[]>();
+        for(int[] join: joins)
+            if(joined[join[0]] && joined[join[2]] && (join[0] == added || join[2] == added))
+                checks.add(join);
+        if(checks.isEmpty()) return tuples;
+        List<String[][]> kept = new ArrayList<String[][]>();
+        for(String[][] tuple: tuples) {
+            boolean matches = true;
+            for(int[] join: checks)
+                matches &= tuple[join[0]][join[1]].equals(tuple[join[2]][join[3]]);
+            if(matches) kept.add(tuple);
+        }
+        return kept;
+    }
+
+    /*
+        Rows of relation j satisfying its local clauses, at least those whose column holds one of
+        values (all of them when values is null). With before, as they were before those changes.
+     */
+    private List<String[]> rowsOf(int j, int column, java.util.Set<String> values, Delta before) {
+        String relationName = relations.get(j);
+        Relation relation = ExecuteHelpers.catalog.getRelation(relationName);
+        List<String> data = new ArrayList<String>();
+        if(values != null && relation.getColumns().get(column).isIndexed()) {
+            String colName = relationName + "." + relation.getColumns().get(column).getColumnName();
+            for(String value: values)
+                data.addAll(ExecuteHelpers.getIndexedRows(relationName, colName, value)[0]);
+        } else {
+            data = ExecuteHelpers.getSelectData(relation.data())[0];
+            data.remove(0);
+        }
+        List<String[]> rows = new ArrayList<String[]>();
+        if(before == null) {
+            for(String row: data) rows.add(row.split(",", -1));
+        } else {
+            Map<String, Integer> inserted = new HashMap<String, Integer>();
+            for(String[] row: before.inserted) {
+                String key = join(row);
+                Integer count = inserted.get(key);
+                inserted.put(key, count == null ? 1 : count + 1);
+            }
+            for(String row: data) {
+                Integer count = inserted.get(row);
+                if(count != null && count > 0) inserted.put(row, count - 1);
+                else rows.add(row.split(",", -1));
+            }
+            rows.addAll(before.deleted);
+        }
+        if(filters[j] == null) return rows;
+        List<String[]> kept = new ArrayList<String[]>();
+        for(String[] row: rows)
+            if(filters[j].matches(row)) kept.add(row);
+        return kept;
+    }
+
+    private static String join(String[] values) {
+        StringBuilder joined = new StringBuilder();
+        for(int i = 0; i < values.length; i++) {
+            if(i > 0) joined.append(',');
+            joined.append(values[i]);
+        }
+        return joined.toString();
+    }
+
+    private void accumulate(String[][] tuple, int sign, Map<String, Change> changes) {
+        List<String> group = new ArrayList<String>();
+        for(int k = 0; k < itemKinds.length; k++)
+            if(itemKinds[k] == FIELD) group.add(tuple[itemRelations[k]][itemColumns[k]]);
+        String[] values = group.toArray(new String[group.size()]);
+        String key = join(values);
+        Change change = changes.get(key);
+        if(change == null) changes.put(key, change = new Change(values, itemKinds.length));
+        change.count += sign;
+        for(int k = 0; k < itemKinds.length; k++)
+            if(itemKinds[k] == SUM) change.sums[k] += sign * Long.parseLong(tuple[itemRelations[k]][itemColumns[k]]);
+    }
+
+    private void apply(Map<String, Change> changes) {
+        Relation relation = ExecuteHelpers.catalog.getRelation(name);
+        Database viewDB = ExecuteHelpers.myDbEnv.getDB(name + "DB", READ_WRITE);
+        Database countDB = ExecuteHelpers.myDbEnv.getDB(name + "#countDB", READ_WRITE);
+        Database[] indexDBs = new Database[itemKinds.length];
+        Transaction txn = ExecuteHelpers.txn();
+        Session session = Session.current();
+        try {
+            for(Column column: relation.getColumns())
+                if(column.isIndexed())
+                    indexDBs[column.getPosition()] = ExecuteHelpers.myDbEnv.getDB(name + "." + column.getColumnName() + "DB", READ_WRITE);
+            for(Map.Entry<String, Change> entry: changes.entrySet()) {
+                Change change = entry.getValue();
+                DatabaseEntry countKey = new DatabaseEntry(ExecuteHelpers.bytify("#" + entry.getKey()));
+                DatabaseEntry data = new DatabaseEntry();
+                long count = countDB.get(txn, countKey, data, LockMode.RMW) == OperationStatus.SUCCESS ?
+                        Long.parseLong(ExecuteHelpers.stringify(data)) : 0;
+                long newCount = count + change.count;
+                //more rows leaving a group than it had: the view is out of step with its relations
+                if(newCount < 0)
+                    throw new IllegalStateException("Materialized view " + name + " would count " + newCount
+                            + " rows for group " + entry.getKey());
+                if(aggregate) {
+                    String rowKey = "#" + entry.getKey();
+                    DatabaseEntry key = new DatabaseEntry(ExecuteHelpers.bytify(rowKey));
+                    String[] old = null;
+                    if(viewDB.get(txn, key, data, LockMode.RMW) == OperationStatus.SUCCESS) {
+                        old = ExecuteHelpers.stringify(data).split(",", -1);
+                        viewDB.delete(txn, key);
+                        unindex(indexDBs, old, rowKey);
+                        session.rowDeleted(name, old);
+                    }
+                    if(newCount > 0) {
+                        String[] row = new String[itemKinds.length];
+                        int field = 0;
+                        for(int k = 0; k < row.length; k++) {
+                            if(itemKinds[k] == FIELD) row[k] = change.group[field++];
+                            else if(itemKinds[k] == COUNT) row[k] = String.valueOf(newCount);
+                            else row[k] = String.valueOf((old == null ? 0 : Long.parseLong(old[k])) + change.sums[k]);
+                        }
+                        viewDB.put(txn, key, new DatabaseEntry(ExecuteHelpers.bytify(join(row))));
+                        index(indexDBs, row, rowKey);
+                        session.rowInserted(name, row);
+                    }
+                } else {
+                    for(long copy = count; copy < newCount; copy++) {
+                        String rowKey = entry.getKey() + "#" + copy;
+                        viewDB.put(txn, new DatabaseEntry(ExecuteHelpers.bytify(rowKey)),
+                                new DatabaseEntry(ExecuteHelpers.bytify(entry.getKey())));
+                        index(indexDBs, change.group, rowKey);
+                        session.rowInserted(name, change.group);
+                    }
+                    for(long copy = count - 1; copy >= newCount; copy--) {
+                        String rowKey = entry.getKey() + "#" + copy;
+                        viewDB.delete(txn, new DatabaseEntry(ExecuteHelpers.bytify(rowKey)));
+                        unindex(indexDBs, change.group, rowKey);
+                        session.rowDeleted(name, change.group);
+                    }
+                }
+                if(newCount > 0)
+                    countDB.put(txn, countKey, new DatabaseEntry(ExecuteHelpers.bytify(String.valueOf(newCount))));
+                else
+                    countDB.delete(txn, countKey);
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        } finally {
+            for(Database indexDB: indexDBs)
+                if(indexDB != null) indexDB.close();
+            countDB.close();
+            viewDB.close();
+        }
+    }
+
+    private static void index(Database[] indexDBs, String[] row, String rowKey) throws IOException {
+        for(int i = 0; i < indexDBs.length; i++)
+            if(indexDBs[i] != null) ExecuteHelpers.addToIndex(indexDBs[i], row[i], rowKey);
+    }
+
+    private static void unindex(Database[] indexDBs, String[] row, String rowKey) throws IOException {
+        for(int i = 0; i < indexDBs.length; i++)
+            if(indexDBs[i] != null) ExecuteHelpers.removeFromIndex(indexDBs[i], row[i], rowKey);
+    }
+}
@@ -0,0 +1,222 @@
+package minidb.je;
+
+import com.sleepycat.je.EnvironmentStats;
+import com.sleepycat.je.StatsConfig;
+import mdb.*;
+
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+    Process wide statement metrics: a latency histogram per statement type and counters of the
+    work done reading JE. Shown by SHOW STATS and exported over JMX as minidb:type=Metrics.
+ */
+public class Metrics implements MetricsMXBean {
+
+    public static final String SELECT = "SELECT";
+    public static final String INSERT = "INSERT";
+    public static final String UPDATE = "UPDATE";
+    public static final String DELETE = "DELETE";
+    public static final String DDL = "DDL";
+    public static final String OTHER = "OTHER";
+
+    private static final Metrics metrics = new Metrics();
+
+    private final Map<String, LatencyHistogram> latencies = new LinkedHashMap<String, LatencyHistogram>();
+    private final AtomicLong rowsScanned = new AtomicLong();
+    private final AtomicLong rowsReturned = new AtomicLong();
+    private final AtomicLong indexLookups = new AtomicLong();
+    private final AtomicLong fullScans = new AtomicLong();
+    private final AtomicLong bytesRead = new AtomicLong();
+    private final AtomicLong planCacheHits = new AtomicLong();
+    private final AtomicLong planCacheMisses = new AtomicLong();
+    private final AtomicLong resultCacheHits = new AtomicLong();
+    private final AtomicLong resultCacheMisses = new AtomicLong();
+
+    private Metrics() {
+        for(String type: new String[] {SELECT, INSERT, UPDATE, DELETE, DDL, OTHER})
+            latencies.put(type, new LatencyHistogram());
+    }
+
+    public static Metrics get() {
+        return metrics;
+    }
+
+    public static void register() {
+        try {
+            ObjectName name = new ObjectName("minidb:type=Metrics");
+            if(!ManagementFactory.getPlatformMBeanServer().isRegistered(name))
+                ManagementFactory.getPlatformMBeanServer().registerMBean(metrics, name);
+        } catch (Exception e) {
+            System.err.println("Could not register the metrics MBean: " + e.toString());
+        }
+    }
+
+    public static String statementType(AstNode statement) {
+        if(statement instanceof Select || statement instanceof Explain) return SELECT;
+        if(statement instanceof Insert) return INSERT;
+        if(statement instanceof Update) return UPDATE;
+        if(statement instanceof Delete) return DELETE;
+        if(statement instanceof Decl_rel || statement instanceof Decl_ind || statement instanceof Decl_view) return DDL;
+        return OTHER;
+    }
+
+    public void recordStatement(AstNode statement, long nanos) {
+        latencies.get(statementType(statement)).record(nanos);
+    }
+
+    public void rowRead(long bytes) {
+        rowsScanned.incrementAndGet();
+        bytesRead.addAndGet(bytes);
+    }
+
+    public void rowsReturned(long rows) {
+        rowsReturned.addAndGet(rows);
+    }
+
+    public void indexLookup() {
+        indexLookups.incrementAndGet();
+    }
+
+    public void fullScan() {
+        fullScans.incrementAndGet();
+    }
+
+    public void planCacheHit() {
+        planCacheHits.incrementAndGet();
+    }
+
+    public void planCacheMiss() {
+        planCacheMisses.incrementAndGet();
+    }
+
+    public void resultCacheHit() {
+        resultCacheHits.incrementAndGet();
+    }
+
+    public void resultCacheMiss() {
+        resultCacheMisses.incrementAndGet();
+    }
+
+    public Map<String, Long> getStatementCounts() {
+        Map<String, Long> counts = new LinkedHashMap<String, Long>();
+        for(String type: latencies.keySet())
+            counts.put(type, latencies.get(type).getCount());
+        return counts;
+    }
+
+    public Map<String, Long> getP50Nanos() {
+        return percentiles(50);
+    }
+
+    public Map<String, Long> getP99Nanos() {
+        return percentiles(99);
+    }
+
+    public Map<String, Long> getP999Nanos() {
+        return percentiles(99.9);
+    }
+
+    private Map<String, Long> percentiles(double percentile) {
+        Map<String, Long> values = new LinkedHashMap<String, Long>();
+        for(String type: latencies.keySet())
+            values.put(type, latencies.get(type).getPercentile(percentile));
+        return values;
+    }
+
+    public long getRowsScanned() {
+        return rowsScanned.get();
+    }
+
+    public long getRowsReturned() {
+        return rowsReturned.get();
+    }
+
+    public long getIndexLookups() {
+        return indexLookups.get();
+    }
+
+    public long getFullScans() {
+        return fullScans.get();
+    }
+
+    public long getBytesRead() {
+        return bytesRead.get();
+    }
+
+    public long getPlanCacheHits() {
+        return planCacheHits.get();
+    }
+
+    public long getPlanCacheMisses() {
+        return planCacheMisses.get();
+    }
+
+    public long getResultCacheHits() {
+        return resultCacheHits.get();
+    }
+
+    public long getResultCacheMisses() {
+        return resultCacheMisses.get();
+    }
+
+    public int getScratchStores() {
+        return ScratchSpace.getOpenStores();
+    }
+
+    public long getScratchBytesWritten() {
+        return ScratchSpace.getBytesWritten();
+    }
+
+    public void reset() {
+        for(LatencyHistogram histogram: latencies.values())
+            histogram.reset();
+        rowsScanned.set(0);
+        rowsReturned.set(0);
+        indexLookups.set(0);
+        fullScans.set(0);
+        bytesRead.set(0);
+        planCacheHits.set(0);
+        planCacheMisses.set(0);
+        resultCacheHits.set(0);
+        resultCacheMisses.set(0);
+    }
+
+    /*
+        SHOW STATS output, latencies in microseconds, followed by a few JE environment statistics.
+     */
+    public String toString() {
+        StringBuilder out = new StringBuilder();
+        out.append(String.format("%-10s %10s %10s %10s %10s %10s\n", "statement", "count", "p50 us", "p99 us", "p999 us", "max us"));
+        for(String type: latencies.keySet()) {
+            LatencyHistogram histogram = latencies.get(type);
+            out.append(String.format("%-10s %10d %10d %10d %10d %10d\n", type, histogram.getCount(),
+                    histogram.getPercentile(50) / 1000, histogram.getPercentile(99) / 1000,
+                    histogram.getPercentile(99.9) / 1000, histogram.getMax() / 1000));
+        }
+        out.append("\nrows scanned     : " + rowsScanned.get() + "\n");
+        out.append("rows returned    : " + rowsReturned.get() + "\n");
+        out.append("index lookups    : " + indexLookups.get() + "\n");
+        out.append("full scans       : " + fullScans.get() + "\n");
+        out.append("bytes read       : " + bytesRead.get() + "\n");
+        out.append("plan cache       : " + planCacheHits.get() + " hits, " + planCacheMisses.get() + " misses\n");
+        out.append("result cache     : " + resultCacheHits.get() + " hits, " + resultCacheMisses.get() + " misses\n");
+        out.append("query memory     : " + QueryMemory.getReserved() + " of " + QueryMemory.getPool() + " bytes reserved\n");
+        out.append("scratch space    : " + ScratchSpace.getOpenStores() + " stores holding " + ScratchSpace.getBytesHeld()
+                + " bytes, " + ScratchSpace.getStoresCreated() + " created, " + ScratchSpace.getBytesWritten() + " bytes written\n");
+
+        StatsConfig config = new StatsConfig();
+        config.setFast(true);
+        EnvironmentStats stats = ExecuteHelpers.myDbEnv.getEnv().getStats(config);
+        out.append("\nje cache misses  : " + stats.getNCacheMiss() + "\n");
+        out.append("je cache bytes   : " + stats.getCacheTotalBytes() + "\n");
+        out.append("je cleaner runs  : " + stats.getNCleanerRuns() + "\n");
+        out.append("je log fsyncs    : " + stats.getNLogFSyncs() + "\n");
+        out.append("group commits    : " + Session.getCommitBatcher().getCommitCount()
+                + " commits in " + Session.getCommitBatcher().getFlushCount() + " flushes\n");
+        return out.toString();
+    }
+}
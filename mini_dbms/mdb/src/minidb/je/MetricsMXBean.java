@@ -0,0 +1,42 @@
+package minidb.je;
+
+import java.util.Map;
+
+/*
+    JMX view of Metrics, registered as minidb:type=Metrics.
+    Maps are keyed by statement type (SELECT, INSERT, UPDATE, DELETE, DDL, OTHER).
+ */
+public interface MetricsMXBean {
+
+    Map<String, Long> getStatementCounts();
+
+    Map<String, Long> getP50Nanos();
+
+    Map<String, Long> getP99Nanos();
+
+    Map<String, Long> getP999Nanos();
+
+    long getRowsScanned();
+
+    long getRowsReturned();
+
+    long getIndexLookups();
+
+    long getFullScans();
+
+    long getBytesRead();
+
+    long getPlanCacheHits();
+
+    long getPlanCacheMisses();
+
+    long getResultCacheHits();
+
+    long getResultCacheMisses();
+
+    int getScratchStores();
+
+    long getScratchBytesWritten();
+
+    void reset();
+}
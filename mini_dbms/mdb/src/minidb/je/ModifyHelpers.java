@@ -0,0 +1,255 @@
+package minidb.je;
+
+import com.sleepycat.je.*;
+import mdb.AstNode;
+import mdb.Equ;
+import mdb.Rel;
+import minidb.models.Column;
+import minidb.models.Relation;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static minidb.je.ExecuteHelpers.READ_ONLY;
+import static minidb.je.ExecuteHelpers.READ_WRITE;
+
+/*
+    UPDATE and DELETE run as a single pass over a cursor on the relation.
+    Rows are read, checked against the local predicates and then changed in place
+    with Cursor.putCurrent()/Cursor.delete(). The key of a row is made of its values, so an
+    updated row is deleted and put again under the key of its new values, as INSERT would have
+    written it; those puts wait for the end of the pass so that the cursor never meets them again.
+    A row stored under its PRIMARY KEY keeps its key, and only the indexes of the columns whose
+    value actually changed have to be touched.
+    When the relation has a PRIMARY KEY, predicates on it position the cursor on the rows they allow.
+    Columnar relations are walked the same way with a cursor per column, and only the
+    columns whose value changed are written back.
+ */
+public class ModifyHelpers {
+
+    /*
+        Called for every row satisfying the predicates.
+        Return the new row to store it in place, or null to delete the row.
+     */
+    public interface RowModifier {
+        String[] modify(String[] row);
+    }
+
+    /*
+        relationMetaData : "dept,deptno:int,chair:str,"
+        Returns the number of rows updated or deleted.
+     */
+    public static int modifyRows(String relationMetaData, Map<String, List<AstNode>> clauses, RowModifier modifier) {
+        String relationName = relationMetaData.split(",")[0];
+        if(ExecuteHelpers.catalog.getRelation(relationName).isView()) {
+            System.err.println(relationName + " is a materialized view, it changes with the relations it reads");
+            return 0;
+        }
+        List<String> meta = new ArrayList<String>();
+        meta.add(relationMetaData);
+        Map<String, String[]> metaColumnRelation = new HashMap<String, String[]>();
+        Map<String, String[]> metaColumnTypeRelation = new HashMap<String, String[]>();
+        PredicateHelpers.formatData(metaColumnRelation, metaColumnTypeRelation, new HashMap<String, List<String[]>>(), meta);
+        String[] columnNames = metaColumnRelation.get(relationName);
+        String[] columnTypes = metaColumnTypeRelation.get(relationName);
+        int[] indices = PredicateHelpers.setIndices(metaColumnRelation, clauses, relationName);
+        RowFilter filter = new RowFilter(columnTypes, clauses.get(relationName), indices);
+
+        //open each index of the relation once for the whole statement
+        List<String> indexes = ExecuteHelpers.getAllIndexes(relationName);
+        Database[] indexDBs = new Database[columnNames.length];
+        Database relationDB = null;
+        Cursor cursor = null;
+        int modified = 0;
+        try {
+            for(int i = 0; i < columnNames.length; i++)
+                if(indexes.contains(columnNames[i]))
+                    indexDBs[i] = ExecuteHelpers.myDbEnv.getDB(columnNames[i] + "DB", READ_WRITE);
+            Relation relation = ExecuteHelpers.catalog.getRelation(relationName);
+            if(relation != null && relation.isColumnar())
+                return modifyColumnar(relation, clauses, modifier, filter, indexDBs);
+            relationDB = ExecuteHelpers.myDbEnv.getDB(relationName + "DB", READ_WRITE);
+            cursor = relationDB.openCursor(ExecuteHelpers.txn(), null);
+            //rows updated under a new key, put once the pass is over
+            List<DatabaseEntry[]> moved = relation != null && relation.getKeyColumn() != null ? null : new ArrayList<DatabaseEntry[]>();
+
+            DatabaseEntry foundKey = new DatabaseEntry();
+            DatabaseEntry foundData = new DatabaseEntry();
+            PrimaryKey.Range keyRange = PrimaryKey.range(relationName, clauses.get(relationName));
+            List<String> rowKeys = keyRange == null ? getIndexedRowKeys(relationName, clauses.get(relationName)) : null;
+            if(keyRange != null) {
+                Metrics.get().indexLookup();
+                //rows are stored under their primary key: walk the keys the predicates allow
+                for(OperationStatus status = keyRange.first(cursor, foundKey, foundData, LockMode.RMW);
+                        status == OperationStatus.SUCCESS; status = keyRange.next(cursor, foundKey, foundData, LockMode.RMW))
+                    if(modifyCurrent(relationName, cursor, foundKey, foundData, filter, indexDBs, modifier, moved))
+                        modified++;
+            } else if(rowKeys != null) {
+                Metrics.get().indexLookup();
+                //index probe: position the cursor directly on each qualifying row
+                for(String rowKey: rowKeys) {
+                    foundKey.setData(ExecuteHelpers.bytify(rowKey));
+                    if(cursor.getSearchKey(foundKey, foundData, LockMode.RMW) == OperationStatus.SUCCESS &&
+                            modifyCurrent(relationName, cursor, foundKey, foundData, filter, indexDBs, modifier, moved))
+                        modified++;
+                }
+            } else {
+                Metrics.get().fullScan();
+                while(cursor.getNext(foundKey, foundData, LockMode.RMW) == OperationStatus.SUCCESS)
+                    if(modifyCurrent(relationName, cursor, foundKey, foundData, filter, indexDBs, modifier, moved))
+                        modified++;
+            }
+            if(moved != null)
+                for(DatabaseEntry[] row: moved)
+                    relationDB.put(ExecuteHelpers.txn(), row[0], row[1]);
+        } catch (IOException e) {
+            e.printStackTrace();
+        } finally {
+            if(cursor != null) cursor.close();
+            if(relationDB != null) relationDB.close();
+            for(Database indexDB: indexDBs)
+                if(indexDB != null) indexDB.close();
+        }
+        return modified;
+    }
+
+    private static boolean modifyCurrent(String relationName, Cursor cursor, DatabaseEntry foundKey, DatabaseEntry foundData,
+                                         RowFilter filter, Database[] indexDBs, RowModifier modifier,
+                                         List<DatabaseEntry[]> moved) throws IOException {
+        Metrics.get().rowRead(foundKey.getSize() + foundData.getSize());
+        String[] row = ExecuteHelpers.stringify(foundData).split(",");
+        if(!filter.matches(row))
+            return false;
+        String rowKey = ExecuteHelpers.stringify(foundKey);
+        String[] newRow = modifier.modify(row.clone());
+        Session.current().rowDeleted(relationName, row);
+        if(newRow == null) {
+            cursor.delete();
+            for(int i = 0; i < indexDBs.length; i++)
+                if(indexDBs[i] != null)
+                    ExecuteHelpers.removeFromIndex(indexDBs[i], row[i], rowKey);
+            return true;
+        }
+        StringBuilder rowStr = new StringBuilder();
+        for(int i = 0; i < newRow.length - 1; i++) rowStr.append(newRow[i]+",");
+        rowStr.append(newRow[newRow.length-1]);
+        Session.current().rowInserted(relationName, newRow);
+        if(moved != null && !Arrays.equals(row, newRow)) {
+            String newKey = (System.currentTimeMillis() / 1000L) + ":" + rowStr.toString();
+            cursor.delete();
+            moved.add(new DatabaseEntry[] {new DatabaseEntry(ExecuteHelpers.bytify(newKey)),
+                    new DatabaseEntry(ExecuteHelpers.bytify(rowStr.toString()))});
+            for(int i = 0; i < indexDBs.length; i++) {
+                if(indexDBs[i] == null) continue;
+                ExecuteHelpers.removeFromIndex(indexDBs[i], row[i], rowKey);
+                ExecuteHelpers.addToIndex(indexDBs[i], newRow[i], newKey);
+            }
+            return true;
+        }
+        cursor.putCurrent(new DatabaseEntry(ExecuteHelpers.bytify(rowStr.toString())));
+        for(int i = 0; i < indexDBs.length; i++) {
+            //Key of the row is unchanged, only indexes of changed columns need maintenance.
+            if(indexDBs[i] == null || row[i].equals(newRow[i])) continue;
+            ExecuteHelpers.removeFromIndex(indexDBs[i], row[i], rowKey);
+            ExecuteHelpers.addToIndex(indexDBs[i], newRow[i], rowKey);
+        }
+        return true;
+    }
+
+    private static int modifyColumnar(Relation relation, Map<String, List<AstNode>> clauses, RowModifier modifier,
+                                      RowFilter filter, Database[] indexDBs) throws IOException {
+        String relationName = relation.getRelationName();
+        boolean[] allColumns = new boolean[indexDBs.length];
+        Arrays.fill(allColumns, true);
+        ColumnStore.RowCursor cursor = new ColumnStore.RowCursor(relation, allColumns, ExecuteHelpers.txn(), null, READ_WRITE);
+        Database meta = ColumnStore.openMeta(relationName);
+        int modified = 0;
+        try {
+            List<String> rowKeys = getIndexedRowKeys(relationName, clauses.get(relationName));
+            if(rowKeys != null) {
+                Metrics.get().indexLookup();
+                for(String rowKey: rowKeys)
+                    if(modifyColumnarRow(cursor, meta, ColumnStore.rowId(rowKey), LockMode.RMW, relation, filter, indexDBs, modifier))
+                        modified++;
+            } else {
+                Metrics.get().fullScan();
+                for(long rowId = cursor.next(0, LockMode.RMW); rowId != -1; rowId = cursor.next(0, LockMode.RMW))
+                    if(modifyColumnarRow(cursor, meta, rowId, LockMode.RMW, relation, filter, indexDBs, modifier))
+                        modified++;
+            }
+        } finally {
+            cursor.close();
+            meta.close();
+        }
+        return modified;
+    }
+
+    private static boolean modifyColumnarRow(ColumnStore.RowCursor cursor, Database meta, long rowId, LockMode lockMode,
+                                             Relation relation, RowFilter filter, Database[] indexDBs,
+                                             RowModifier modifier) throws IOException {
+        for(int i = 0; i < indexDBs.length; i++)
+            if(!cursor.isRead(i, rowId) && !cursor.read(i, rowId, lockMode))
+                return false;
+        Metrics.get().rowRead(cursor.getBytesRead());
+        String[] row = cursor.getRow().clone();
+        if(!filter.matches(row))
+            return false;
+        String rowKey = ColumnStore.rowKey(rowId);
+        String[] newRow = modifier.modify(row.clone());
+        Session.current().rowDeleted(relation.getRelationName(), row);
+        if(newRow == null) {
+            cursor.delete();
+            for(int i = 0; i < indexDBs.length; i++)
+                if(indexDBs[i] != null)
+                    ExecuteHelpers.removeFromIndex(indexDBs[i], row[i], rowKey);
+            return true;
+        }
+        Session.current().rowInserted(relation.getRelationName(), newRow);
+        for(Column column: relation.getColumns()) {
+            int i = column.getPosition();
+            if(row[i].equals(newRow[i])) continue;
+            cursor.put(i, newRow[i]);
+            ColumnStore.widenZone(meta, column, rowId, newRow[i]);
+            if(indexDBs[i] != null) {
+                ExecuteHelpers.removeFromIndex(indexDBs[i], row[i], rowKey);
+                ExecuteHelpers.addToIndex(indexDBs[i], newRow[i], rowKey);
+            }
+        }
+        return true;
+    }
+
+    /*
+        Same index choice as ExecuteHelpers.getSelectData: the first equality clause on an indexed column.
+        Returns the row keys stored in the index for that value, or null if no index can be used.
+     */
+    private static List<String> getIndexedRowKeys(String relationName, List<AstNode> clauses) throws IOException {
+        if(clauses == null) return null;
+        for(AstNode clause: clauses) {
+            Rel operator = (Rel) clause.arg[1];
+            String colName = ExecuteHelpers.sanitizeColumn(clause.arg[0].toString().trim(), relationName);
+            if(!(operator instanceof Equ) || !ExecuteHelpers.isTablePresent(colName)) continue;
+            String rhs = clause.arg[2].toString().trim().replaceAll(",", "&&");
+            List<String> rowKeys = new ArrayList<String>();
+            Database indexDB = ExecuteHelpers.myDbEnv.getDB(colName + "DB", READ_ONLY);
+            try {
+                DatabaseEntry tempData = new DatabaseEntry();
+                indexDB.get(ExecuteHelpers.txn(), new DatabaseEntry(ExecuteHelpers.bytify(rhs)), tempData, LockMode.DEFAULT);
+                if(tempData.getSize() != 0) {
+                    DataInputStream in = new DataInputStream(new ByteArrayInputStream(tempData.getData()));
+                    while (in.available() > 0)
+                        rowKeys.add(in.readUTF());
+                }
+            } finally {
+                indexDB.close();
+            }
+            return rowKeys;
+        }
+        return null;
+    }
+}
@@ -8,7 +8,10 @@ import java.io.File;
 
 public class MyDbEnv {
 
-    private Environment myEnv;
+    //opened on first use
+    private volatile Environment myEnv;
+    private File envHome;
+    private boolean readOnly;
 
     // The databases that our application uses
 //    private Database relationDB;
@@ -27,12 +30,21 @@ public class MyDbEnv {
         dbConfig.setReadOnly(readOnly);
         dbConfig.setTransactional(!readOnly);
         dbConfig.setAllowCreate(!readOnly);
-        return myEnv.openDatabase(null, dbName, dbConfig);
+        return getEnv().openDatabase(null, dbName, dbConfig);
     }
 
-    // The setup() method opens all our databases and the environment
+    /*
+        Remembers where the environment is. It is opened by the first statement that needs it, so
+        a session that starts with OPEN never opens the default one.
+     */
+    public void setup(File envHome, boolean readOnly) {
+        this.envHome = envHome;
+        this.readOnly = readOnly;
+    }
+
+    // The open() method opens all our databases and the environment
     // for us.
-    public void setup(File envHome, boolean readOnly)
+    private void open()
         throws DatabaseException {
 
         EnvironmentConfig myEnvConfig = new EnvironmentConfig();
@@ -58,7 +70,10 @@ public class MyDbEnv {
         mySecConfig.setTransactional(!readOnly);
 
         // Open the environment
-        myEnv = new Environment(envHome, myEnvConfig);
+        Environment env = new Environment(envHome, myEnvConfig);
+        //queries get what the JE cache leaves
+        QueryMemory.configure(env);
+        myEnv = env;
 
 
         // Now open, or create and open, our databases
@@ -119,9 +134,22 @@ public class MyDbEnv {
 
     // Needed for things like beginning transactions
     public Environment getEnv() {
+        if(myEnv == null) {
+            synchronized (this) {
+                if(myEnv == null) open();
+            }
+        }
         return myEnv;
     }
 
+    public boolean isOpen() {
+        return myEnv != null;
+    }
+
+    public File getHome() {
+        return envHome;
+    }
+
 //    public Database getRelationDB() {
 //        return relationDB;
 //    }
@@ -152,6 +180,7 @@ public class MyDbEnv {
 
                 // Finally, close the environment.
                 myEnv.close();
+                myEnv = null;
             } catch(DatabaseException dbe) {
                 System.err.println("Error closing MyDbEnv: " +
                                     dbe.toString());
@@ -49,34 +49,11 @@ public class PredicateHelpers {
         return indices;
     }
 
+    /*
+        Compiles the clauses on every call, loops over rows should build a RowFilter once instead.
+     */
     public static boolean applyLocalPredicate(String[] metaColumnType, Map<String, List<AstNode>> clauses, String relation, int[] indices, String[] row) {
-        boolean keepRow = true;
-        for (int i = 0; i < indices.length; i++) {
-            //clauses.get(relation) is ArrayList
-            Rel operator = (Rel) clauses.get(relation).get(i).arg[1];
-            String rhs1 = clauses.get(relation).get(i).arg[2].toString().trim().replaceAll(",", "&&");
-            String col1 = row[indices[i]];
-            if ("int".equals(metaColumnType[indices[i]])) {
-                int col = Integer.parseInt(col1);
-                int rhs = Integer.parseInt(rhs1);
-                if (
-                        (operator instanceof Equ && !(col == rhs)) ||
-                                (operator instanceof Neq && !(col != rhs)) ||
-                                (operator instanceof Geq && !(col >= rhs)) ||
-                                (operator instanceof Leq && !(col <= rhs)) ||
-                                (operator instanceof Lss && !(col < rhs)) ||
-                                (operator instanceof Gtr && !(col > rhs)))
-                    keepRow = false;
-            } else if (
-                    (operator instanceof Equ && !(col1.compareTo(rhs1) == 0)) ||
-                            (operator instanceof Neq && !(col1.compareTo(rhs1) != 0)) ||
-                            (operator instanceof Geq && !(col1.compareTo(rhs1) >= 0)) ||
-                            (operator instanceof Leq && !(col1.compareTo(rhs1) <= 0)) ||
-                            (operator instanceof Lss && !(col1.compareTo(rhs1) < 0)) ||
-                            (operator instanceof Gtr && !(col1.compareTo(rhs1) > 0)))
-                keepRow = false;
-        }
-        return keepRow;
+        return new RowFilter(metaColumnType, clauses.get(relation), indices).matches(row);
     }
 
     public static void formatData(Map<String, String[]> metaColumnRelation,
@@ -95,7 +72,8 @@ public class PredicateHelpers {
         metaColumnRelation.put(meta[0], columnNames);
         metaColumnTypeRelation.put(meta[0], columnTypes);
         List<String[]> rows = new ArrayList<String[]>();
-        for(String s: data) rows.add(s.split(","));
+        //-1 keeps the empty values of the columns a columnar scan did not read
+        for(String s: data) rows.add(s.split(",", -1));
         // relationName -> [["val1","val2"], ["val1","val2"]...]
         allRowsOfRelations.put(meta[0], rows);
     }
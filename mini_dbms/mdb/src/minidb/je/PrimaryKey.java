@@ -0,0 +1,177 @@
+package minidb.je;
+
+import com.sleepycat.je.*;
+import mdb.*;
+import minidb.models.Column;
+import minidb.models.Relation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static minidb.je.ExecuteHelpers.READ_ONLY;
+
+/*
+    Rows of a relation with a PRIMARY KEY column are stored under the encoded value of that column
+    rather than under a generated key, so a predicate on it is answered by the relation itself:
+    an equality is one Cursor.getSearchKey, a range a getSearchKeyRange followed by getNext until
+    the upper bound. The encodings sort like the values: an int is its 32 bits with the sign bit
+    flipped, written as 8 hex digits, a str is its stored text (equality only, the text order of
+    RowFilter is not the byte order for every character).
+ */
+public class PrimaryKey {
+
+    /*
+        Row key of the row holding value in the key column of relation, null if value cannot be one.
+     */
+    public static String encode(Relation relation, String value) {
+        if(!"int".equals(relation.getKeyColumn().getColumnType()))
+            return value;
+        try {
+            return encode(Integer.parseInt(value));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static String encode(int value) {
+        String hex = Integer.toHexString(value ^ Integer.MIN_VALUE);
+        return "00000000".substring(hex.length()) + hex;
+    }
+
+    /*
+        Keys from low to high, both included.
+     */
+    public static class Range {
+        private final String low;
+        private final String high;
+        private final boolean empty;
+        //the clauses the range stands for
+        private final List<AstNode> clauses;
+
+        private Range(String low, String high, boolean empty, List<AstNode> clauses) {
+            this.low = low;
+            this.high = high;
+            this.empty = empty;
+            this.clauses = clauses;
+        }
+
+        public boolean isPoint() {
+            return low.equals(high);
+        }
+
+        public List<AstNode> getClauses() {
+            return clauses;
+        }
+
+        /*
+            Positions cursor on the first row of the range. Anything but SUCCESS when there is none.
+         */
+        public OperationStatus first(Cursor cursor, DatabaseEntry key, DatabaseEntry data, LockMode lockMode) {
+            if(empty) return OperationStatus.NOTFOUND;
+            key.setData(ExecuteHelpers.bytify(low));
+            OperationStatus status = isPoint() ? cursor.getSearchKey(key, data, lockMode)
+                    : cursor.getSearchKeyRange(key, data, lockMode);
+            return status == OperationStatus.SUCCESS && !contains(key) ? OperationStatus.NOTFOUND : status;
+        }
+
+        /*
+            Moves cursor to the next row of the range.
+         */
+        public OperationStatus next(Cursor cursor, DatabaseEntry key, DatabaseEntry data, LockMode lockMode) {
+            if(isPoint()) return OperationStatus.NOTFOUND;
+            OperationStatus status = cursor.getNext(key, data, lockMode);
+            return status == OperationStatus.SUCCESS && !contains(key) ? OperationStatus.NOTFOUND : status;
+        }
+
+        private boolean contains(DatabaseEntry key) {
+            return ExecuteHelpers.compareKeys(key.getData(), ExecuteHelpers.bytify(high)) <= 0;
+        }
+    }
+
+    /*
+        The keys the clauses on the key column of relationName allow, null when the relation has no
+        key or no clause narrows it.
+     */
+    public static Range range(String relationName, List<AstNode> clauses) {
+        Relation relation = ExecuteHelpers.catalog.getRelation(relationName);
+        if(relation == null || clauses == null || relation.getKeyColumn() == null) return null;
+        Column keyColumn = relation.getKeyColumn();
+        String keyName = relationName + "." + keyColumn.getColumnName();
+        boolean intKey = "int".equals(keyColumn.getColumnType());
+        long low = Integer.MIN_VALUE, high = Integer.MAX_VALUE;
+        String text = null;
+        boolean empty = false;
+        List<AstNode> used = new ArrayList<AstNode>();
+        for(AstNode clause: clauses) {
+            if(!ExecuteHelpers.sanitizeColumn(clause.arg[0].toString().trim(), relationName).equals(keyName)) continue;
+            Rel operator = (Rel) clause.arg[1];
+            String rhs = clause.arg[2].toString().trim().replaceAll(",", "&&");
+            if(!intKey) {
+                if(!(operator instanceof Equ)) continue;
+                empty |= text != null && !text.equals(rhs);
+                text = rhs;
+                used.add(clause);
+                continue;
+            }
+            long value;
+            try {
+                value = Integer.parseInt(rhs);
+            } catch (NumberFormatException e) {
+                continue;
+            }
+            if(operator instanceof Equ) {
+                low = Math.max(low, value);
+                high = Math.min(high, value);
+            } else if(operator instanceof Lss)
+                high = Math.min(high, value - 1);
+            else if(operator instanceof Leq)
+                high = Math.min(high, value);
+            else if(operator instanceof Gtr)
+                low = Math.max(low, value + 1);
+            else if(operator instanceof Geq)
+                low = Math.max(low, value);
+            else
+                continue;
+            used.add(clause);
+        }
+        if(used.isEmpty()) return null;
+        if(!intKey) return new Range(text, text, empty, used);
+        if(low > high) return new Range(encode(0), encode(0), true, used);
+        return new Range(encode((int) low), encode((int) high), false, used);
+    }
+
+    /*
+        Rows of relationName with a key in range, in the format of getAllRowsOfTable.
+     */
+    public static ArrayList<String>[] getRows(String relationName, Range range) {
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        ArrayList<String>[] returnVal = new ArrayList[2];
+        returnVal[0] = new ArrayList<String>(); returnVal[1] = new ArrayList<String>();
+        Database database = ExecuteHelpers.myDbEnv.getDB(relationName + "DB", READ_ONLY);
+        Session session = Session.current();
+        Cursor cursor = database.openCursor(session.getReadTxn(), session.getReadCursorConfig());
+        QueryMemory.Grant memory = session.getMemory();
+        long unreserved = 0;
+        Metrics.get().indexLookup();
+        DatabaseEntry foundKey = new DatabaseEntry();
+        DatabaseEntry foundData = new DatabaseEntry();
+        try {
+            for(OperationStatus status = range.first(cursor, foundKey, foundData, session.getReadLockMode());
+                    status == OperationStatus.SUCCESS; status = range.next(cursor, foundKey, foundData, session.getReadLockMode())) {
+                Metrics.get().rowRead(foundKey.getSize() + foundData.getSize());
+                unreserved += QueryMemory.storedRowBytes(foundKey.getSize(), foundData.getSize());
+                if(memory != null && returnVal[0].size() % QueryMemory.CHUNK_ROWS == 0) {
+                    memory.reserve(unreserved);
+                    unreserved = 0;
+                }
+                returnVal[0].add(ExecuteHelpers.stringify(foundData));
+                returnVal[1].add(ExecuteHelpers.stringify(foundKey));
+            }
+            if(memory != null) memory.reserve(unreserved);
+        } finally {
+            cursor.close();
+            database.close();
+        }
+        return returnVal;
+    }
+}
@@ -0,0 +1,221 @@
+package minidb.je;
+
+import com.sleepycat.asm.ClassWriter;
+import com.sleepycat.asm.Label;
+import com.sleepycat.asm.MethodVisitor;
+import com.sleepycat.asm.Opcodes;
+import mdb.*;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+    Turns a select over a single relation into a QueryProgram class generated with the ASM
+    bundled with JE. The loop over the rows, the split of each row, the clauses and the
+    projection are fused into one method: clause columns, right hand sides and projected
+    columns are constants of the bytecode and every operator is a single compare and jump.
+    Programs are cached by their plan, a repeated query only pays for its scan.
+
+    run(rows, out) of the generated class is, for where k > 100 and s = "x" projecting s, k :
+
+        int count = 0;
+        for(int i = 0, n = rows.size(); i < n; i++) {
+            String[] row = QueryCompiler.split((String) rows.get(i), 3);
+            if(Integer.parseInt(row[0]) <= 100) continue;
+            if(row[2].compareTo("\"x\"") != 0) continue;
+            out.append(QueryCompiler.output(row[2])).append(',');
+            out.append(QueryCompiler.output(row[0])).append(',');
+            out.append('\n');
+            count++;
+        }
+        return count;
+ */
+public class QueryCompiler implements Opcodes {
+
+    private static final int CACHE_ENTRIES = 256;
+
+    private static final String PROGRAM = "minidb/je/QueryProgram";
+    private static final String COMPILER = "minidb/je/QueryCompiler";
+
+    private static final Map<String, QueryProgram> programs = new LinkedHashMap<String, QueryProgram>(64, 0.75f, true) {
+        protected boolean removeEldestEntry(Map.Entry<String, QueryProgram> eldest) {
+            return size() > CACHE_ENTRIES;
+        }
+    };
+
+    private static int generated = 0;
+
+    /*
+        columnTypes : types of the columns of the relation. clauses and clauseColumns : the local clauses
+        and the column each one is on. projection : columns to output, in order.
+     */
+    public static QueryProgram compile(String[] columnTypes, List<AstNode> clauses, int[] clauseColumns, int[] projection) {
+        String plan = plan(columnTypes, clauses, clauseColumns, projection);
+        synchronized (programs) {
+            QueryProgram program = programs.get(plan);
+            if(program == null) {
+                program = generate(columnTypes, clauses, clauseColumns, projection);
+                programs.put(plan, program);
+            }
+            return program;
+        }
+    }
+
+    /*
+        Normalized plan, the cache key : "int,str|0>100,2="x"|2,0"
+     */
+    private static String plan(String[] columnTypes, List<AstNode> clauses, int[] clauseColumns, int[] projection) {
+        StringBuilder plan = new StringBuilder();
+        for(String type: columnTypes) plan.append(type).append(',');
+        plan.append('|');
+        for(int i = 0; i < clauseColumns.length; i++)
+            plan.append(clauseColumns[i]).append(operator(clauses.get(i))).append(rhs(clauses.get(i))).append(',');
+        plan.append('|');
+        for(int column: projection) plan.append(column).append(',');
+        return plan.toString();
+    }
+
+    private static String operator(AstNode clause) {
+        Rel operator = (Rel) clause.arg[1];
+        if(operator instanceof Equ) return "=";
+        if(operator instanceof Neq) return "!=";
+        if(operator instanceof Lss) return "<";
+        if(operator instanceof Leq) return "<=";
+        if(operator instanceof Gtr) return ">";
+        return ">=";
+    }
+
+    private static String rhs(AstNode clause) {
+        return clause.arg[2].toString().trim().replaceAll(",", "&&");
+    }
+
+    /*
+        Jump taken when the clause does not hold: the negation of the operator.
+     */
+    private static int skipJump(String operator, boolean intColumn) {
+        if(operator.equals("=")) return intColumn ? IF_ICMPNE : IFNE;
+        if(operator.equals("!=")) return intColumn ? IF_ICMPEQ : IFEQ;
+        if(operator.equals("<")) return intColumn ? IF_ICMPGE : IFGE;
+        if(operator.equals("<=")) return intColumn ? IF_ICMPGT : IFGT;
+        if(operator.equals(">")) return intColumn ? IF_ICMPLE : IFLE;
+        return intColumn ? IF_ICMPLT : IFLT;
+    }
+
+    private static QueryProgram generate(String[] columnTypes, List<AstNode> clauses, int[] clauseColumns, int[] projection) {
+        String name = "minidb/je/generated/Query" + (generated++);
+        ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        cw.visit(V1_5, ACC_PUBLIC + ACC_FINAL + ACC_SUPER, name, null, "java/lang/Object", new String[] {PROGRAM});
+
+        MethodVisitor mv = cw.visitMethod(ACC_PUBLIC, "<init>", "()V", null, null);
+        mv.visitCode();
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitMethodInsn(INVOKESPECIAL, "java/lang/Object", "<init>", "()V");
+        mv.visitInsn(RETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+
+        //locals : 0 this, 1 rows, 2 out, 3 count, 4 n, 5 i, 6 row
+        mv = cw.visitMethod(ACC_PUBLIC, "run", "(Ljava/util/List;Ljava/lang/StringBuilder;)I", null, null);
+        mv.visitCode();
+        mv.visitInsn(ICONST_0);
+        mv.visitVarInsn(ISTORE, 3);
+        mv.visitVarInsn(ALOAD, 1);
+        mv.visitMethodInsn(INVOKEINTERFACE, "java/util/List", "size", "()I");
+        mv.visitVarInsn(ISTORE, 4);
+        mv.visitInsn(ICONST_0);
+        mv.visitVarInsn(ISTORE, 5);
+        Label loop = new Label(), next = new Label(), end = new Label();
+        mv.visitLabel(loop);
+        mv.visitVarInsn(ILOAD, 5);
+        mv.visitVarInsn(ILOAD, 4);
+        mv.visitJumpInsn(IF_ICMPGE, end);
+
+        mv.visitVarInsn(ALOAD, 1);
+        mv.visitVarInsn(ILOAD, 5);
+        mv.visitMethodInsn(INVOKEINTERFACE, "java/util/List", "get", "(I)Ljava/lang/Object;");
+        mv.visitTypeInsn(CHECKCAST, "java/lang/String");
+        mv.visitLdcInsn(columnTypes.length);
+        mv.visitMethodInsn(INVOKESTATIC, COMPILER, "split", "(Ljava/lang/String;I)[Ljava/lang/String;");
+        mv.visitVarInsn(ASTORE, 6);
+
+        for(int i = 0; i < clauseColumns.length; i++) {
+            boolean intColumn = "int".equals(columnTypes[clauseColumns[i]]);
+            mv.visitVarInsn(ALOAD, 6);
+            mv.visitLdcInsn(clauseColumns[i]);
+            mv.visitInsn(AALOAD);
+            if(intColumn) {
+                mv.visitMethodInsn(INVOKESTATIC, "java/lang/Integer", "parseInt", "(Ljava/lang/String;)I");
+                mv.visitLdcInsn(Integer.parseInt(rhs(clauses.get(i))));
+            } else {
+                mv.visitLdcInsn(rhs(clauses.get(i)));
+                mv.visitMethodInsn(INVOKEVIRTUAL, "java/lang/String", "compareTo", "(Ljava/lang/String;)I");
+            }
+            mv.visitJumpInsn(skipJump(operator(clauses.get(i)), intColumn), next);
+        }
+
+        for(int column: projection) {
+            mv.visitVarInsn(ALOAD, 2);
+            mv.visitVarInsn(ALOAD, 6);
+            mv.visitLdcInsn(column);
+            mv.visitInsn(AALOAD);
+            mv.visitMethodInsn(INVOKESTATIC, COMPILER, "output", "(Ljava/lang/String;)Ljava/lang/String;");
+            mv.visitMethodInsn(INVOKEVIRTUAL, "java/lang/StringBuilder", "append", "(Ljava/lang/String;)Ljava/lang/StringBuilder;");
+            mv.visitIntInsn(BIPUSH, ',');
+            mv.visitMethodInsn(INVOKEVIRTUAL, "java/lang/StringBuilder", "append", "(C)Ljava/lang/StringBuilder;");
+            mv.visitInsn(POP);
+        }
+        mv.visitVarInsn(ALOAD, 2);
+        mv.visitIntInsn(BIPUSH, '\n');
+        mv.visitMethodInsn(INVOKEVIRTUAL, "java/lang/StringBuilder", "append", "(C)Ljava/lang/StringBuilder;");
+        mv.visitInsn(POP);
+        mv.visitIincInsn(3, 1);
+
+        mv.visitLabel(next);
+        mv.visitIincInsn(5, 1);
+        mv.visitJumpInsn(GOTO, loop);
+        mv.visitLabel(end);
+        mv.visitVarInsn(ILOAD, 3);
+        mv.visitInsn(IRETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+        cw.visitEnd();
+
+        byte[] bytes = cw.toByteArray();
+        try {
+            return (QueryProgram) new ProgramLoader().define(name.replace('/', '.'), bytes).getDeclaredConstructor().newInstance();
+        } catch (Exception e) {
+            throw new IllegalStateException("Could not load the generated " + name, e);
+        }
+    }
+
+    //one loader per program so a program dropped from the cache can be unloaded
+    private static class ProgramLoader extends ClassLoader {
+        ProgramLoader() {
+            super(QueryCompiler.class.getClassLoader());
+        }
+
+        Class<?> define(String name, byte[] bytes) {
+            return defineClass(name, bytes, 0, bytes.length);
+        }
+    }
+
+    /*
+        Values of a stored row, there are always columns of them.
+     */
+    public static String[] split(String row, int columns) {
+        String[] values = new String[columns];
+        int start = 0;
+        for(int i = 0; i < columns - 1; i++) {
+            int comma = row.indexOf(',', start);
+            values[i] = row.substring(start, comma);
+            start = comma + 1;
+        }
+        values[columns - 1] = row.substring(start);
+        return values;
+    }
+
+    public static String output(String value) {
+        return value.replace("&&", ",");
+    }
+}
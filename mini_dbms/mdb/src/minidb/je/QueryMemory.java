@@ -0,0 +1,159 @@
+package minidb.je;
+
+import com.sleepycat.je.DbInternal;
+import com.sleepycat.je.Environment;
+import com.sleepycat.je.dbi.MemoryBudget;
+
+import java.util.List;
+
+/*
+    Memory the running selects hold in rows, hash tables and output, reserved from one pool
+    shared by all sessions. The pool is what the heap leaves once the JE cache has its whole
+    budget (MemoryBudget.getMaxMemory()), less HEADROOM for everything else, so queries never
+    take memory JE counts on. Each select gets a Grant and reserves from it before it builds
+    anything: a query may hold at most its fair share, the pool divided by the selects running.
+    An operator denied a reservation switches to an algorithm needing no memory when there is one
+    (a hash join becomes a nested loop join), else the select fails with MemoryExceededException
+    instead of running the JVM out of memory.
+    Sizes are estimates: a String[] row counts its array and the strings it holds, rows made by
+    joins share their strings with their inputs and only count their array.
+ */
+public class QueryMemory {
+
+    //part of the heap left to JE internals, sessions and the rest
+    private static final double HEADROOM = 0.25;
+    private static final long MIN_POOL = 4L << 20;
+    //rows added between two reservations
+    public static final int CHUNK_ROWS = 1024;
+
+    private static long pool = Long.MAX_VALUE;
+    private static long reserved = 0;
+    private static int queries = 0;
+
+    /*
+        Thrown when a select needs more than its share.
+     */
+    public static class MemoryExceededException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        MemoryExceededException(long share) {
+            super("Query needs more than its " + (share >> 20) + " MB of memory");
+        }
+    }
+
+    /*
+        Memory held by one select.
+     */
+    public static class Grant {
+        private long used = 0;
+        private boolean closed = false;
+
+        /*
+            false when bytes more would take the query past its share or the pool past its size.
+         */
+        public boolean tryReserve(long bytes) {
+            return QueryMemory.reserve(this, bytes);
+        }
+
+        public void reserve(long bytes) {
+            if(!tryReserve(bytes)) throw new MemoryExceededException(share());
+        }
+
+        public void release(long bytes) {
+            QueryMemory.release(this, Math.min(bytes, used));
+        }
+
+        public long getUsed() {
+            return used;
+        }
+
+        public void close() {
+            QueryMemory.close(this);
+        }
+    }
+
+    /*
+        Sizes the pool after the JE cache of env, called once the environment is open.
+     */
+    public static synchronized void configure(Environment env) {
+        long heap = MemoryBudget.getRuntimeMaxMemory();
+        if(heap == Long.MAX_VALUE) {
+            pool = Long.MAX_VALUE;
+            return;
+        }
+        long cache = DbInternal.getEnvironmentImpl(env).getMemoryBudget().getMaxMemory();
+        pool = Math.max(MIN_POOL, (long) ((heap - cache) * (1 - HEADROOM)));
+    }
+
+    public static synchronized Grant open() {
+        queries++;
+        return new Grant();
+    }
+
+    private static synchronized boolean reserve(Grant grant, long bytes) {
+        if(grant.used + bytes > share() || reserved + bytes > pool) return false;
+        grant.used += bytes;
+        reserved += bytes;
+        return true;
+    }
+
+    private static synchronized void release(Grant grant, long bytes) {
+        grant.used -= bytes;
+        reserved -= bytes;
+    }
+
+    private static synchronized void close(Grant grant) {
+        if(grant.closed) return;
+        grant.closed = true;
+        reserved -= grant.used;
+        grant.used = 0;
+        queries--;
+    }
+
+    private static synchronized long share() {
+        return pool / Math.max(1, queries);
+    }
+
+    public static synchronized long getPool() {
+        return pool;
+    }
+
+    public static synchronized long getReserved() {
+        return reserved;
+    }
+
+    /*
+        Estimated size of row and of the strings it holds.
+     */
+    public static long rowBytes(String[] row) {
+        long bytes = 16 + 4L * row.length;
+        for(String value: row)
+            if(value != null) bytes += 40 + 2L * value.length();
+        return bytes;
+    }
+
+    /*
+        Estimated size of rows, from the first rows of the list.
+     */
+    public static long rowsBytes(List<String[]> rows) {
+        if(rows.isEmpty()) return 0;
+        int sample = Math.min(16, rows.size());
+        long bytes = 0;
+        for(int i = 0; i < sample; i++) bytes += rowBytes(rows.get(i));
+        return bytes / sample * rows.size() + 4L * rows.size();
+    }
+
+    /*
+        Size of a row made of others, sharing their strings.
+     */
+    public static long joinedRowBytes(int columns) {
+        return 20 + 4L * columns;
+    }
+
+    /*
+        Estimated size of a stored row read as a String, its key being kept too.
+     */
+    public static long storedRowBytes(int keyLength, int dataLength) {
+        return 2 * (40 + 2L * (keyLength + dataLength));
+    }
+}
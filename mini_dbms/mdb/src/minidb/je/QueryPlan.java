@@ -0,0 +1,139 @@
+package minidb.je;
+
+import com.sleepycat.je.Database;
+import com.sleepycat.je.StatsConfig;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static minidb.je.ExecuteHelpers.READ_ONLY;
+
+/*
+    Steps of a SELECT as shown by EXPLAIN, with the planner's estimated rows and cost.
+    For EXPLAIN ANALYZE the query is run afterwards and every step it goes through is matched
+    with the planned one, recording actual rows, elapsed time, JE cache misses and the bytes
+    allocated by this thread.
+ */
+public class QueryPlan {
+
+    public static class Step {
+        String operator;
+        String detail;
+        double estRows = -1;
+        double estCost = -1;
+        long rows = -1;
+        long nanos;
+        long cacheMisses;
+        long bytes;
+    }
+
+    private static final StatsConfig fastStats = new StatsConfig();
+    static {
+        fastStats.setFast(true);
+    }
+
+    private List<Step> steps = new ArrayList<Step>();
+    private boolean analyze = false;
+    //next planned step to be matched by the running query
+    private int next = 0;
+    private Map<String, Long> counts = new HashMap<String, Long>();
+
+    public void estimate(String operator, String detail, double estRows, double estCost) {
+        Step step = new Step();
+        step.operator = operator;
+        step.detail = detail;
+        step.estRows = estRows;
+        step.estCost = estCost;
+        steps.add(step);
+    }
+
+    public boolean isAnalyze() {
+        return analyze;
+    }
+
+    public void setAnalyze(boolean analyze) {
+        this.analyze = analyze;
+    }
+
+    /*
+        Counters before a step runs : {nano time, cache misses, allocated bytes}
+     */
+    public long[] start() {
+        return new long[] {System.nanoTime(), cacheMisses(), allocatedBytes()};
+    }
+
+    public void finish(String operator, String detail, long[] start, long rows) {
+        long nanos = System.nanoTime() - start[0];
+        Step step;
+        if(next < steps.size() && steps.get(next).operator.equals(operator)
+                && steps.get(next).detail.equals(detail)) {
+            step = steps.get(next);
+        } else {
+            //not planned, show it where it ran
+            step = new Step();
+            step.operator = operator;
+            step.detail = detail;
+            steps.add(next, step);
+        }
+        next++;
+        step.rows = rows;
+        step.nanos = nanos;
+        step.cacheMisses = cacheMisses() - start[1];
+        step.bytes = allocatedBytes() - start[2];
+    }
+
+    /*
+        Number of records of a database, counted once per plan.
+     */
+    public long count(String dbName) {
+        Long count = counts.get(dbName);
+        if(count == null) {
+            Database database = ExecuteHelpers.myDbEnv.getDB(dbName, READ_ONLY);
+            try {
+                count = database.count();
+            } finally {
+                database.close();
+            }
+            counts.put(dbName, count);
+        }
+        return count;
+    }
+
+    private static long cacheMisses() {
+        return ExecuteHelpers.myDbEnv.getEnv().getStats(fastStats).getNCacheMiss();
+    }
+
+    private static long allocatedBytes() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if(bean instanceof com.sun.management.ThreadMXBean)
+            return ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(Thread.currentThread().getId());
+        return 0;
+    }
+
+    public String toString() {
+        StringBuilder out = new StringBuilder();
+        out.append(String.format("%-3s %-14s %-32s %10s %10s", "#", "operator", "detail", "est rows", "est cost"));
+        if(analyze)
+            out.append(String.format(" %10s %12s %11s %12s", "rows", "time (ns)", "cache miss", "bytes"));
+        out.append("\n");
+        for(int i = 0; i < steps.size(); i++) {
+            Step step = steps.get(i);
+            out.append(String.format("%-3d %-14s %-32s %10s %10s", i + 1, step.operator, step.detail,
+                    format(step.estRows), format(step.estCost)));
+            if(analyze && step.rows >= 0)
+                out.append(String.format(" %10d %12d %11d %12d", step.rows, step.nanos, step.cacheMisses, step.bytes));
+            else if(analyze)
+                out.append(String.format(" %10s", "not run"));
+            out.append("\n");
+        }
+        return out.toString();
+    }
+
+    private static String format(double estimate) {
+        return estimate < 0 ? "-" : String.valueOf(Math.round(Math.ceil(estimate)));
+    }
+}
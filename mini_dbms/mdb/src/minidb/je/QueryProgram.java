@@ -0,0 +1,15 @@
+package minidb.je;
+
+import java.util.List;
+
+/*
+    A select over one relation compiled by QueryCompiler.
+ */
+public interface QueryProgram {
+
+    /*
+        rows : data of the rows as stored ("3,\"CS\",\"Bruce\""). Appends the projection of every row
+        satisfying the where clause to out, in SelectCmd's output format, and returns how many there were.
+     */
+    int run(List<String> rows, StringBuilder out);
+}
@@ -0,0 +1,175 @@
+package minidb.je;
+
+import mdb.AstNode;
+import minidb.models.Column;
+import minidb.models.Relation;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+    Output of selects, shared by all sessions running with SET CACHE ON and keyed by the
+    normalized text of the select (prepared parameters are bound into it).
+    Every entry keeps, for each relation it read, the local clauses on that relation: a row
+    failing them cannot change the result. When a transaction commits, the rows it inserted,
+    deleted or updated (old and new values) drop the entries of their relation whose clauses
+    they satisfy, the others stay. Rows a transaction writes are only known to the cache once it
+    commits, the writing session itself does not use the cache for those relations meanwhile.
+    A committed write also bumps the version of its relation: a result computed while a commit
+    went by is not stored, it may have been read before that commit.
+    Entries are evicted least recently used first to keep them under MAX_BYTES.
+ */
+public class ResultCache {
+
+    public static final long MAX_BYTES = 32L << 20;
+
+    public static class Result {
+        private final String contents;
+        private final int rows;
+        //relation -> rows that can change the result, null for any row
+        private final Map<String, RowFilter> dependencies;
+        private final long bytes;
+
+        private Result(String key, String contents, int rows, Map<String, RowFilter> dependencies) {
+            this.contents = contents;
+            this.rows = rows;
+            this.dependencies = dependencies;
+            this.bytes = 2L * (key.length() + contents.length()) + 128;
+        }
+
+        public String getContents() {
+            return contents;
+        }
+
+        public int getRows() {
+            return rows;
+        }
+    }
+
+    private static final LinkedHashMap<String, Result> results = new LinkedHashMap<String, Result>(64, 0.75f, true);
+    //relation -> keys of the results that read it
+    private static final Map<String, List<String>> readers = new HashMap<String, List<String>>();
+    private static final Map<String, Long> versions = new HashMap<String, Long>();
+    private static long bytes = 0;
+
+    public static synchronized Result get(String key) {
+        Result result = results.get(key);
+        if(result == null) Metrics.get().resultCacheMiss();
+        else Metrics.get().resultCacheHit();
+        return result;
+    }
+
+    /*
+        To be taken before the select runs and handed to put().
+     */
+    public static synchronized long[] versions(List<String> relationNames) {
+        long[] current = new long[relationNames.size()];
+        for(int i = 0; i < current.length; i++) {
+            Long version = versions.get(relationNames.get(i));
+            current[i] = version == null ? 0 : version;
+        }
+        return current;
+    }
+
+    /*
+        clauses : local clauses of each relation, as given by PredicateHelpers.generateClauses (null if none).
+     */
+    public static synchronized void put(String key, String contents, int rows, List<String> relationNames,
+                                        Map<String, List<AstNode>> clauses, long[] versionsBefore) {
+        for(int i = 0; i < versionsBefore.length; i++) {
+            Long version = versions.get(relationNames.get(i));
+            if((version == null ? 0 : version) != versionsBefore[i]) return;
+        }
+        Map<String, RowFilter> dependencies = new HashMap<String, RowFilter>();
+        for(String relationName: relationNames)
+            dependencies.put(relationName, filter(relationName, clauses == null ? null : clauses.get(relationName)));
+        Result result = new Result(key, contents, rows, dependencies);
+        if(result.bytes > MAX_BYTES) return;
+        remove(key);
+        results.put(key, result);
+        bytes += result.bytes;
+        for(String relationName: dependencies.keySet()) {
+            List<String> keys = readers.get(relationName);
+            if(keys == null) readers.put(relationName, keys = new ArrayList<String>());
+            keys.add(key);
+        }
+        Iterator<Map.Entry<String, Result>> eldest = results.entrySet().iterator();
+        while(bytes > MAX_BYTES && eldest.hasNext()) {
+            Map.Entry<String, Result> entry = eldest.next();
+            eldest.remove();
+            forget(entry.getKey(), entry.getValue());
+        }
+    }
+
+    private static RowFilter filter(String relationName, List<AstNode> clauses) {
+        Relation relation = ExecuteHelpers.catalog.getRelation(relationName);
+        if(clauses == null || clauses.isEmpty() || relation == null) return null;
+        List<Column> columns = relation.getColumns();
+        String[] columnNames = new String[columns.size()];
+        String[] columnTypes = new String[columns.size()];
+        for(Column column: columns) {
+            columnNames[column.getPosition()] = relationName + "." + column.getColumnName();
+            columnTypes[column.getPosition()] = column.getColumnType();
+        }
+        Map<String, String[]> metaColumnRelation = new HashMap<String, String[]>();
+        metaColumnRelation.put(relationName, columnNames);
+        Map<String, List<AstNode>> relationClauses = new HashMap<String, List<AstNode>>();
+        relationClauses.put(relationName, clauses);
+        int[] indices = PredicateHelpers.setIndices(metaColumnRelation, relationClauses, relationName);
+        for(int index: indices)
+            if(index == -1) return null;
+        return new RowFilter(columnTypes, clauses, indices);
+    }
+
+    private static void remove(String key) {
+        Result result = results.remove(key);
+        if(result != null) forget(key, result);
+    }
+
+    private static void forget(String key, Result result) {
+        bytes -= result.bytes;
+        for(String relationName: result.dependencies.keySet()) {
+            List<String> keys = readers.get(relationName);
+            if(keys != null) keys.remove(key);
+        }
+    }
+
+    /*
+        Called once a transaction has committed with the rows it wrote, per relation.
+        A null list stands for rows not known one by one.
+     */
+    public static synchronized void committed(Map<String, List<String[]>> written) {
+        for(Map.Entry<String, List<String[]>> relation: written.entrySet()) {
+            String relationName = relation.getKey();
+            Long version = versions.get(relationName);
+            versions.put(relationName, version == null ? 1 : version + 1);
+            List<String> keys = readers.get(relationName);
+            if(keys == null) continue;
+            for(String key: new ArrayList<String>(keys)) {
+                RowFilter filter = results.get(key).dependencies.get(relationName);
+                if(filter == null || relation.getValue() == null || anyMatches(filter, relation.getValue()))
+                    remove(key);
+            }
+        }
+    }
+
+    private static boolean anyMatches(RowFilter filter, List<String[]> rows) {
+        for(String[] row: rows)
+            if(filter.matches(row)) return true;
+        return false;
+    }
+
+    /*
+        Results belong to one environment, they are dropped when another one is opened.
+     */
+    public static synchronized void clear() {
+        results.clear();
+        readers.clear();
+        versions.clear();
+        bytes = 0;
+    }
+}
@@ -0,0 +1,212 @@
+package minidb.je;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+    Rows kept off the heap, in direct buffers of CHUNK_BYTES, and referred to by their offset:
+    the chunk in the high 32 bits, the position in it in the low ones. A row is its number of
+    values followed by each value as its UTF-8 length and bytes, rows never span two chunks.
+    The heap only holds the chunk buffers, whatever the number of rows, so large join build
+    sides cost the garbage collector nothing to mark. The buffers go when the arena is dropped.
+    Each chunk is reserved from the grant of the select before it is allocated.
+ */
+public class RowArena {
+
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+    private static final int CHUNK_BYTES = 16 << 20;
+    //build sides with more rows than that are hashed off the heap
+    public static final int MIN_ROWS = 500000;
+
+    private final List<ByteBuffer> chunks = new ArrayList<ByteBuffer>();
+    private ByteBuffer current = null;
+    private final QueryMemory.Grant memory;
+    private long reserved = 0;
+
+    public RowArena(QueryMemory.Grant memory) {
+        this.memory = memory;
+    }
+
+    /*
+        Offset of row, -1 when the grant refuses the chunk it needs.
+     */
+    public long add(String[] row) {
+        byte[][] values = new byte[row.length][];
+        int length = 4;
+        for(int i = 0; i < row.length; i++) {
+            values[i] = row[i].getBytes(UTF8);
+            length += 4 + values[i].length;
+        }
+        if(current == null || current.remaining() < length) {
+            int size = Math.max(CHUNK_BYTES, length);
+            if(!reserve(size)) return -1;
+            current = ByteBuffer.allocateDirect(size);
+            chunks.add(current);
+        }
+        long offset = ((long) (chunks.size() - 1) << 32) | current.position();
+        current.putInt(row.length);
+        for(byte[] value: values) {
+            current.putInt(value.length);
+            current.put(value);
+        }
+        return offset;
+    }
+
+    private boolean reserve(long bytes) {
+        if(memory != null && !memory.tryReserve(bytes)) return false;
+        reserved += bytes;
+        return true;
+    }
+
+    /*
+        Gives the memory of the arena back to the grant, the arena is not used afterwards.
+     */
+    public void release() {
+        if(memory != null) memory.release(reserved);
+        reserved = 0;
+    }
+
+    public String[] get(long offset) {
+        ByteBuffer chunk = chunks.get((int) (offset >>> 32)).duplicate();
+        chunk.position((int) offset);
+        String[] row = new String[chunk.getInt()];
+        for(int i = 0; i < row.length; i++) {
+            byte[] value = new byte[chunk.getInt()];
+            chunk.get(value);
+            row[i] = new String(value, UTF8);
+        }
+        return row;
+    }
+
+    //position of the length of value column of the row at offset, in its chunk
+    private int valuePosition(ByteBuffer chunk, long offset, int column) {
+        int position = (int) offset + 4;
+        for(int i = 0; i < column; i++)
+            position += 4 + chunk.getInt(position);
+        return position;
+    }
+
+    private int hash(long offset, int column) {
+        ByteBuffer chunk = chunks.get((int) (offset >>> 32));
+        int position = valuePosition(chunk, offset, column);
+        int length = chunk.getInt(position);
+        int hash = 0x811c9dc5;
+        for(int i = position + 4; i < position + 4 + length; i++) {
+            hash ^= chunk.get(i) & 0xff;
+            hash *= 0x01000193;
+        }
+        return hash;
+    }
+
+    private boolean valueEquals(long offset, int column, byte[] value) {
+        ByteBuffer chunk = chunks.get((int) (offset >>> 32));
+        int position = valuePosition(chunk, offset, column);
+        if(chunk.getInt(position) != value.length) return false;
+        for(int i = 0; i < value.length; i++)
+            if(chunk.get(position + 4 + i) != value[i]) return false;
+        return true;
+    }
+
+    private static int hash(byte[] value) {
+        int hash = 0x811c9dc5;
+        for(byte b: value) {
+            hash ^= b & 0xff;
+            hash *= 0x01000193;
+        }
+        return hash;
+    }
+
+    /*
+        Hash join table over rows copied into an arena, keyed by one of their columns. Slots hold
+        one row each (offset and hash in primitive arrays) with linear probing, the rows of a key
+        are met along the probe sequence in the order they were added. Probes compare the bytes of
+        the key, only the rows matching are turned back into strings.
+     */
+    public static class HashTable {
+        private final RowArena arena;
+        private final int column;
+        //offset of the row plus one, 0 for an empty slot
+        private final long[] offsets;
+        private final int[] hashes;
+        private final int mask;
+
+        private HashTable(RowArena arena, int capacity, int column) {
+            this.arena = arena;
+            this.column = column;
+            offsets = new long[capacity];
+            hashes = new int[capacity];
+            mask = capacity - 1;
+        }
+
+        /*
+            Table of rows on column, its slot arrays and chunks reserved from memory (null for no limit).
+            null when memory refuses them or there is not enough direct memory.
+         */
+        public static HashTable build(List<String[]> rows, int column, QueryMemory.Grant memory) {
+            RowArena arena = new RowArena(memory);
+            try {
+                int capacity = 16;
+                while(capacity < 2L * rows.size() && capacity < (1 << 30)) capacity <<= 1;
+                if(!arena.reserve(12L * capacity)) return null;
+                HashTable table = new HashTable(arena, capacity, column);
+                for(String[] row: rows) {
+                    long offset = table.arena.add(row);
+                    if(offset == -1) {
+                        arena.release();
+                        return null;
+                    }
+                    int hash = table.arena.hash(offset, column);
+                    int slot = hash & table.mask;
+                    while(table.offsets[slot] != 0) slot = (slot + 1) & table.mask;
+                    table.offsets[slot] = offset + 1;
+                    table.hashes[slot] = hash;
+                }
+                return table;
+            } catch (OutOfMemoryError e) {
+                arena.release();
+                System.err.println("No direct memory left for a join of " + rows.size() + " rows: " + e.getMessage());
+                return null;
+            }
+        }
+
+        /*
+            Gives back the memory reserved by build, once the join is done.
+         */
+        public void release() {
+            arena.release();
+        }
+
+        /*
+            Slot of the first row whose column holds value, -1 if none.
+         */
+        public int first(byte[] value) {
+            int hash = RowArena.hash(value);
+            return find(hash & mask, hash, value);
+        }
+
+        /*
+            Slot of the row holding value met after slot, -1 if none.
+         */
+        public int next(int slot, byte[] value) {
+            return find((slot + 1) & mask, hashes[slot], value);
+        }
+
+        private int find(int slot, int hash, byte[] value) {
+            while(offsets[slot] != 0) {
+                if(hashes[slot] == hash && arena.valueEquals(offsets[slot] - 1, column, value)) return slot;
+                slot = (slot + 1) & mask;
+            }
+            return -1;
+        }
+
+        public String[] row(int slot) {
+            return arena.get(offsets[slot] - 1);
+        }
+
+        public static byte[] key(String value) {
+            return value.getBytes(UTF8);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package minidb.je;
+
+import mdb.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+    Local predicates of one relation, compiled once per statement: the operator, column and
+    right hand side of every clause are taken out of the AST up front, an int literal being
+    parsed only once.
+    filter() runs over batches of BATCH_SIZE rows. The values of a clause's column are decoded
+    into an int[] / String[] vector for the rows still selected, then a loop specialised for the
+    operator and type narrows the selection vector. The loops have no branch on the data, the
+    index is always written and the output position only moves for the rows kept.
+    matches() gives the same answer for a single row.
+ */
+public class RowFilter {
+
+    public static final int BATCH_SIZE = 1024;
+
+    private static final int EQ = 0, NE = 1, LT = 2, LE = 3, GT = 4, GE = 5;
+
+    private final int[] columns;
+    private final int[] operators;
+    private final boolean[] intColumn;
+    private final int[] intRhs;
+    private final String[] strRhs;
+
+    /*
+        columnTypes : type of every column of the rows, indices : column of each clause
+        as given by PredicateHelpers.setIndices.
+     */
+    public RowFilter(String[] columnTypes, List<AstNode> clauses, int[] indices) {
+        columns = indices.clone();
+        operators = new int[indices.length];
+        intColumn = new boolean[indices.length];
+        intRhs = new int[indices.length];
+        strRhs = new String[indices.length];
+        for(int i = 0; i < indices.length; i++) {
+            AstNode clause = clauses.get(i);
+            operators[i] = operator((Rel) clause.arg[1]);
+            strRhs[i] = clause.arg[2].toString().trim().replaceAll(",", "&&");
+            intColumn[i] = "int".equals(columnTypes[indices[i]]);
+            if(intColumn[i]) intRhs[i] = Integer.parseInt(strRhs[i]);
+        }
+    }
+
+    private static int operator(Rel operator) {
+        if(operator instanceof Equ) return EQ;
+        if(operator instanceof Neq) return NE;
+        if(operator instanceof Lss) return LT;
+        if(operator instanceof Leq) return LE;
+        if(operator instanceof Gtr) return GT;
+        return GE;
+    }
+
+    public boolean matches(String[] row) {
+        for(int c = 0; c < columns.length; c++) {
+            int compared = intColumn[c] ? compare(Integer.parseInt(row[columns[c]]), intRhs[c])
+                    : row[columns[c]].compareTo(strRhs[c]);
+            if(!holds(operators[c], compared)) return false;
+        }
+        return true;
+    }
+
+    private static int compare(int x, int y) {
+        return x < y ? -1 : (x == y ? 0 : 1);
+    }
+
+    private static boolean holds(int operator, int compared) {
+        switch (operator) {
+            case EQ: return compared == 0;
+            case NE: return compared != 0;
+            case LT: return compared < 0;
+            case LE: return compared <= 0;
+            case GT: return compared > 0;
+            default: return compared >= 0;
+        }
+    }
+
+    /*
+        Rows satisfying every clause, in their original order.
+     */
+    public List<String[]> filter(List<String[]> rows) {
+        List<String[]> kept = new ArrayList<String[]>();
+        String[][] batch = new String[BATCH_SIZE][];
+        int[] selection = new int[BATCH_SIZE];
+        int[] ints = new int[BATCH_SIZE];
+        String[] strings = new String[BATCH_SIZE];
+        for(int start = 0; start < rows.size(); start += BATCH_SIZE) {
+            int size = Math.min(BATCH_SIZE, rows.size() - start);
+            for(int i = 0; i < size; i++) {
+                batch[i] = rows.get(start + i);
+                selection[i] = i;
+            }
+            int selected = size;
+            for(int c = 0; c < columns.length && selected > 0; c++) {
+                int column = columns[c];
+                if(intColumn[c]) {
+                    for(int k = 0; k < selected; k++)
+                        ints[selection[k]] = Integer.parseInt(batch[selection[k]][column]);
+                    selected = selectInts(operators[c], ints, intRhs[c], selection, selected);
+                } else {
+                    for(int k = 0; k < selected; k++)
+                        strings[selection[k]] = batch[selection[k]][column];
+                    selected = selectStrings(operators[c], strings, strRhs[c], selection, selected);
+                }
+            }
+            for(int k = 0; k < selected; k++)
+                kept.add(batch[selection[k]]);
+        }
+        return kept;
+    }
+
+    /*
+        Keeps in selection[0 .. selected) the rows whose value satisfies the operator, returns how many.
+     */
+    private static int selectInts(int operator, int[] values, int rhs, int[] selection, int selected) {
+        int out = 0;
+        switch (operator) {
+            case EQ:
+                for(int k = 0; k < selected; k++) { int i = selection[k]; selection[out] = i; out += values[i] == rhs ? 1 : 0; }
+                break;
+            case NE:
+                for(int k = 0; k < selected; k++) { int i = selection[k]; selection[out] = i; out += values[i] != rhs ? 1 : 0; }
+                break;
+            case LT:
+                for(int k = 0; k < selected; k++) { int i = selection[k]; selection[out] = i; out += values[i] < rhs ? 1 : 0; }
+                break;
+            case LE:
+                for(int k = 0; k < selected; k++) { int i = selection[k]; selection[out] = i; out += values[i] <= rhs ? 1 : 0; }
+                break;
+            case GT:
+                for(int k = 0; k < selected; k++) { int i = selection[k]; selection[out] = i; out += values[i] > rhs ? 1 : 0; }
+                break;
+            default:
+                for(int k = 0; k < selected; k++) { int i = selection[k]; selection[out] = i; out += values[i] >= rhs ? 1 : 0; }
+        }
+        return out;
+    }
+
+    private static int selectStrings(int operator, String[] values, String rhs, int[] selection, int selected) {
+        int out = 0;
+        for(int k = 0; k < selected; k++) {
+            int i = selection[k];
+            selection[out] = i;
+            out += holds(operator, values[i].compareTo(rhs)) ? 1 : 0;
+        }
+        return out;
+    }
+}
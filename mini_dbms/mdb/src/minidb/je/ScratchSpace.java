@@ -0,0 +1,191 @@
+package minidb.je;
+
+import com.sleepycat.bind.tuple.LongBinding;
+import com.sleepycat.je.*;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+    Scratch databases of one session, for operators that spill what does not fit in memory.
+    They are JE temporary databases: not transactional, their records only reach the log when
+    the cache evicts them, and JE removes them when they are closed or the environment is recovered,
+    so nothing written here survives a crash or costs a durable write.
+    A store lives for the statement that created it (dropped when the statement ends or the
+    session aborts) or for the session (dropped when the session is closed). Stores may be
+    created and written from helper threads of the statement.
+ */
+public class ScratchSpace {
+
+    private static final AtomicLong sequence = new AtomicLong();
+    private static final AtomicLong bytesWritten = new AtomicLong();
+    private static final AtomicLong storesCreated = new AtomicLong();
+    //stores not dropped yet, of every session
+    private static final Set<Store> open = new HashSet<Store>();
+
+    private final List<Store> statementStores = new ArrayList<Store>();
+    private final List<Store> sessionStores = new ArrayList<Store>();
+
+    /*
+        A scratch database. Records are put under keys of their own, or appended under increasing
+        numbers and read back in that order.
+     */
+    public static class Store {
+        private final String name;
+        private final Database database;
+        private long nextKey = 0;
+        private long records = 0;
+        private long bytes = 0;
+        private boolean dropped = false;
+
+        private Store(String name) {
+            DatabaseConfig config = new DatabaseConfig();
+            config.setTemporary(true);
+            config.setTransactional(false);
+            config.setAllowCreate(true);
+            config.setExclusiveCreate(true);
+            this.name = name;
+            this.database = ExecuteHelpers.myDbEnv.getEnv().openDatabase(null, name, config);
+        }
+
+        public void put(byte[] key, byte[] data) {
+            database.put(null, new DatabaseEntry(key), new DatabaseEntry(data));
+            written(key.length + data.length);
+        }
+
+        /*
+            Puts data after the records appended so far, returns its number.
+         */
+        public long append(byte[] data) {
+            DatabaseEntry key = new DatabaseEntry();
+            long number;
+            synchronized (this) {
+                number = nextKey++;
+            }
+            LongBinding.longToEntry(number, key);
+            database.put(null, key, new DatabaseEntry(data));
+            written(key.getSize() + data.length);
+            return number;
+        }
+
+        private synchronized void written(long size) {
+            records++;
+            bytes += size;
+            bytesWritten.addAndGet(size);
+        }
+
+        /*
+            Cursor over the records in key order, appended ones in the order they were appended.
+         */
+        public Cursor openCursor() {
+            return database.openCursor(null, null);
+        }
+
+        public synchronized long getRecords() {
+            return records;
+        }
+
+        public synchronized long getBytes() {
+            return bytes;
+        }
+
+        public void drop() {
+            synchronized (this) {
+                if(dropped) return;
+                dropped = true;
+            }
+            synchronized (open) {
+                open.remove(this);
+            }
+            //JE removes a temporary database when its handle is closed
+            try {
+                database.close();
+            } catch (DatabaseException e) {
+                System.err.println("Could not drop scratch database " + name + ": " + e.toString());
+            }
+        }
+    }
+
+    /*
+        New store dropped at the end of the statement, purpose naming it in the environment.
+     */
+    public Store create(String purpose) {
+        return create(purpose, statementStores);
+    }
+
+    /*
+        New store kept until the session is closed.
+     */
+    public Store createForSession(String purpose) {
+        return create(purpose, sessionStores);
+    }
+
+    private Store create(String purpose, List<Store> scope) {
+        Store store = new Store("scratch#" + purpose + "#" + sequence.incrementAndGet());
+        storesCreated.incrementAndGet();
+        synchronized (open) {
+            open.add(store);
+        }
+        synchronized (scope) {
+            scope.add(store);
+        }
+        return store;
+    }
+
+    public void endStatement() {
+        drop(statementStores);
+    }
+
+    public void close() {
+        drop(statementStores);
+        drop(sessionStores);
+    }
+
+    private static void drop(List<Store> stores) {
+        List<Store> dropping;
+        synchronized (stores) {
+            dropping = new ArrayList<Store>(stores);
+            stores.clear();
+        }
+        for(Store store: dropping) store.drop();
+    }
+
+    /*
+        Drops the stores of every session, before the environment is closed.
+     */
+    public static void dropAll() {
+        List<Store> dropping;
+        synchronized (open) {
+            dropping = new ArrayList<Store>(open);
+        }
+        for(Store store: dropping) store.drop();
+    }
+
+    public static int getOpenStores() {
+        synchronized (open) {
+            return open.size();
+        }
+    }
+
+    public static long getStoresCreated() {
+        return storesCreated.get();
+    }
+
+    public static long getBytesWritten() {
+        return bytesWritten.get();
+    }
+
+    /*
+        Bytes held by the stores not dropped yet.
+     */
+    public static long getBytesHeld() {
+        long held = 0;
+        synchronized (open) {
+            for(Store store: open) held += store.getBytes();
+        }
+        return held;
+    }
+}
@@ -0,0 +1,293 @@
+package minidb.je;
+
+import com.sleepycat.je.CursorConfig;
+import com.sleepycat.je.Durability;
+import com.sleepycat.je.LockMode;
+import com.sleepycat.je.Transaction;
+import com.sleepycat.je.TransactionConfig;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+    Transaction state of one mdb session (the console, or one thread of a workload).
+    The transaction is started lazily on first use and ended by COMMIT/ABORT, or after
+    every statement when autocommit is on.
+    Reads run with the session isolation unless the statement asks for its own. Read committed
+    and read uncommitted reads use the open transaction if there is one, else no transaction at
+    all, so they never keep read locks until commit.
+ */
+public class Session {
+
+    public static final String SYNC = "sync";
+    public static final String WRITE_NO_SYNC = "write_no_sync";
+    public static final String NO_SYNC = "no_sync";
+
+    public static final String READ_COMMITTED = "read_committed";
+    public static final String READ_UNCOMMITTED = "read_uncommitted";
+
+    public static final long DEFAULT_CROSS_PRODUCT_LIMIT = 10000000;
+
+    //past that many rows a commit drops every cached result of the relation
+    private static final int MAX_WRITTEN_ROWS = 10000;
+
+    private static final CommitBatcher commitBatcher = new CommitBatcher();
+
+    private static final ThreadLocal<Session> current = new ThreadLocal<Session>() {
+        @Override
+        protected Session initialValue() {
+            return new Session();
+        }
+    };
+
+    private Transaction txn = null;
+    //whether txn was handed out for writing, a read only transaction has nothing to flush
+    private boolean written = false;
+    private boolean autocommit = false;
+    private String durability = SYNC;
+    private boolean readOnly = false;
+    //selects run as generated pipelines, see QueryCompiler
+    private boolean compiling = false;
+    private String statementIsolation = null;
+    private final StatementCache statements = new StatementCache();
+    //selects go through ResultCache
+    private boolean caching = false;
+    //rows written by txn per relation, handed to ResultCache on commit. null once there are too many
+    private final Map<String, List<String[]>> writtenRows = new HashMap<String, List<String[]>>();
+    //rows written by txn in relations read by materialized views, applied to the views on commit
+    private final Map<String, MaterializedView.Delta> viewDeltas = new HashMap<String, MaterializedView.Delta>();
+    //largest cross product a select may produce, 0 for no limit
+    private long crossProductLimit = DEFAULT_CROSS_PRODUCT_LIMIT;
+    //memory of the select running, null between selects
+    private QueryMemory.Grant memory = null;
+    //spill databases of the statement running and of the session
+    private final ScratchSpace scratch = new ScratchSpace();
+
+    public static Session current() {
+        return current.get();
+    }
+
+    public static void setCurrent(Session session) {
+        current.set(session);
+    }
+
+    public static CommitBatcher getCommitBatcher() {
+        return commitBatcher;
+    }
+
+    public Transaction getTxn() {
+        written = true;
+        return beginTxn();
+    }
+
+    public Transaction getReadTxn() {
+        if(getReadIsolation() == null) return beginTxn();
+        return txn;
+    }
+
+    private Transaction beginTxn() {
+        if(txn == null) {
+            TransactionConfig txnConfig = new TransactionConfig();
+            txnConfig.setDurability(getDurability());
+            txn = ExecuteHelpers.myDbEnv.getEnv().beginTransaction(null, txnConfig);
+        }
+        return txn;
+    }
+
+    public boolean inTransaction() {
+        return txn != null;
+    }
+
+    public LockMode getReadLockMode() {
+        String isolation = getReadIsolation();
+        if(READ_UNCOMMITTED.equals(isolation)) return LockMode.READ_UNCOMMITTED;
+        if(READ_COMMITTED.equals(isolation)) return LockMode.READ_COMMITTED;
+        return LockMode.DEFAULT;
+    }
+
+    public CursorConfig getReadCursorConfig() {
+        String isolation = getReadIsolation();
+        if(READ_UNCOMMITTED.equals(isolation)) return CursorConfig.READ_UNCOMMITTED;
+        if(READ_COMMITTED.equals(isolation)) return CursorConfig.READ_COMMITTED;
+        return null;
+    }
+
+    /*
+        null means serializable reads under the session transaction.
+     */
+    private String getReadIsolation() {
+        if(statementIsolation != null) return statementIsolation;
+        return readOnly ? READ_COMMITTED : null;
+    }
+
+    public void commit() {
+        if(txn == null) return;
+        if(!viewDeltas.isEmpty()) {
+            try {
+                MaterializedView.maintain(viewDeltas);
+            } catch (RuntimeException e) {
+                //the views may be half changed: committing the rows without them would leave them out of date
+                abort();
+                throw e;
+            }
+            viewDeltas.clear();
+        }
+        Transaction committing = txn;
+        boolean flush = written;
+        txn = null;
+        written = false;
+        try {
+            if(!flush)
+                committing.commit(Durability.COMMIT_NO_SYNC);
+            else if(SYNC.equals(durability))
+                commitBatcher.commitSync(committing);
+            else
+                committing.commit(getDurability());
+        } finally {
+            if(!writtenRows.isEmpty()) {
+                ResultCache.committed(writtenRows);
+                writtenRows.clear();
+            }
+        }
+    }
+
+    public void abort() {
+        writtenRows.clear();
+        viewDeltas.clear();
+        //the statement failing may have left its scratch stores
+        scratch.endStatement();
+        if(txn == null) return;
+        Transaction aborting = txn;
+        txn = null;
+        written = false;
+        aborting.abort();
+    }
+
+    /*
+        row : values of a row inserted in relationName, an update inserts the row after it deleted the row before.
+     */
+    public void rowInserted(String relationName, String[] row) {
+        rowWritten(relationName, row);
+        if(!ExecuteHelpers.catalog.getViews(relationName).isEmpty()) viewDelta(relationName).inserted.add(row);
+    }
+
+    public void rowDeleted(String relationName, String[] row) {
+        rowWritten(relationName, row);
+        if(!ExecuteHelpers.catalog.getViews(relationName).isEmpty()) viewDelta(relationName).deleted.add(row);
+    }
+
+    private MaterializedView.Delta viewDelta(String relationName) {
+        MaterializedView.Delta delta = viewDeltas.get(relationName);
+        if(delta == null) viewDeltas.put(relationName, delta = new MaterializedView.Delta());
+        return delta;
+    }
+
+    private void rowWritten(String relationName, String[] row) {
+        if(!writtenRows.containsKey(relationName)) writtenRows.put(relationName, new ArrayList<String[]>());
+        List<String[]> rows = writtenRows.get(relationName);
+        if(rows == null) return;
+        if(rows.size() < MAX_WRITTEN_ROWS) rows.add(row);
+        else writtenRows.put(relationName, null);
+    }
+
+    public long getCrossProductLimit() {
+        return crossProductLimit;
+    }
+
+    public void setCrossProductLimit(long crossProductLimit) {
+        this.crossProductLimit = crossProductLimit;
+    }
+
+    public QueryMemory.Grant getMemory() {
+        return memory;
+    }
+
+    public void setMemory(QueryMemory.Grant memory) {
+        this.memory = memory;
+    }
+
+    public boolean hasWritten(String relationName) {
+        return writtenRows.containsKey(relationName);
+    }
+
+    /*
+        Called once a statement has been executed.
+     */
+    public void endStatement() {
+        scratch.endStatement();
+        if(autocommit) commit();
+    }
+
+    /*
+        Ends the session: the transaction left open is aborted and the scratch stores dropped.
+     */
+    public void close() {
+        abort();
+        scratch.close();
+    }
+
+    public ScratchSpace getScratch() {
+        return scratch;
+    }
+
+    public boolean isAutocommit() {
+        return autocommit;
+    }
+
+    public void setAutocommit(boolean autocommit) {
+        //switching autocommit on ends the transaction left open so far
+        if(autocommit && !this.autocommit) commit();
+        this.autocommit = autocommit;
+    }
+
+    public boolean isReadOnly() {
+        return readOnly;
+    }
+
+    public void setReadOnly(boolean readOnly) {
+        this.readOnly = readOnly;
+    }
+
+    public StatementCache getStatements() {
+        return statements;
+    }
+
+    public boolean isCaching() {
+        return caching;
+    }
+
+    public void setCaching(boolean caching) {
+        this.caching = caching;
+    }
+
+    public boolean isCompiling() {
+        return compiling;
+    }
+
+    public void setCompiling(boolean compiling) {
+        this.compiling = compiling;
+    }
+
+    /*
+        Isolation hint of the statement being executed, null to go back to the session one.
+     */
+    public void setStatementIsolation(String isolation) {
+        this.statementIsolation = isolation;
+    }
+
+    public String getDurabilityName() {
+        return durability;
+    }
+
+    public void setDurability(String durability) {
+        this.durability = durability;
+    }
+
+    private Durability getDurability() {
+        if(NO_SYNC.equals(durability)) return Durability.COMMIT_NO_SYNC;
+        if(WRITE_NO_SYNC.equals(durability)) return Durability.COMMIT_WRITE_NO_SYNC;
+        return Durability.COMMIT_SYNC;
+    }
+}
@@ -0,0 +1,305 @@
+package minidb.je;
+
+import mdb.*;
+import minidb.models.Column;
+import minidb.models.Relation;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+    Parsed statements of one session.
+    parse() keys a statement by its text with every literal replaced by ?, so the same select or
+    insert with other values is parsed only once: the cached AST gets the new literals written into
+    its literal tokens and is executed again. Commands take their values from the tokens at execute
+    time and never change the AST, so reusing it is safe within a session. Only select, insert,
+    update and delete are cached, any change of the catalog makes the cached ones parsed again.
+    Statements prepared with PREPARE are kept here too, their ? parameters are bound by EXECUTE.
+    A ? anywhere else is refused when parsing.
+ */
+public class StatementCache {
+
+    private static final int CACHE_ENTRIES = 256;
+
+    //bumped by every catalog change
+    private static final AtomicInteger schemaVersion = new AtomicInteger();
+
+    //the generated parser is static, there is one per JVM
+    private static BaliParser parser = null;
+
+    //a statement and its literal (or parameter) tokens
+    private static class Entry {
+        SqlLang root;
+        List<AstToken> literals;
+        int version;
+    }
+
+    private final Map<String, Entry> statements = new LinkedHashMap<String, Entry>(64, 0.75f, true) {
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > CACHE_ENTRIES;
+        }
+    };
+
+    private final Map<String, Entry> prepared = new HashMap<String, Entry>();
+
+    public static void invalidate() {
+        schemaVersion.incrementAndGet();
+    }
+
+    /*
+        Parses text without looking at any cache.
+     */
+    public static synchronized SqlLang parseText(String text) throws ParseException {
+        ByteArrayInputStream in = new ByteArrayInputStream(text.getBytes());
+        if(parser == null)
+            parser = new BaliParser(in);
+        else
+            BaliParser.ReInit(in);
+        return BaliParser.getStartRoot(parser);
+    }
+
+    public SqlLang parse(String text) throws ParseException {
+        List<String> values = new ArrayList<String>();
+        String key = parameterize(text, values);
+        int version = schemaVersion.get();
+        if(key != null) {
+            Entry entry = statements.get(key);
+            if(entry != null && entry.version == version) {
+                bind(entry.literals, values);
+                Metrics.get().planCacheHit();
+                return entry.root;
+            }
+        }
+        SqlLang root = parseText(text);
+        if(key == null && !(root instanceof Prepare)) {
+            List<AstToken> params = new ArrayList<AstToken>();
+            collect(root, true, params);
+            if(!params.isEmpty())
+                throw new ParseException("? is only allowed in a statement prepared with PREPARE");
+        }
+        if(key != null && cacheable(root)) {
+            Metrics.get().planCacheMiss();
+            List<AstToken> literals = new ArrayList<AstToken>();
+            collect(root, false, literals);
+            if(literals.size() == values.size()) {
+                Entry entry = new Entry();
+                entry.root = root;
+                entry.literals = literals;
+                entry.version = version;
+                statements.put(key, entry);
+            }
+        }
+        return root;
+    }
+
+    private static boolean cacheable(SqlLang root) {
+        return root instanceof Select || root instanceof Insert || root instanceof Update || root instanceof Delete;
+    }
+
+    /*
+        Returns text with its string and int literals replaced by ?, the literals being added to values.
+        null when text already has a ?, it would be mistaken for a literal.
+     */
+    static String parameterize(String text, List<String> values) {
+        StringBuilder key = new StringBuilder(text.length());
+        int i = 0;
+        while(i < text.length()) {
+            char ch = text.charAt(i);
+            if(ch == '?') return null;
+            if(ch == '"') {
+                int end = i + 1;
+                while(end < text.length() && text.charAt(end) != '"') {
+                    if(text.charAt(end) == '\\') end++;
+                    end++;
+                }
+                end = Math.min(end + 1, text.length());
+                values.add(text.substring(i, end));
+                key.append("\"?\"");
+                i = end;
+            } else if(Character.isDigit(ch)) {
+                int end = i;
+                while(end < text.length() && Character.isDigit(text.charAt(end))) end++;
+                values.add(text.substring(i, end));
+                key.append('?');
+                i = end;
+            } else if(Character.isLetter(ch) || ch == '_' || ch == '$') {
+                //an identifier, digits in it are not literals
+                int end = i;
+                while(end < text.length() && (Character.isLetterOrDigit(text.charAt(end))
+                        || text.charAt(end) == '_' || text.charAt(end) == '$')) end++;
+                key.append(text, i, end);
+                i = end;
+            } else {
+                key.append(ch);
+                i++;
+            }
+        }
+        return key.toString();
+    }
+
+    /*
+        Literal tokens of node in text order: the ? of ParamLit when params is set, else those of
+        StrLit and IntLit.
+     */
+    private static void collect(AstNode node, boolean params, List<AstToken> tokens) {
+        if(node == null) return;
+        if(params ? node instanceof ParamLit : node instanceof StrLit || node instanceof IntLit) {
+            tokens.add((AstToken) node.tok[0]);
+            return;
+        }
+        if(node instanceof AstList) {
+            for(AstNode element = node.arg[0]; element != null; element = element.right)
+                collect(element, params, tokens);
+            return;
+        }
+        if(node.arg != null)
+            for(AstNode arg: node.arg)
+                collect(arg, params, tokens);
+    }
+
+    private static void bind(List<AstToken> tokens, List<String> values) {
+        for(int i = 0; i < tokens.size(); i++)
+            tokens.get(i).name = values.get(i);
+    }
+
+    /*
+        Keeps statement under name, replacing any statement prepared before with that name.
+        Returns its number of parameters.
+     */
+    public int prepare(String name, Dml_stmt statement) {
+        Entry entry = new Entry();
+        entry.root = statement;
+        entry.literals = new ArrayList<AstToken>();
+        collect(statement, true, entry.literals);
+        prepared.put(name, entry);
+        return entry.literals.size();
+    }
+
+    /*
+        The statement prepared as name with values bound to its parameters, null if there is
+        no such statement or values do not fit it: too many or too few, or not of the type of
+        the column a parameter is compared with, assigned to or inserted into.
+     */
+    public Dml_stmt bind(String name, List<String> values) {
+        Entry entry = prepared.get(name);
+        if(entry == null) {
+            System.err.println("No prepared statement " + name);
+            return null;
+        }
+        if(entry.literals.size() != values.size()) {
+            System.err.println(name + " takes " + entry.literals.size() + " parameter(s), " + values.size() + " given");
+            return null;
+        }
+        //the catalog may have changed since PREPARE, columns are looked up on each EXECUTE
+        Map<AstToken, String> types = paramTypes(entry.root);
+        for(int i = 0; i < values.size(); i++) {
+            String type = types.get(entry.literals.get(i));
+            if(!fits(type, values.get(i))) {
+                System.err.println("Parameter " + (i + 1) + " of " + name + " must be of type " + type + ", " + values.get(i) + " given");
+                return null;
+            }
+        }
+        bind(entry.literals, values);
+        return (Dml_stmt) entry.root;
+    }
+
+    private static boolean fits(String type, String value) {
+        if("int".equals(type)) {
+            try {
+                Integer.parseInt(value);
+                return true;
+            } catch (NumberFormatException e) {
+                return false;
+            }
+        }
+        if("str".equals(type))
+            return value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"");
+        //unknown column, the statement reports it when it runs
+        return true;
+    }
+
+    /*
+        Column type of each parameter token of statement that stands for a column value.
+     */
+    private static Map<AstToken, String> paramTypes(SqlLang statement) {
+        Map<AstToken, String> types = new IdentityHashMap<AstToken, String>();
+        List<Relation> relations = new ArrayList<Relation>();
+        if(statement instanceof InsertCmd) {
+            Relation relation = ExecuteHelpers.catalog.getRelation(((InsertCmd) statement).getRel_name().toString().trim());
+            if(relation == null) return types;
+            int position = 0;
+            for(AstNode element = ((InsertCmd) statement).getLiteral_list().arg[0]; element != null; element = element.right) {
+                if(element.arg[0] instanceof ParamLit && position < relation.getColumns().size())
+                    types.put((AstToken) element.arg[0].tok[0], relation.getColumns().get(position).getColumnType());
+                position++;
+            }
+            return types;
+        }
+        if(statement instanceof UpdateCmd)
+            addRelation(relations, ((UpdateCmd) statement).getRel_name());
+        else if(statement instanceof DeleteCmd)
+            addRelation(relations, ((DeleteCmd) statement).getRel_name());
+        else if(statement instanceof SelectCmd)
+            for(AstNode element = ((SelectCmd) statement).getRel_list().arg[0]; element != null; element = element.right)
+                addRelation(relations, element.arg[0]);
+        typeClauses(statement, relations, types);
+        return types;
+    }
+
+    private static void addRelation(List<Relation> relations, AstNode name) {
+        Relation relation = ExecuteHelpers.catalog.getRelation(name.toString().trim());
+        if(relation != null) relations.add(relation);
+    }
+
+    private static void typeClauses(AstNode node, List<Relation> relations, Map<AstToken, String> types) {
+        if(node == null) return;
+        AstNode field = null, literal = null;
+        if(node instanceof Asgn) {
+            field = ((Asgn) node).getField_name();
+            literal = ((Asgn) node).getLiteral();
+        } else if(node instanceof OneRelClause) {
+            field = ((OneRelClause) node).getField_name();
+            literal = ((OneRelClause) node).getLiteral();
+        } else if(node instanceof SimpleClause) {
+            field = ((SimpleClause) node).getField_spec();
+            literal = ((SimpleClause) node).getLiteral();
+        }
+        if(literal != null) {
+            if(literal instanceof ParamLit) {
+                Column column = column(relations, field);
+                if(column != null)
+                    types.put((AstToken) literal.tok[0], column.getColumnType());
+            }
+            return;
+        }
+        if(node instanceof AstList) {
+            for(AstNode element = node.arg[0]; element != null; element = element.right)
+                typeClauses(element, relations, types);
+            return;
+        }
+        if(node.arg != null)
+            for(AstNode arg: node.arg)
+                typeClauses(arg, relations, types);
+    }
+
+    //the column field names among relations, r.f only in r
+    private static Column column(List<Relation> relations, AstNode field) {
+        String relationName = null, columnName = field.toString().trim();
+        if(field instanceof RelDotField) {
+            relationName = ((RelDotField) field).getRel_name().toString().trim();
+            columnName = ((RelDotField) field).getField_name().toString().trim();
+        }
+        for(Relation relation: relations) {
+            if(relationName != null && !relationName.equals(relation.getRelationName())) continue;
+            Column column = relation.getColumn(columnName);
+            if(column != null) return column;
+        }
+        return null;
+    }
+}
@@ -4,6 +4,8 @@ public class Column {
     private String columnName;
     private String columnType;
     private boolean isKey;
+    private int position;
+    private boolean isIndexed;
 
     public String getColumnName() {
         return columnName;
@@ -28,4 +30,20 @@ public class Column {
     public void setKey(boolean isKey) {
         this.isKey = isKey;
     }
+
+    public int getPosition() {
+        return position;
+    }
+
+    public void setPosition(int position) {
+        this.position = position;
+    }
+
+    public boolean isIndexed() {
+        return isIndexed;
+    }
+
+    public void setIndexed(boolean isIndexed) {
+        this.isIndexed = isIndexed;
+    }
 }
@@ -1,11 +1,73 @@
 package minidb.models;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 public class Relation {
 
+    public static final String COLUMNAR = "storage=columnar";
+    public static final String DICTIONARY = "encoding=dictionary";
+    public static final String VIEW = "view=materialized";
+    public static final String KEY = "key=";
+
     String details;
 
+    // details without the storage option, what the query code expects
+    private String columnDetails;
+
+    private boolean columnar = false;
+
+    private boolean dictionaryEncoded = false;
+
+    private boolean view = false;
+
+    // column the rows are stored under, null when they get generated keys
+    private Column keyColumn = null;
+
+    private List<Column> columns = new ArrayList<Column>();
+
+    // column name -> Column, for O(1) lookups of name, type and position
+    private Map<String, Column> columnsByName = new HashMap<String, Column>();
+
+    // "relationName.column" of every index on this relation
+    private List<String> indexes = new ArrayList<String>();
+
+    /*
+        details : "dept,deptno:int,chair:str,"  (as stored in relationDB)
+        Storage options follow the columns : "dept,deptno:int,chair:str,storage=columnar,encoding=dictionary,"
+        and so does view=materialized for the relation holding a materialized view.
+        A PRIMARY KEY column is named by key=column, after the columns.
+     */
     public Relation(String details) {
         this.details = details;
+        String[] meta = details.split(",");
+        this.relationName = meta[0];
+        StringBuilder columnDetails = new StringBuilder(meta[0] + ",");
+        String keyColumnName = null;
+        for(int i = 1; i < meta.length; i++) {
+            if(meta[i].startsWith(KEY)) {
+                keyColumnName = meta[i].substring(KEY.length());
+                continue;
+            }
+            if(meta[i].equals(COLUMNAR) || meta[i].equals(DICTIONARY) || meta[i].equals(VIEW)) {
+                columnar |= meta[i].equals(COLUMNAR);
+                dictionaryEncoded |= meta[i].equals(DICTIONARY);
+                view |= meta[i].equals(VIEW);
+                continue;
+            }
+            columnDetails.append(meta[i] + ",");
+            String[] nameAndType = meta[i].split(":");
+            Column column = new Column();
+            column.setColumnName(nameAndType[0]);
+            column.setColumnType(nameAndType[1]);
+            column.setPosition(i-1);
+            columns.add(column);
+            columnsByName.put(column.getColumnName(), column);
+        }
+        this.columnDetails = columnDetails.toString();
+        if(keyColumnName != null) keyColumn = columnsByName.get(keyColumnName);
     }
 
     public String getRelationName() {
@@ -18,12 +80,69 @@ public class Relation {
 
     private String relationName;
 
+    public boolean isColumnar() {
+        return columnar;
+    }
+
+    /*
+        str columns of the relation are stored as codes of the Dictionary.
+     */
+    public boolean isDictionaryEncoded() {
+        return dictionaryEncoded;
+    }
+
+    /*
+        Rows are maintained by MaterializedView, never written by statements.
+     */
+    public boolean isView() {
+        return view;
+    }
+
+    /*
+        The PRIMARY KEY column, whose encoded value is the key of each row. null if there is none.
+     */
+    public Column getKeyColumn() {
+        return keyColumn;
+    }
+
+    public boolean isIndex() {
+        return relationName.contains(".");
+    }
+
+    public List<Column> getColumns() {
+        return columns;
+    }
+
+    public Column getColumn(String columnName) {
+        return columnsByName.get(columnName);
+    }
+
+    public List<String> getIndexes() {
+        return indexes;
+    }
+
+    public void addIndex(String indexName) {
+        Column column = getColumn(indexName.substring(indexName.indexOf('.') + 1));
+        if(column != null) column.setIndexed(true);
+        if(!indexes.contains(indexName)) indexes.add(indexName);
+    }
+
     @Override
     public String toString() {
         return relationName.trim()+"=>"+details;
     }
 
+    /*
+        "dept,deptno:int,chair:str," whatever the storage
+     */
     public String data() {
+        return columnDetails;
+    }
+
+    /*
+        Details with the storage option, as stored in relationDB.
+     */
+    public String getDetails() {
         return details;
     }
 }
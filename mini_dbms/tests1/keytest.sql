@@ -0,0 +1,104 @@
+open "don/mdb.database";
+.
+
+// rows stored under their PRIMARY KEY
+create table acct ( id int primary key,
+              owner str,
+              bal int
+            );
+.
+create table code ( tag str primary key,
+              n int
+            );
+.
+insert into acct values (7, "g", 70);
+.
+insert into acct values (0, "a", 0);
+.
+insert into acct values (2147483647, "z", 9);
+.
+insert into acct values (1, "b", 10);
+.
+insert into acct values (2147483646, "y", 8);
+.
+insert into code values ("b", 2);
+.
+insert into code values ("a", 1);
+.
+commit;
+.
+
+// refused: duplicate keys, a key that is not an int
+insert into acct values (7, "dup", 1);
+.
+insert into code values ("a", 5);
+.
+insert into acct values ("x", "bad", 1);
+.
+commit;
+.
+// 5 rows, 7 still owned by "g"
+select * from acct;
+.
+// "a",1 and "b",2
+select * from code;
+.
+
+// ranges at the ends of the int keys
+// 0,1,7,2147483646,2147483647
+select * from acct where id <= 2147483647;
+.
+// 0,1,7,2147483646
+select * from acct where id < 2147483647;
+.
+// 2147483647
+select * from acct where id > 2147483646;
+.
+// 2147483647
+select * from acct where id >= 2147483647;
+.
+// none
+select * from acct where id > 2147483647;
+.
+// none
+select * from acct where id < 0;
+.
+// 0
+select * from acct where id <= 0;
+.
+// 0,1
+select * from acct where id >= 0 and id < 2;
+.
+// none
+select * from acct where id > 7 and id < 7;
+.
+// 7
+select * from acct where id = 7 and bal = 70;
+.
+// "b",2
+select * from code where tag = "b";
+.
+explain select owner from acct where id = 7;
+.
+explain select owner from acct where id >= 2147483646;
+.
+
+// refused: the key cannot be updated
+update acct set id = 8 where id = 7;
+.
+// other columns can
+update acct set bal = 71 where id = 7;
+.
+delete acct where id >= 2147483646;
+.
+commit;
+.
+// 0,1 and 7 with 71
+select * from acct;
+.
+
+close;
+.
+
+exit;
+.
@@ -0,0 +1,59 @@
+open "don/mdb.database";
+.
+
+create table p ( id int,
+              name str,
+              qty int
+            );
+.
+// refused: ? outside PREPARE
+insert into p values (?, "a", 10);
+.
+select * from p where qty = ?;
+.
+insert into p values (1, "a", 10);
+.
+prepare q1 as select * from p where qty = ?;
+.
+// refused: arguments not of the column type
+execute q1("x");
+.
+execute q1(10);
+.
+prepare q2 as insert into p values (?, ?, ?);
+.
+execute q2(2, 3, 4);
+.
+execute q2(2, "b", 4);
+.
+prepare q3 as update p set qty = ? where name = ?;
+.
+execute q3("y", "b");
+.
+execute q3(5, 7);
+.
+execute q3(5, "b");
+.
+prepare q4 as select * from p where p.name = ?;
+.
+execute q4(1);
+.
+execute q4("b");
+.
+execute q4(?);
+.
+prepare q5 as delete p where id = ?;
+.
+execute q5("1");
+.
+execute q5(1);
+.
+// 2,"b",5
+select * from p;
+.
+
+close;
+.
+
+exit;
+.
@@ -0,0 +1,43 @@
+open "don/mdb.database";
+.
+
+// an updated row is stored under the key of its new values
+create table t ( id int,
+              name str
+            );
+.
+insert into t values (1, "a");
+.
+update t set name = "b" where id = 1;
+.
+insert into t values (1, "a");
+.
+commit;
+.
+// (1,"a") and (1,"b")
+select * from t;
+.
+
+// same through an index probe
+index t.id;
+.
+insert into t values (2, "a");
+.
+update t set name = "c" where id = 2;
+.
+insert into t values (2, "a");
+.
+commit;
+.
+// (2,"a") and (2,"c")
+select * from t where id = 2;
+.
+// (1,"b") and (2,"c")
+select * from t where name > "a";
+.
+
+close;
+.
+
+exit;
+.
@@ -0,0 +1,98 @@
+open "don/mdb.database";
+.
+
+create table c ( cid int,
+              name str
+            );
+.
+create table o ( oid int,
+              cid int,
+              amt int
+            );
+.
+insert into c values (1, "cx");
+.
+insert into o values (10, 1, 5);
+.
+commit;
+.
+create materialized view tot as select name, sum(amt), count(*) from c, o where c.cid = o.cid;
+.
+create materialized view co as select name, amt from c, o where c.cid = o.cid;
+.
+commit;
+.
+
+// a row inserted and deleted in the same transaction is no change
+insert into c values (3, "cy");
+.
+insert into o values (20, 3, 4);
+.
+delete o where oid = 20;
+.
+commit;
+.
+// "cx",5,1 only
+select * from tot;
+.
+// "cx",5 only
+select * from co;
+.
+
+// a row updated twice is deleted once and inserted once
+insert into o values (11, 1, 2);
+.
+update o set amt = 3 where oid = 11;
+.
+update o set amt = 7 where oid = 11;
+.
+commit;
+.
+// "cx",12,2
+select * from tot;
+.
+// "cx",5 and "cx",7
+select * from co;
+.
+select name, amt from c, o where c.cid = o.cid;
+.
+
+// a new customer whose order is updated twice in the same transaction
+insert into c values (4, "cz");
+.
+insert into o values (30, 4, 1);
+.
+update o set amt = 2 where oid = 30;
+.
+update o set amt = 6 where oid = 30;
+.
+commit;
+.
+// "cx",12,2 and "cz",6,1
+select * from tot;
+.
+// "cx",5 "cx",7 and "cz",6
+select * from co;
+.
+
+// moved to the other customer and back, then deleted
+update o set cid = 3 where oid = 11;
+.
+update o set cid = 1 where oid = 11;
+.
+delete o where oid = 11;
+.
+commit;
+.
+// "cx",5,1 and "cz",6,1
+select * from tot;
+.
+// "cx",5 and "cz",6
+select * from co;
+.
+
+close;
+.
+
+exit;
+.